@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark uberjar. All benchmarks are executed with the
+ * {@link org.openjdk.jmh.profile.GCProfiler} attached to report the allocation
+ * rate (<tt>gc.alloc.rate.norm</tt>, bytes per operation) next to the throughput.
+ * An optional first argument is used as the include pattern, otherwise all tengi
+ * benchmarks are executed.
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_INCLUDE = "com\\.noctarius\\.tengi\\..*Benchmark.*";
+
+    public static void main(String[] args)
+            throws Exception {
+
+        String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+
+        Options options = new OptionsBuilder() //
+                .include(include) //
+                .addProfiler(GCProfiler.class) //
+                .resultFormat(ResultFormatType.CSV) //
+                .result("benchmarks.csv") //
+                .build();
+
+        new Runner(options).run();
+    }
+
+    private BenchmarkRunner() {
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.codec.impl;
+
+import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BitSetCompressorBenchmark {
+
+    // Covers single, double, quad and multi-chunk layouts
+    @Param({"3", "10", "25", "64"})
+    private int slots;
+
+    private boolean[] values;
+
+    private MemoryBuffer writeBuffer;
+    private MemoryBuffer readBuffer;
+
+    @Setup
+    public void setup() {
+        values = new boolean[slots];
+        for (int i = 0; i < slots; i++) {
+            values[i] = i % 3 == 0;
+        }
+
+        writeBuffer = MemoryBufferFactory.create(Unpooled.buffer(64));
+
+        readBuffer = MemoryBufferFactory.create(Unpooled.buffer(64));
+        BitSetCompressor.writeBitSet(values, readBuffer);
+    }
+
+    @Benchmark
+    public int writeBitSet() {
+        writeBuffer.clear();
+        BitSetCompressor.writeBitSet(values, writeBuffer);
+        return writeBuffer.writerIndex();
+    }
+
+    @Benchmark
+    public boolean[] readBitSet() {
+        readBuffer.readerIndex(0);
+        return BitSetCompressor.readBitSet(readBuffer);
+    }
+
+}
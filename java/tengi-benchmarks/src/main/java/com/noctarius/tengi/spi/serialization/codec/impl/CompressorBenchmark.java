@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.codec.impl;
+
+import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CompressorBenchmark {
+
+    @Param({"0", "127", "-1", "65536", "2147483647"})
+    private long value;
+
+    private int intValue;
+
+    private MemoryBuffer writeBuffer;
+    private MemoryBuffer int32ReadBuffer;
+    private MemoryBuffer int64ReadBuffer;
+
+    @Setup
+    public void setup() {
+        intValue = (int) value;
+
+        writeBuffer = MemoryBufferFactory.create(Unpooled.buffer(16));
+
+        int32ReadBuffer = MemoryBufferFactory.create(Unpooled.buffer(16));
+        Int32Compressor.writeInt32(intValue, int32ReadBuffer);
+
+        int64ReadBuffer = MemoryBufferFactory.create(Unpooled.buffer(16));
+        Int64Compressor.writeInt64(value, int64ReadBuffer);
+    }
+
+    @Benchmark
+    public int writeInt32() {
+        writeBuffer.clear();
+        Int32Compressor.writeInt32(intValue, writeBuffer);
+        return writeBuffer.writerIndex();
+    }
+
+    @Benchmark
+    public int readInt32() {
+        int32ReadBuffer.readerIndex(0);
+        return Int32Compressor.readInt32(int32ReadBuffer);
+    }
+
+    @Benchmark
+    public int writeInt64() {
+        writeBuffer.clear();
+        Int64Compressor.writeInt64(value, writeBuffer);
+        return writeBuffer.writerIndex();
+    }
+
+    @Benchmark
+    public long readInt64() {
+        int64ReadBuffer.readerIndex(0);
+        return Int64Compressor.readInt64(int64ReadBuffer);
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.codec.impl;
+
+import com.noctarius.tengi.core.config.MarshallerConfiguration;
+import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
+import com.noctarius.tengi.spi.serialization.impl.DefaultProtocol;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DefaultCodecBenchmark {
+
+    private DefaultCodec writeCodec;
+    private DefaultCodec readCodec;
+
+    private int int32Offset;
+    private int int64Offset;
+
+    @Setup
+    public void setup() {
+        DefaultProtocol protocol = new DefaultProtocol(Collections.<MarshallerConfiguration>emptyList());
+
+        MemoryBuffer writeBuffer = MemoryBufferFactory.create(Unpooled.buffer(256));
+        writeCodec = new DefaultCodec(protocol, writeBuffer);
+
+        MemoryBuffer readBuffer = MemoryBufferFactory.create(Unpooled.buffer(256));
+        readCodec = new DefaultCodec(protocol, readBuffer);
+        writePrimitives(readCodec);
+
+        // Find the positions of the uncompressed values
+        readCodec.readBoolean();
+        readCodec.readByte();
+        readCodec.readShort();
+        readCodec.readChar();
+        int32Offset = readBuffer.readerIndex();
+        readCodec.readInt32();
+        readCodec.readCompressedInt32();
+        int64Offset = readBuffer.readerIndex();
+    }
+
+    @Benchmark
+    public int writePrimitives() {
+        writeCodec.getWritableMemoryBuffer().writerIndex(0);
+        writePrimitives(writeCodec);
+        return writeCodec.getWritableMemoryBuffer().writerIndex();
+    }
+
+    @Benchmark
+    public void readPrimitives(Blackhole blackhole) {
+        readCodec.getReadableMemoryBuffer().readerIndex(0);
+        blackhole.consume(readCodec.readBoolean());
+        blackhole.consume(readCodec.readByte());
+        blackhole.consume(readCodec.readShort());
+        blackhole.consume(readCodec.readChar());
+        blackhole.consume(readCodec.readInt32());
+        blackhole.consume(readCodec.readCompressedInt32());
+        blackhole.consume(readCodec.readInt64());
+        blackhole.consume(readCodec.readCompressedInt64());
+        blackhole.consume(readCodec.readFloat());
+        blackhole.consume(readCodec.readDouble());
+    }
+
+    @Benchmark
+    public int writeInt32() {
+        writeCodec.getWritableMemoryBuffer().writerIndex(0);
+        writeCodec.writeInt32(Integer.MAX_VALUE);
+        return writeCodec.getWritableMemoryBuffer().writerIndex();
+    }
+
+    @Benchmark
+    public int writeInt64() {
+        writeCodec.getWritableMemoryBuffer().writerIndex(0);
+        writeCodec.writeInt64(Long.MAX_VALUE);
+        return writeCodec.getWritableMemoryBuffer().writerIndex();
+    }
+
+    @Benchmark
+    public int readInt32() {
+        readCodec.getReadableMemoryBuffer().readerIndex(int32Offset);
+        return readCodec.readInt32();
+    }
+
+    @Benchmark
+    public long readInt64() {
+        readCodec.getReadableMemoryBuffer().readerIndex(int64Offset);
+        return readCodec.readInt64();
+    }
+
+    private static void writePrimitives(DefaultCodec codec) {
+        codec.writeBoolean(true);
+        codec.writeByte(123);
+        codec.writeShort((short) 12345);
+        codec.writeChar('a');
+        codec.writeInt32(1234567890);
+        codec.writeCompressedInt32(123456);
+        codec.writeInt64(1234567890123456789L);
+        codec.writeCompressedInt64(1234567890L);
+        codec.writeFloat(123.456f);
+        codec.writeDouble(123456.789d);
+    }
+
+}
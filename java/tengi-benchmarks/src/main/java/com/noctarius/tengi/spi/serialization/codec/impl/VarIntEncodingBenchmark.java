@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.codec.impl;
+
+import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.WritableMemoryBuffer;
+import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocation-free compressed int encoding of {@link Int32Compressor} and
+ * {@link Int64Compressor} against the former implementation which collected the chunks
+ * in a temporary byte array before writing them to the buffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class VarIntEncodingBenchmark {
+
+    private static final int MASK_SEVEN_BITS = 0b0111_1111;
+    private static final int MASK_FIVE_BITS = 0b0001_1111;
+
+    @Param({"127", "65536", "-12345678901"})
+    private long value;
+
+    private int intValue;
+
+    private MemoryBuffer memoryBuffer;
+
+    @Setup
+    public void setup() {
+        intValue = (int) value;
+        memoryBuffer = MemoryBufferFactory.create(Unpooled.buffer(16));
+    }
+
+    @Benchmark
+    public int writeInt32() {
+        memoryBuffer.writerIndex(0);
+        Int32Compressor.writeInt32(intValue, memoryBuffer);
+        return memoryBuffer.writerIndex();
+    }
+
+    @Benchmark
+    public int writeInt32ByteArray() {
+        memoryBuffer.writerIndex(0);
+        legacyWriteInt32(intValue, memoryBuffer);
+        return memoryBuffer.writerIndex();
+    }
+
+    @Benchmark
+    public int writeInt64() {
+        memoryBuffer.writerIndex(0);
+        Int64Compressor.writeInt64(value, memoryBuffer);
+        return memoryBuffer.writerIndex();
+    }
+
+    @Benchmark
+    public int writeInt64ByteArray() {
+        memoryBuffer.writerIndex(0);
+        legacyWriteInt64(value, memoryBuffer);
+        return memoryBuffer.writerIndex();
+    }
+
+    private static void legacyWriteInt32(int value, WritableMemoryBuffer memoryBuffer) {
+        boolean signed = ((value >>> 31) & 0x1) == 1;
+        boolean inverted = Integer.numberOfLeadingZeros((~value) & Integer.MAX_VALUE) //
+                > Integer.numberOfLeadingZeros(value & Integer.MAX_VALUE);
+
+        if (inverted) {
+            value = ~value;
+        }
+
+        int bits = (value & Integer.MAX_VALUE);
+        int writeableBits = 32 - Integer.numberOfLeadingZeros(bits);
+
+        int chunks = 1;
+        if (writeableBits - 5 > 0) {
+            int furtherBits = writeableBits - 5;
+            chunks += furtherBits / 7 + (furtherBits % 7 != 0 ? 1 : 0);
+        }
+
+        byte[] data = new byte[chunks];
+        data[0] = (byte) ((signed ? 1 : 0) << 7);
+        data[0] |= (byte) ((inverted ? 1 : 0) << 6);
+
+        for (int i = chunks - 1; i >= 0; i--) {
+            if (i == 0) {
+                data[i] |= (byte) ((bits & MASK_FIVE_BITS) << 1);
+            } else {
+                data[i] = (byte) ((bits & MASK_SEVEN_BITS) << 1);
+            }
+            if (i < chunks - 1) {
+                data[i] |= 0x1;
+            }
+            bits >>= i == 0 ? 5 : 7;
+        }
+        memoryBuffer.writeBytes(data);
+    }
+
+    private static void legacyWriteInt64(long value, WritableMemoryBuffer memoryBuffer) {
+        boolean signed = ((value >>> 63) & 0x1) == 1;
+        boolean inverted = Long.numberOfLeadingZeros((~value) & Long.MAX_VALUE) //
+                > Long.numberOfLeadingZeros(value & Long.MAX_VALUE);
+
+        if (inverted) {
+            value = ~value;
+        }
+
+        long bits = (value & Long.MAX_VALUE);
+        int writeableBits = 64 - Long.numberOfLeadingZeros(bits);
+
+        int chunks = 1;
+        if (writeableBits - 5 > 0) {
+            int furtherBits = writeableBits - 5;
+            chunks += furtherBits / 7 + (furtherBits % 7 != 0 ? 1 : 0);
+        }
+
+        byte[] data = new byte[chunks];
+        data[0] = (byte) ((signed ? 1 : 0) << 7);
+        data[0] |= (byte) ((inverted ? 1 : 0) << 6);
+
+        for (int i = chunks - 1; i >= 0; i--) {
+            if (i == 0) {
+                data[i] |= (byte) ((bits & MASK_FIVE_BITS) << 1);
+            } else {
+                data[i] = (byte) ((bits & MASK_SEVEN_BITS) << 1);
+            }
+            if (i < chunks - 1) {
+                data[i] |= 0x1;
+            }
+            bits >>= i == 0 ? 5 : 7;
+        }
+        memoryBuffer.writeBytes(data);
+    }
+
+}
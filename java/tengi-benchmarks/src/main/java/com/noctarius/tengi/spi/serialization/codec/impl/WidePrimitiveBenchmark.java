@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.codec.impl;
+
+import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding and encoding a primitive-heavy payload using the native-width accessors of
+ * {@link com.noctarius.tengi.spi.buffer.MemoryBuffer} against assembling every value byte by byte
+ * using {@link ByteOrderUtils}, as {@link DefaultCodec} formerly did.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WidePrimitiveBenchmark {
+
+    private static final int VALUES = 64;
+
+    private MemoryBuffer readBuffer;
+    private MemoryBuffer writeBuffer;
+
+    @Setup
+    public void setup() {
+        readBuffer = MemoryBufferFactory.create(Unpooled.buffer(VALUES * 14));
+        for (int i = 0; i < VALUES; i++) {
+            readBuffer.writeShort(i);
+            readBuffer.writeInt(i * 31);
+            readBuffer.writeLong(i * 31L * Integer.MAX_VALUE);
+        }
+        writeBuffer = MemoryBufferFactory.create(Unpooled.buffer(VALUES * 14));
+    }
+
+    @Benchmark
+    public long readWide() {
+        readBuffer.readerIndex(0);
+        long sum = 0;
+        for (int i = 0; i < VALUES; i++) {
+            sum += readBuffer.readShort();
+            sum += readBuffer.readInt();
+            sum += readBuffer.readLong();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long readByteAtATime() {
+        readBuffer.readerIndex(0);
+        long sum = 0;
+        for (int i = 0; i < VALUES; i++) {
+            sum += ByteOrderUtils.getShort(readBuffer);
+            sum += ByteOrderUtils.getInt(readBuffer);
+            sum += ByteOrderUtils.getLong(readBuffer);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int writeWide() {
+        writeBuffer.writerIndex(0);
+        for (int i = 0; i < VALUES; i++) {
+            writeBuffer.writeShort(i);
+            writeBuffer.writeInt(i * 31);
+            writeBuffer.writeLong(i * 31L * Integer.MAX_VALUE);
+        }
+        return writeBuffer.writerIndex();
+    }
+
+    @Benchmark
+    public int writeByteAtATime() {
+        writeBuffer.writerIndex(0);
+        for (int i = 0; i < VALUES; i++) {
+            ByteOrderUtils.putShort((short) i, writeBuffer);
+            ByteOrderUtils.putInt(i * 31, writeBuffer);
+            ByteOrderUtils.putLong(i * 31L * Integer.MAX_VALUE, writeBuffer);
+        }
+        return writeBuffer.writerIndex();
+    }
+
+}
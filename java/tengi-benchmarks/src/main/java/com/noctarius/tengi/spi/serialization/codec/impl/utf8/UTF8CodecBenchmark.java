@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.codec.impl.utf8;
+
+import com.noctarius.tengi.core.config.MarshallerConfiguration;
+import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
+import com.noctarius.tengi.spi.serialization.codec.impl.DefaultCodec;
+import com.noctarius.tengi.spi.serialization.impl.DefaultProtocol;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class UTF8CodecBenchmark {
+
+    private static final String ASCII_CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final String UNICODE_CHARACTERS = "äöüßéèñçøåæœ€∑αβγδεζηθ日本語中文한국어";
+
+    @Param({"16", "256", "4096"})
+    private int length;
+
+    @Param({"true", "false"})
+    private boolean ascii;
+
+    private String value;
+    private byte[] buffer;
+
+    private DefaultCodec writeCodec;
+    private DefaultCodec readCodec;
+
+    @Setup
+    public void setup()
+            throws Exception {
+
+        String characters = ascii ? ASCII_CHARACTERS : UNICODE_CHARACTERS;
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(characters.charAt(i % characters.length()));
+        }
+        value = sb.toString();
+        buffer = new byte[1024];
+
+        DefaultProtocol protocol = new DefaultProtocol(Collections.<MarshallerConfiguration>emptyList());
+
+        MemoryBuffer writeBuffer = MemoryBufferFactory.create(Unpooled.buffer(length * 3 + 64));
+        writeCodec = new DefaultCodec(protocol, writeBuffer);
+
+        MemoryBuffer readBuffer = MemoryBufferFactory.create(Unpooled.buffer(length * 3 + 64));
+        readCodec = new DefaultCodec(protocol, readBuffer);
+        UTF8Codec.writeUTF(readCodec, value, buffer);
+    }
+
+    @Benchmark
+    public int writeUTF()
+            throws Exception {
+
+        writeCodec.getWritableMemoryBuffer().writerIndex(0);
+        UTF8Codec.writeUTF(writeCodec, value, buffer);
+        return writeCodec.getWritableMemoryBuffer().writerIndex();
+    }
+
+    @Benchmark
+    public String readUTF()
+            throws Exception {
+
+        readCodec.getReadableMemoryBuffer().readerIndex(0);
+        return UTF8Codec.readUTF(readCodec, buffer);
+    }
+
+    @Benchmark
+    public String readString() {
+        readCodec.getReadableMemoryBuffer().readerIndex(0);
+        return readCodec.readString();
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.impl;
+
+import com.noctarius.tengi.core.config.MarshallerConfiguration;
+import com.noctarius.tengi.core.model.Message;
+import com.noctarius.tengi.core.model.Packet;
+import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
+import com.noctarius.tengi.spi.serialization.Serializer;
+import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
+import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProtocolRoundTripBenchmark {
+
+    private Serializer serializer;
+    private MemoryBuffer memoryBuffer;
+
+    private Packet packet;
+    private Message message;
+
+    @Setup
+    public void setup() {
+        serializer = Serializer.create(new DefaultProtocol(Collections.<MarshallerConfiguration>emptyList()));
+        memoryBuffer = MemoryBufferFactory.create(Unpooled.buffer(1024));
+
+        packet = new Packet("benchmark");
+        packet.setValue("id", 123456);
+        packet.setValue("name", "tengi");
+        packet.setValue("timestamp", 1234567890123L);
+        packet.setValue("payload", new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        message = Message.create(packet);
+    }
+
+    @Benchmark
+    public Packet packetRoundTrip()
+            throws Exception {
+
+        return roundTrip(packet);
+    }
+
+    @Benchmark
+    public Message messageRoundTrip()
+            throws Exception {
+
+        return roundTrip(message);
+    }
+
+    private <T> T roundTrip(T value)
+            throws Exception {
+
+        memoryBuffer.clear();
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
+            encoder.writeObject("value", value);
+        }
+        try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer)) {
+            return decoder.readObject("value");
+        }
+    }
+
+}
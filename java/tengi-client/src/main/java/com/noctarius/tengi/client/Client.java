@@ -18,6 +18,7 @@ package com.noctarius.tengi.client;
 
 import com.noctarius.tengi.core.config.Configuration;
 import com.noctarius.tengi.core.connection.Connection;
+import com.noctarius.tengi.core.connection.DispatchMetrics;
 import com.noctarius.tengi.core.listener.ConnectedListener;
 
 import java.net.InetAddress;
@@ -125,6 +126,14 @@ public interface Client {
      */
     CompletableFuture<Client> stop();
 
+    /**
+     * Returns a snapshot of the queue depths and latencies of the message dispatching lanes as
+     * configured by the {@link com.noctarius.tengi.core.config.DispatchPolicy}.
+     *
+     * @return the current <tt>DispatchMetrics</tt>
+     */
+    DispatchMetrics getDispatchMetrics();
+
     /**
      * This factory method is used to create new <tt>Client</tt> instances. It will use the given configuration
      * to setup internals and to register necessary transports.
@@ -17,20 +17,22 @@
 package com.noctarius.tengi.client;
 
 import com.noctarius.tengi.client.impl.ConnectorFactory;
+import com.noctarius.tengi.client.impl.transport.ChannelBackend;
 import com.noctarius.tengi.core.config.Configuration;
 import com.noctarius.tengi.core.connection.Connection;
+import com.noctarius.tengi.core.connection.DispatchMetrics;
 import com.noctarius.tengi.core.connection.Transport;
 import com.noctarius.tengi.core.exception.IllegalTransportException;
 import com.noctarius.tengi.core.impl.FutureUtil;
 import com.noctarius.tengi.core.impl.Validate;
 import com.noctarius.tengi.core.listener.ClosedListener;
 import com.noctarius.tengi.core.listener.ConnectedListener;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
 import com.noctarius.tengi.spi.logging.Logger;
 import com.noctarius.tengi.spi.logging.LoggerManager;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.statemachine.StateMachine;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.concurrent.DefaultThreadFactory;
 
 import java.net.InetAddress;
@@ -49,6 +51,7 @@ class ClientImpl
     private final List<Connection> connections = new CopyOnWriteArrayList<>();
 
     private final EventLoopGroup clientGroup;
+    private final MessageDispatcher messageDispatcher;
     private final Configuration configuration;
     private final Serializer serializer;
 
@@ -58,7 +61,11 @@ class ClientImpl
         // Validate all configured transports are also ConnectorFactory
         checkTransports(configuration.getTransports());
 
-        this.clientGroup = new NioEventLoopGroup(5, new DefaultThreadFactory("channel-client-"));
+        int workerThreads = configuration.getThreadingPolicy().getWorkerThreads();
+        ChannelBackend channelBackend = ChannelBackend.select(configuration);
+        DefaultThreadFactory threadFactory = new DefaultThreadFactory("tengi-client-worker");
+        this.clientGroup = channelBackend.newEventLoopGroup(workerThreads, threadFactory);
+        this.messageDispatcher = new MessageDispatcher(configuration.getDispatchPolicy(), "tengi-client-dispatcher-");
         this.serializer = createSerializer(configuration);
         this.configuration = configuration;
     }
@@ -88,7 +95,8 @@ class ClientImpl
         }
 
         LOGGER.info("tengi client is connecting, transport priority: %s", configuration.getTransports());
-        ConnectorContext connectorContext = new ConnectorContext(configuration, serializer, clientGroup);
+        ConnectorContext connectorContext = //
+                new ConnectorContext(configuration, serializer, messageDispatcher, clientGroup);
 
         CompletableFuture<Connection> connectFuture = connectorContext.connect(address);
         return connectFuture.thenApply((connection) -> {
@@ -111,6 +119,7 @@ class ClientImpl
                 for (Connection connection : connections) {
                     connection.close();
                 }
+                messageDispatcher.shutdown();
 
                 clientState.transit(ClientState.Stopped);
             }
@@ -118,6 +127,11 @@ class ClientImpl
         });
     }
 
+    @Override
+    public DispatchMetrics getDispatchMetrics() {
+        return messageDispatcher.getMetrics();
+    }
+
     @Override
     public void onClose(Connection connection) {
         connections.remove(connection);
@@ -21,9 +21,11 @@ import com.noctarius.tengi.client.impl.ConnectorFactory;
 import com.noctarius.tengi.client.impl.transport.http.HttpConnector;
 import com.noctarius.tengi.client.impl.transport.tcp.TcpConnector;
 import com.noctarius.tengi.client.impl.transport.websocket.WebsocketConnector;
+import com.noctarius.tengi.core.config.Configuration;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
 import com.noctarius.tengi.core.connection.Transport;
 import com.noctarius.tengi.core.connection.TransportLayer;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import io.netty.channel.EventLoopGroup;
 
@@ -127,9 +129,10 @@ public enum ClientTransports
 
     @Override
     public Connector create(InetAddress address, int port, Serializer serializer, HandshakeHandler handshakeHandler,
-                            EventLoopGroup clientGroup) {
+                            Configuration configuration, MessageDispatcher messageDispatcher, EventLoopGroup clientGroup) {
 
-        return connectorFactory.create(address, port, serializer, handshakeHandler, clientGroup);
+        return connectorFactory.create(address, port, serializer, handshakeHandler, //
+                configuration, messageDispatcher, clientGroup);
     }
 
 }
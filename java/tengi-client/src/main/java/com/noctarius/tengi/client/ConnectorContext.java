@@ -26,6 +26,7 @@ import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
 import com.noctarius.tengi.core.connection.Transport;
 import com.noctarius.tengi.core.exception.ConnectionFailedException;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import io.netty.channel.EventLoopGroup;
 
@@ -39,11 +40,15 @@ class ConnectorContext {
     private final Serializer serializer;
     private final TransportHandler transportHandler;
     private final HandshakeHandler handshakeHandler;
+    private final MessageDispatcher messageDispatcher;
     private final EventLoopGroup clientGroup;
 
-    ConnectorContext(Configuration configuration, Serializer serializer, EventLoopGroup clientGroup) {
+    ConnectorContext(Configuration configuration, Serializer serializer, //
+                     MessageDispatcher messageDispatcher, EventLoopGroup clientGroup) {
+
         this.configuration = configuration;
         this.serializer = serializer;
+        this.messageDispatcher = messageDispatcher;
         this.clientGroup = clientGroup;
         this.transportHandler = getConnectorHandler(configuration);
         this.handshakeHandler = createHandshakeHandler(configuration);
@@ -70,7 +75,9 @@ class ConnectorContext {
         int port = configuration.getTransportPort(transport);
 
         // Safe cast do to check in ClientImpl
-        Connector connector = ((ConnectorFactory) transport).create(address, port, serializer, handshakeHandler, clientGroup);
+        ConnectorFactory connectorFactory = (ConnectorFactory) transport;
+        Connector connector = connectorFactory.create(address, port, serializer, handshakeHandler, //
+                configuration, messageDispatcher, clientGroup);
 
         // Start connection try
         connector.connect(connectCallback(connector, address, connectCallback, transportIterator));
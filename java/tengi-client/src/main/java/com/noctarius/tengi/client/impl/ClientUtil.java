@@ -17,10 +17,14 @@
 package com.noctarius.tengi.client.impl;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
 
+import java.util.concurrent.CompletableFuture;
+
 public class ClientUtil {
 
     public static final AttributeKey<ConnectCallback> CONNECT_FUTURE = AttributeKey.newInstance("CONNECT_FUTURE");
@@ -60,6 +64,18 @@ public class ClientUtil {
         attribute.set(value);
     }
 
+    public static <T> CompletableFuture<T> completableFuture(ChannelFuture channelFuture, T value) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        channelFuture.addListener((ChannelFutureListener) (f) -> {
+            if (f.isSuccess()) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(f.cause());
+            }
+        });
+        return future;
+    }
+
     private ClientUtil() {
     }
 
@@ -16,11 +16,15 @@
  */
 package com.noctarius.tengi.client.impl;
 
+import com.noctarius.tengi.core.config.MessageIdPolicy;
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.Transport;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
 import io.netty.buffer.ByteBufAllocator;
 
+import java.util.Collection;
+
 public interface Connector<M>
         extends Transport {
 
@@ -28,11 +32,20 @@ public interface Connector<M>
 
     HandshakeHandler handshakeHandler();
 
+    MessageDispatcher messageDispatcher();
+
+    MessageIdPolicy messageIdPolicy();
+
+    int stringDictionarySize();
+
     ByteBufAllocator allocator();
 
     void write(M message)
             throws Exception;
 
+    void write(Collection<M> messages)
+            throws Exception;
+
     void destroy(Connection connection)
             throws Exception;
 
@@ -16,7 +16,9 @@
  */
 package com.noctarius.tengi.client.impl;
 
+import com.noctarius.tengi.core.config.Configuration;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import io.netty.channel.EventLoopGroup;
 
@@ -25,6 +27,6 @@ import java.net.InetAddress;
 public interface ConnectorFactory {
 
     Connector create(InetAddress address, int port, Serializer serializer, HandshakeHandler handshakeHandler,
-                     EventLoopGroup clientGroup);
+                     Configuration configuration, MessageDispatcher messageDispatcher, EventLoopGroup clientGroup);
 
 }
@@ -16,6 +16,7 @@
  */
 package com.noctarius.tengi.client.impl;
 
+import com.noctarius.tengi.core.config.OutboundPolicy;
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
@@ -31,7 +32,8 @@ public class ServerConnection
     protected ServerConnection(ConnectionContext<Channel> connectionContext, Identifier connectionId, //
                                Connector connector, Serializer serializer) {
 
-        super(connectionContext, connectionId, connector, serializer);
+        super(connectionContext, connectionId, connector, serializer, //
+                OutboundPolicy.UNBOUNDED, connector.messageDispatcher(), connector.messageIdPolicy());
     }
 
     public ConnectionContext getConnectionContext() {
@@ -39,6 +41,11 @@ public class ServerConnection
     }
 
     public void publishMessage(Message message) {
+        // Listeners are called in order per connection but might run outside of the event loop
+        dispatch(() -> deliverMessage(message));
+    }
+
+    private void deliverMessage(Message message) {
         if (getTransport().isStreaming() || !(message.getBody() instanceof PollingResponse)) {
             getMessageListeners().forEach((listener) -> listener.onMessage(this, message));
 
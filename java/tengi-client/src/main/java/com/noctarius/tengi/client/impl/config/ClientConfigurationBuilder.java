@@ -19,7 +19,12 @@ package com.noctarius.tengi.client.impl.config;
 import com.noctarius.tengi.client.impl.TransportHandler;
 import com.noctarius.tengi.core.config.Configuration;
 import com.noctarius.tengi.core.config.ConfigurationBuilder;
+import com.noctarius.tengi.core.config.DispatchPolicy;
+import com.noctarius.tengi.core.config.FlushPolicy;
 import com.noctarius.tengi.core.config.MarshallerConfiguration;
+import com.noctarius.tengi.core.config.MessageIdPolicy;
+import com.noctarius.tengi.core.config.OutboundPolicy;
+import com.noctarius.tengi.core.config.ThreadingPolicy;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
 import com.noctarius.tengi.core.connection.Transport;
 
@@ -40,7 +45,8 @@ public class ClientConfigurationBuilder
     @Override
     public Configuration build() {
         return new ClientConfigurationImpl(marshallers, transports, transportPorts, sslEnabled, gzipEnabled, snappyEnabled,
-                handshakeHandler, transportHandler);
+                nativeTransportEnabled, handshakeHandler, flushPolicy, outboundPolicy, dispatchPolicy, //
+                messageIdPolicy, stringDictionarySize, threadingPolicy, endpointThreadingPolicies, transportHandler);
     }
 
     protected static class ClientConfigurationImpl
@@ -51,10 +57,17 @@ public class ClientConfigurationBuilder
 
         protected ClientConfigurationImpl(Set<MarshallerConfiguration> marshallers, List<Transport> transports,
                                           Map<Transport, Integer> transportPorts, boolean sslEnabled, boolean gzipEnabled,
-                                          boolean snappyEnabled, HandshakeHandler handshakeHandler,
+                                          boolean snappyEnabled, boolean nativeTransportEnabled,
+                                          HandshakeHandler handshakeHandler,
+                                          FlushPolicy flushPolicy, OutboundPolicy outboundPolicy,
+                                          DispatchPolicy dispatchPolicy, MessageIdPolicy messageIdPolicy,
+                                          int stringDictionarySize, ThreadingPolicy threadingPolicy,
+                                          Map<Integer, ThreadingPolicy> endpointThreadingPolicies,
                                           TransportHandler transportHandler) {
 
-            super(marshallers, transports, transportPorts, sslEnabled, gzipEnabled, snappyEnabled, handshakeHandler);
+            super(marshallers, transports, transportPorts, sslEnabled, gzipEnabled, snappyEnabled, //
+                    nativeTransportEnabled, handshakeHandler, flushPolicy, outboundPolicy, dispatchPolicy, //
+                    messageIdPolicy, stringDictionarySize, threadingPolicy, endpointThreadingPolicies);
             this.transportHandler = transportHandler;
         }
 
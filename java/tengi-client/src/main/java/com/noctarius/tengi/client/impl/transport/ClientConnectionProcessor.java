@@ -23,18 +23,22 @@ import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
+import com.noctarius.tengi.spi.buffer.ReadableMemoryBuffer;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.connection.packets.Handshake;
 import com.noctarius.tengi.spi.logging.Logger;
 import com.noctarius.tengi.spi.logging.LoggerManager;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 
 import static com.noctarius.tengi.client.impl.ClientUtil.CONNECTION;
 import static com.noctarius.tengi.client.impl.ClientUtil.CONNECT_FUTURE;
 import static com.noctarius.tengi.client.impl.ClientUtil.connectionAttribute;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_HANDSHAKE;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_SESSION;
 
 public abstract class ClientConnectionProcessor<T, C, M>
         extends SimpleChannelInboundHandler<T> {
@@ -63,14 +67,15 @@ public abstract class ClientConnectionProcessor<T, C, M>
             throws Exception {
 
         try (AutoClosableDecoder decoder = decode(ctx, msg)) {
-            boolean loggedIn = decoder.readBoolean();
+            byte header = decoder.readByte();
 
-            if (!loggedIn) {
+            if (header == PACKET_HEADER_HANDSHAKE) {
                 LOGGER.info("Client seems not to be logged in");
                 ctx.close();
             }
 
-            Identifier connectionId = decoder.readObject();
+            // Session-bound packets omit the connectionId, the channel knows the connection since handshake
+            Identifier connectionId = header == PACKET_HEADER_SESSION ? null : decoder.readObject();
             Object object = decoder.readObject();
 
             if (object instanceof Handshake) {
@@ -85,6 +90,20 @@ public abstract class ClientConnectionProcessor<T, C, M>
             } else {
                 ServerConnection connection = connectionAttribute(ctx, CONNECTION);
                 connection.publishMessage((Message) object);
+
+                // Batched writes might deliver multiple packets in a single buffer
+                ReadableMemoryBuffer memoryBuffer = decoder.getReadableMemoryBuffer();
+                while (memoryBuffer.readableBytes() > 0) {
+                    header = decoder.readByte();
+                    if (header == PACKET_HEADER_HANDSHAKE) {
+                        // A handshake is always sent on its own, the buffer is corrupt or the server misbehaves
+                        throw new IllegalStateException("Handshake packet received inside of a batched buffer");
+                    }
+                    if (header != PACKET_HEADER_SESSION) {
+                        decoder.readObject();
+                    }
+                    connection.publishMessage(decoder.readObject());
+                }
             }
 
             // Some transports might need to handle the request (like HTTP Long-Pollings)
@@ -103,6 +122,12 @@ public abstract class ClientConnectionProcessor<T, C, M>
     protected void handleMessage(ChannelHandlerContext ctx, T object, Object message) {
     }
 
+    protected StringDictionary stringDictionary(ChannelHandlerContext ctx) {
+        // Before the handshake response no connection is assigned and no dictionary references are expected
+        ServerConnection connection = connectionAttribute(ctx, CONNECTION);
+        return connection == null ? null : connection.getConnectionContext().getStringDictionary();
+    }
+
     protected abstract AutoClosableDecoder decode(ChannelHandlerContext ctx, T msg)
             throws Exception;
 
@@ -16,7 +16,6 @@
  */
 package com.noctarius.tengi.client.impl.transport.http;
 
-import com.noctarius.tengi.client.impl.Connector;
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.impl.FutureUtil;
 import com.noctarius.tengi.core.model.Identifier;
@@ -26,9 +25,13 @@ import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
-import io.netty.handler.codec.http.HttpRequest;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static com.noctarius.tengi.client.impl.transport.http.HttpConnector.buildHttpRequest;
@@ -36,9 +39,9 @@ import static com.noctarius.tengi.client.impl.transport.http.HttpConnector.build
 class HttpConnectionContext
         extends ConnectionContext<Channel> {
 
-    private final Connector<HttpRequest> connector;
+    private final HttpConnector connector;
 
-    HttpConnectionContext(Identifier connectionId, Serializer serializer, Connector<HttpRequest> connector) {
+    HttpConnectionContext(Identifier connectionId, Serializer serializer, HttpConnector connector) {
         super(connectionId, serializer, connector);
         this.connector = connector;
     }
@@ -47,14 +50,21 @@ class HttpConnectionContext
     public CompletableFuture<Message> writeMemoryBuffer(MemoryBuffer memoryBuffer, Message message)
             throws Exception {
 
-        ByteBuf request = connector.allocator().directBuffer();
-        MemoryBuffer buffer = preparePacket(MemoryBufferFactory.create(request));
-        buffer.writeBuffer(memoryBuffer);
+        ByteBuf packet = MemoryBufferFactory.unwrap(memoryBuffer);
+        return connector.writeBatched(Collections.singletonList(packet)).thenApply((v) -> message);
+    }
 
-        return FutureUtil.executeAsync(() -> {
-            connector.write(buildHttpRequest(request, getProtocol().getMimeType()));
-            return message;
-        });
+    @Override
+    public CompletableFuture<Collection<Message>> writeMemoryBuffers(List<MemoryBuffer> memoryBuffers,
+                                                                     List<Message> messages)
+            throws Exception {
+
+        // All packets of the batch are sent as part of the same request
+        List<ByteBuf> packets = new ArrayList<>(memoryBuffers.size());
+        for (MemoryBuffer memoryBuffer : memoryBuffers) {
+            packets.add(MemoryBufferFactory.unwrap(memoryBuffer));
+        }
+        return connector.writeBatched(packets).thenApply((v) -> messages);
     }
 
     @Override
@@ -65,11 +75,16 @@ class HttpConnectionContext
         MemoryBuffer buffer = preparePacket(MemoryBufferFactory.create(request));
         buffer.writeBuffer(memoryBuffer);
         return FutureUtil.executeAsync(() -> {
-            channel.writeAndFlush(buildHttpRequest(request, getProtocol().getMimeType())).sync();
+            channel.writeAndFlush(buildHttpRequest(request, getProtocol().getMimeType(), true)).sync();
             return connection;
         });
     }
 
+    @Override
+    protected ByteBufAllocator getAllocator() {
+        return connector.allocator();
+    }
+
     @Override
     public CompletableFuture<Connection> close(Connection connection) {
         return FutureUtil.executeAsync(() -> {
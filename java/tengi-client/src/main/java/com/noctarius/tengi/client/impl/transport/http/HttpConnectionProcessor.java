@@ -16,7 +16,6 @@
  */
 package com.noctarius.tengi.client.impl.transport.http;
 
-import com.noctarius.tengi.client.impl.Connector;
 import com.noctarius.tengi.client.impl.ServerConnection;
 import com.noctarius.tengi.client.impl.transport.ClientConnectionProcessor;
 import com.noctarius.tengi.core.connection.Connection;
@@ -30,6 +29,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderUtil;
 import io.netty.handler.codec.http.HttpRequest;
 
 import static com.noctarius.tengi.client.impl.ClientUtil.CONNECTION;
@@ -38,8 +38,24 @@ import static com.noctarius.tengi.client.impl.ClientUtil.connectionAttribute;
 class HttpConnectionProcessor
         extends ClientConnectionProcessor<FullHttpResponse, Channel, HttpRequest> {
 
-    HttpConnectionProcessor(Serializer serializer, Connector<HttpRequest> connector) {
+    private final HttpConnector connector;
+
+    HttpConnectionProcessor(Serializer serializer, HttpConnector connector) {
         super(serializer, connector);
+        this.connector = connector;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response)
+            throws Exception {
+
+        // Hand the channel back first, so the next request is in flight while messages are dispatched
+        connector.responseReceived(ctx.channel(), HttpHeaderUtil.isKeepAlive(response));
+
+        // Upstream requests are acknowledged by an empty response
+        if (response.content().isReadable()) {
+            super.channelRead0(ctx, response);
+        }
     }
 
     @Override
@@ -61,7 +77,7 @@ class HttpConnectionProcessor
 
     @Override
     protected ConnectionContext<Channel> createConnectionContext(ChannelHandlerContext ctx, Identifier connectionId) {
-        return new HttpConnectionContext(connectionId, getSerializer(), getConnector());
+        return new HttpConnectionContext(connectionId, getSerializer(), connector);
     }
 
     @Override
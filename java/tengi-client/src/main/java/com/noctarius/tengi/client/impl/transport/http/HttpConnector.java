@@ -20,14 +20,19 @@ import com.noctarius.tengi.client.TransportLayers;
 import com.noctarius.tengi.client.impl.ConnectCallback;
 import com.noctarius.tengi.client.impl.ServerConnection;
 import com.noctarius.tengi.client.impl.transport.AbstractClientConnector;
+import com.noctarius.tengi.client.impl.transport.ChannelBackend;
+import com.noctarius.tengi.core.config.Configuration;
+import com.noctarius.tengi.core.config.MessageIdPolicy;
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
 import com.noctarius.tengi.core.connection.TransportLayer;
 import com.noctarius.tengi.core.exception.ConnectionDestroyedException;
+import com.noctarius.tengi.core.exception.ConnectionFailedException;
 import com.noctarius.tengi.core.model.Message;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
 import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.AbstractConnection;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
 import com.noctarius.tengi.spi.connection.impl.TransportConstants;
 import com.noctarius.tengi.spi.connection.packets.Handshake;
 import com.noctarius.tengi.spi.connection.packets.PollingRequest;
@@ -46,7 +51,6 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpHeaderNames;
@@ -56,22 +60,57 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
 
 import java.net.InetAddress;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.noctarius.tengi.client.impl.ClientUtil.CONNECTION;
 import static com.noctarius.tengi.client.impl.ClientUtil.CONNECT_FUTURE;
 import static com.noctarius.tengi.client.impl.ClientUtil.connectionAttribute;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_CONNECTION_ID;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_HANDSHAKE;
 
 public class HttpConnector
         extends AbstractClientConnector<HttpRequest> {
 
+    // The upstream batcher only ever keeps a single request in flight, one keep-alive channel serves all of them
+    private static final int UPSTREAM_POOL_SIZE = 1;
+    private static final int CONNECT_TIMEOUT_MILLIS = 10000;
+    private static final int ACQUIRE_RETRY_MILLIS = 100;
+
+    // Completed once the response to the upstream request in flight on a channel was received
+    private static final AttributeKey<CompletableFuture<Void>> UPSTREAM_RESPONSE = //
+            AttributeKey.newInstance("UPSTREAM_RESPONSE");
+
     private final AtomicBoolean destroyed = new AtomicBoolean(false);
 
     private final AtomicReference<Channel> downstream = new AtomicReference<>(null);
 
+    // Keep-alive channels for upstream requests, a channel is idle once its response was received
+    private final BlockingQueue<Channel> idleUpstreams = new LinkedBlockingQueue<>();
+    private final Set<Channel> upstreams = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger upstreamCount = new AtomicInteger();
+
+    // Acquiring and connecting upstream channels blocks, never run it on the event loop or common pool
+    private final ExecutorService upstreamExecutor = Executors.newSingleThreadExecutor( //
+            new DefaultThreadFactory("tengi-http-upstream", true));
+
     private final Bootstrap bootstrap;
 
     private final InetAddress address;
@@ -79,11 +118,17 @@ public class HttpConnector
     private final Serializer serializer;
     private final Protocol protocol;
     private final EventLoopGroup clientGroup;
+    private final ChannelBackend channelBackend;
     private final HandshakeHandler handshakeHandler;
+    private final MessageDispatcher messageDispatcher;
+    private final MessageIdPolicy messageIdPolicy;
+    private final int stringDictionarySize;
+    private final UpstreamBatcher upstreamBatcher;
 
     private volatile ByteBufAllocator allocator;
 
     public HttpConnector(InetAddress address, int port, Serializer serializer, HandshakeHandler handshakeHandler,
+                         Configuration configuration, MessageDispatcher messageDispatcher,
                          EventLoopGroup clientGroup) {
 
         this.address = address;
@@ -91,8 +136,14 @@ public class HttpConnector
         this.serializer = serializer;
         this.protocol = serializer.getProtocol();
         this.handshakeHandler = handshakeHandler;
+        this.messageDispatcher = messageDispatcher;
+        this.messageIdPolicy = configuration.getMessageIdPolicy();
+        this.stringDictionarySize = configuration.getStringDictionarySize();
         this.clientGroup = clientGroup;
+        this.channelBackend = ChannelBackend.select(configuration);
         this.bootstrap = createBootstrap();
+        this.upstreamBatcher = new UpstreamBatcher(this::writeUpstream, configuration.getFlushPolicy(), //
+                clientGroup.next(), protocol.getMimeType());
     }
 
     @Override
@@ -119,6 +170,21 @@ public class HttpConnector
         return handshakeHandler;
     }
 
+    @Override
+    public MessageDispatcher messageDispatcher() {
+        return messageDispatcher;
+    }
+
+    @Override
+    public MessageIdPolicy messageIdPolicy() {
+        return messageIdPolicy;
+    }
+
+    @Override
+    public int stringDictionarySize() {
+        return stringDictionarySize;
+    }
+
     @Override
     public ByteBufAllocator allocator() {
         return allocator;
@@ -128,14 +194,45 @@ public class HttpConnector
     public void write(HttpRequest message)
             throws Exception {
 
-        if (destroyed.get()) {
-            throw new ConnectionDestroyedException("Connection already destroyed");
+        write(message, null);
+    }
+
+    private void write(HttpRequest message, CompletableFuture<Void> response)
+            throws Exception {
+
+        Channel channel;
+        try {
+            if (destroyed.get()) {
+                throw new ConnectionDestroyedException("Connection already destroyed");
+            }
+            channel = acquireUpstream();
+        } catch (Exception e) {
+            // Request never reached the channel, release its content
+            ReferenceCountUtil.release(message);
+            throw e;
         }
 
-        ChannelFuture channelFuture = bootstrap.connect(address, port);
-        Channel channel = channelFuture.sync().channel();
-        channel.writeAndFlush(message).sync();
-        channel.close().sync();
+        if (response != null) {
+            connectionAttribute(channel, UPSTREAM_RESPONSE, response);
+        }
+
+        try {
+            channel.writeAndFlush(message).sync();
+        } catch (Exception e) {
+            // State of the channel is unknown, don't hand it out again
+            connectionAttribute(channel, UPSTREAM_RESPONSE, true);
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(Collection<HttpRequest> messages)
+            throws Exception {
+
+        for (HttpRequest message : messages) {
+            write(message);
+        }
     }
 
     @Override
@@ -148,6 +245,10 @@ public class HttpConnector
                 channel.close().sync();
 
             }
+            for (Channel upstream : upstreams) {
+                upstream.close().sync();
+            }
+            upstreamExecutor.shutdown();
             if (connection instanceof AbstractConnection) {
                 ((AbstractConnection) connection).notifyClose();
             }
@@ -174,10 +275,119 @@ public class HttpConnector
         return TransportLayers.TCP;
     }
 
+    CompletableFuture<Void> writeBatched(List<ByteBuf> packets) {
+        return upstreamBatcher.write(packets);
+    }
+
+    CompletableFuture<Void> writeUpstream(HttpRequest request) {
+        CompletableFuture<Void> response = new CompletableFuture<>();
+        try {
+            upstreamExecutor.execute(() -> {
+                try {
+                    write(request, response);
+                } catch (Throwable t) {
+                    response.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            ReferenceCountUtil.release(request);
+            response.completeExceptionally(new ConnectionDestroyedException("Connection already destroyed"));
+        }
+        return response;
+    }
+
+    void responseReceived(Channel channel, boolean keepAlive)
+            throws Exception {
+
+        CompletableFuture<Void> response = connectionAttribute(channel, UPSTREAM_RESPONSE, true);
+        try {
+            // Without keep-alive the server closes the channel after the response
+            if (!keepAlive || destroyed.get()) {
+                return;
+            }
+
+            if (channel == downstream.get()) {
+                // Reuse the channel for the next long-polling request
+                ServerConnection connection = connectionAttribute(channel, CONNECTION);
+                sendPollingRequest(channel, connection);
+
+            } else if (upstreams.contains(channel)) {
+                idleUpstreams.offer(channel);
+            }
+
+        } finally {
+            // Completed after the channel is idle again, the next batch finds it without waiting
+            if (response != null) {
+                response.complete(null);
+            }
+        }
+    }
+
     private HttpConnectionProcessor buildProcessor(Serializer serializer) {
         return new HttpConnectionProcessor(serializer, HttpConnector.this);
     }
 
+    private Channel acquireUpstream()
+            throws Exception {
+
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+        while (true) {
+            Channel channel = idleUpstreams.poll();
+            if (channel == null && reserveUpstream()) {
+                channel = connectUpstream();
+            }
+            if (channel == null) {
+                // All upstream channels are busy, wait for a response to free one
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new ConnectionFailedException("No upstream connection available");
+                }
+                channel = idleUpstreams.poll(Math.min(remaining, ACQUIRE_RETRY_MILLIS), TimeUnit.MILLISECONDS);
+            }
+            if (channel != null && channel.isActive()) {
+                return channel;
+            }
+        }
+    }
+
+    private boolean reserveUpstream() {
+        while (true) {
+            int count = upstreamCount.get();
+            if (count >= UPSTREAM_POOL_SIZE) {
+                return false;
+            }
+            if (upstreamCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private Channel connectUpstream()
+            throws Exception {
+
+        ChannelFuture channelFuture = bootstrap.connect(address, port);
+        try {
+            channelFuture.sync();
+        } catch (Exception e) {
+            upstreamCount.decrementAndGet();
+            throw e;
+        }
+
+        Channel channel = channelFuture.channel();
+        upstreams.add(channel);
+        channel.closeFuture().addListener((ChannelFutureListener) (f) -> {
+            upstreams.remove(channel);
+            idleUpstreams.remove(channel);
+            upstreamCount.decrementAndGet();
+
+            CompletableFuture<Void> response = connectionAttribute(channel, UPSTREAM_RESPONSE, true);
+            if (response != null) {
+                response.completeExceptionally(new ConnectionDestroyedException("Upstream closed before response"));
+            }
+        });
+        return channel;
+    }
+
     private void handleChannelClose(ChannelFuture channelFuture)
             throws Exception {
 
@@ -205,19 +415,24 @@ public class HttpConnector
             downstream.set(channel);
 
             channel.closeFuture().addListener(reconnectLongPolling(connection));
-
-            PollingRequest pollingRequest = new PollingRequest();
-            ByteBuf buffer = channel.alloc().directBuffer();
-            MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
-            try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
-                encoder.writeBoolean("loggedIn", true);
-                encoder.writeObject("connectionId", connection.getConnectionId());
-                encoder.writeObject("pollingRequest", Message.create(pollingRequest));
-            }
-            channel.writeAndFlush(buildHttpRequest(buffer, protocol.getMimeType()));
+            sendPollingRequest(channel, connection);
         };
     }
 
+    private void sendPollingRequest(Channel channel, ServerConnection connection)
+            throws Exception {
+
+        PollingRequest pollingRequest = new PollingRequest();
+        ByteBuf buffer = channel.alloc().directBuffer();
+        MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
+            encoder.writeByte("header", PACKET_HEADER_CONNECTION_ID);
+            encoder.writeObject("connectionId", connection.getConnectionId());
+            encoder.writeObject("pollingRequest", Message.create(pollingRequest));
+        }
+        channel.writeAndFlush(buildHttpRequest(buffer, protocol.getMimeType(), true));
+    }
+
     private ChannelFutureListener reconnectLongPolling(ServerConnection connection) {
         return (cf) -> {
             if (destroyed.get()) {
@@ -238,16 +453,16 @@ public class HttpConnector
         ByteBuf buffer = Unpooled.buffer();
         MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
         try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
-            encoder.writeBoolean("loggedIn", false);
+            encoder.writeByte("header", PACKET_HEADER_HANDSHAKE);
             encoder.writeObject("handshake", new Handshake());
         }
-        channel.writeAndFlush(buildHttpRequest(buffer, protocol.getMimeType()));
+        channel.writeAndFlush(buildHttpRequest(buffer, protocol.getMimeType(), false));
     }
 
     private Bootstrap createBootstrap() {
-        return new Bootstrap().channel(NioSocketChannel.class) //
+        return new Bootstrap().channel(channelBackend.socketChannelType()) //
                               .group(clientGroup).option(ChannelOption.TCP_NODELAY, true) //
-                              .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000) //
+                              .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS) //
                               .handler(new ChannelInitializer<SocketChannel>() {
                                   @Override
                                   protected void initChannel(SocketChannel channel)
@@ -261,10 +476,10 @@ public class HttpConnector
                               });
     }
 
-    static HttpRequest buildHttpRequest(ByteBuf buffer, String mimeType) {
+    static HttpRequest buildHttpRequest(ByteBuf buffer, String mimeType, boolean keepAlive) {
         HttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/channel", buffer);
         HttpHeaders headers = request.headers();
-        headers.set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        headers.set(HttpHeaderNames.CONNECTION, keepAlive ? HttpHeaderValues.KEEP_ALIVE : HttpHeaderValues.CLOSE);
         headers.set(HttpHeaderNames.CONTENT_TYPE, mimeType);
         headers.set(HttpHeaderNames.CONTENT_LENGTH, buffer.writerIndex());
         headers.set(HttpHeaderNames.USER_AGENT, TransportConstants.TRANSPORT_NAME_HTTP);
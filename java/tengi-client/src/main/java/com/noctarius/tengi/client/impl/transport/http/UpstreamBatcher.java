@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.client.impl.transport.http;
+
+import com.noctarius.tengi.core.config.FlushPolicy;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.http.HttpRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.noctarius.tengi.client.impl.transport.http.HttpConnector.buildHttpRequest;
+
+/**
+ * The <tt>UpstreamBatcher</tt> accumulates upstream packets of the HTTP transport and sends them
+ * as a single request based on a configured {@link com.noctarius.tengi.core.config.FlushPolicy}.
+ * Packets are concatenated into the request body, the same way streaming transports batch packets,
+ * and the server decodes all of them from that single request. All internal state is only ever
+ * touched from inside the assigned {@link io.netty.channel.EventLoop}, the actual request is sent
+ * asynchronously to not block the event loop. Only a single request is in flight at any time,
+ * otherwise requests on different upstream channels might overtake each other and break the
+ * message order of a connection. Packets written while a request is in flight are accumulated
+ * and sent as a single request as soon as the response was received.
+ */
+final class UpstreamBatcher {
+
+    private final Runnable delayedFlushTask = this::delayedFlush;
+    private final Runnable requestCompletedTask = this::requestCompleted;
+
+    private final Function<HttpRequest, CompletableFuture<Void>> upstream;
+    private final FlushPolicy flushPolicy;
+    private final EventLoop eventLoop;
+    private final String mimeType;
+
+    private List<ByteBuf> pendingPackets = new ArrayList<>();
+    private List<CompletableFuture<Void>> pendingFutures = new ArrayList<>();
+    private long pendingBytes;
+    private boolean flushScheduled;
+    private boolean requestInFlight;
+
+    UpstreamBatcher(Function<HttpRequest, CompletableFuture<Void>> upstream, FlushPolicy flushPolicy,
+                    EventLoop eventLoop, String mimeType) {
+
+        this.upstream = upstream;
+        this.flushPolicy = flushPolicy;
+        this.eventLoop = eventLoop;
+        this.mimeType = mimeType;
+    }
+
+    CompletableFuture<Void> write(List<ByteBuf> packets) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (eventLoop.inEventLoop()) {
+            write0(packets, future);
+        } else {
+            eventLoop.execute(() -> write0(packets, future));
+        }
+        return future;
+    }
+
+    private void write0(List<ByteBuf> packets, CompletableFuture<Void> future) {
+        pendingPackets.addAll(packets);
+        pendingFutures.add(future);
+        for (ByteBuf packet : packets) {
+            pendingBytes += packet.readableBytes();
+        }
+
+        int maxMessages = flushPolicy.getMaxMessages();
+        int maxBytes = flushPolicy.getMaxBytes();
+        if ((maxMessages > 0 && pendingPackets.size() >= maxMessages) || (maxBytes > 0 && pendingBytes >= maxBytes)) {
+            flush0();
+            return;
+        }
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            long maxDelayMicros = flushPolicy.getMaxDelayMicros();
+            if (maxDelayMicros > 0 && !flushPolicy.isFlushOnIdle()) {
+                eventLoop.schedule(delayedFlushTask, maxDelayMicros, TimeUnit.MICROSECONDS);
+            } else {
+                // Queued behind all currently pending tasks, executed when the event loop runs out of work
+                eventLoop.execute(delayedFlushTask);
+            }
+        }
+    }
+
+    private void delayedFlush() {
+        flushScheduled = false;
+        flush0();
+    }
+
+    private void requestCompleted() {
+        requestInFlight = false;
+        // Everything written during the round trip goes out as a single request
+        flush0();
+    }
+
+    private void flush0() {
+        if (pendingPackets.isEmpty() || requestInFlight) {
+            return;
+        }
+
+        List<ByteBuf> packets = pendingPackets;
+        List<CompletableFuture<Void>> futures = pendingFutures;
+        pendingPackets = new ArrayList<>();
+        pendingFutures = new ArrayList<>();
+        pendingBytes = 0;
+
+        ByteBuf content = Unpooled.wrappedBuffer(packets.toArray(new ByteBuf[packets.size()]));
+        HttpRequest request = buildHttpRequest(content, mimeType, true);
+        requestInFlight = true;
+        upstream.apply(request).whenComplete((v, throwable) -> {
+            // A failed request only fails its own futures, the next one is sent anyway
+            for (CompletableFuture<Void> future : futures) {
+                if (throwable == null) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(throwable);
+                }
+            }
+            eventLoop.execute(requestCompletedTask);
+        });
+    }
+
+}
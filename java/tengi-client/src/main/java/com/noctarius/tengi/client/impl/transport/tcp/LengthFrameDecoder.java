@@ -14,26 +14,26 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package com.noctarius.tengi.server.impl;
+package com.noctarius.tengi.client.impl.transport.tcp;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import com.noctarius.tengi.spi.serialization.codec.impl.FrameCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
 
-public class EventManager implements Service {
+import java.util.List;
 
-    private final ScheduledExecutorService eventExecutor;
-
-    public EventManager() {
-        eventExecutor = Executors.newScheduledThreadPool(5);
-    }
+class LengthFrameDecoder
+        extends ByteToMessageDecoder {
 
     @Override
-    public void start() {
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out)
+            throws Exception {
 
+        ByteBuf frame;
+        while ((frame = FrameCodec.decodeFrame(in, FrameCodec.DEFAULT_MAX_FRAME_LENGTH)) != null) {
+            out.add(frame);
+        }
     }
 
-    @Override
-    public void stop() {
-        eventExecutor.shutdown();
-    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.client.impl.transport.tcp;
+
+import com.noctarius.tengi.spi.serialization.codec.impl.FrameCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+import java.util.List;
+
+@ChannelHandler.Sharable
+class LengthFrameEncoder
+        extends MessageToMessageEncoder<ByteBuf> {
+
+    static final LengthFrameEncoder INSTANCE = new LengthFrameEncoder();
+
+    private LengthFrameEncoder() {
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out)
+            throws Exception {
+
+        // The encoder releases the message after encoding, the frame takes over its own reference
+        out.add(FrameCodec.encodeFrame(msg.retain(), ctx.alloc()));
+    }
+
+}
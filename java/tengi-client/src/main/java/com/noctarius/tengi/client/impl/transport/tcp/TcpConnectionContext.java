@@ -25,18 +25,29 @@ import com.noctarius.tengi.spi.buffer.MemoryBuffer;
 import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.serialization.Serializer;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import static com.noctarius.tengi.client.impl.ClientUtil.completableFuture;
+
 class TcpConnectionContext
         extends ConnectionContext<Channel> {
 
+    private final Channel channel;
     private final Connector<ByteBuf> connector;
 
-    TcpConnectionContext(Identifier connectionId, Serializer serializer, Connector<ByteBuf> connector) {
-        super(connectionId, serializer, connector);
+    TcpConnectionContext(Identifier connectionId, Serializer serializer, Channel channel,
+                         Connector<ByteBuf> connector, StringDictionary stringDictionary) {
+
+        super(connectionId, serializer, connector, stringDictionary);
+        this.channel = channel;
         this.connector = connector;
     }
 
@@ -44,14 +55,26 @@ class TcpConnectionContext
     public CompletableFuture<Message> writeMemoryBuffer(MemoryBuffer memoryBuffer, Message message)
             throws Exception {
 
-        ByteBuf request = connector.allocator().directBuffer();
-        MemoryBuffer buffer = preparePacket(MemoryBufferFactory.create(request));
-        buffer.writeBuffer(memoryBuffer);
+        // Written straight to the channel, Netty keeps writes issued by the same thread in order
+        ByteBuf request = MemoryBufferFactory.unwrap(memoryBuffer);
+        return completableFuture(channel.writeAndFlush(request), message);
+    }
 
-        return FutureUtil.executeAsync(() -> {
-            connector.write(request);
-            return message;
-        });
+    @Override
+    public CompletableFuture<Collection<Message>> writeMemoryBuffers(List<MemoryBuffer> memoryBuffers,
+                                                                     List<Message> messages)
+            throws Exception {
+
+        ChannelFuture channelFuture = null;
+        for (MemoryBuffer memoryBuffer : memoryBuffers) {
+            ByteBuf request = MemoryBufferFactory.unwrap(memoryBuffer);
+            channelFuture = channel.write(request);
+        }
+        if (channelFuture == null) {
+            return CompletableFuture.completedFuture(messages);
+        }
+        channel.flush();
+        return completableFuture(channelFuture, messages);
     }
 
     @Override
@@ -67,6 +90,16 @@ class TcpConnectionContext
         });
     }
 
+    @Override
+    protected boolean isSessionBound() {
+        return true;
+    }
+
+    @Override
+    protected ByteBufAllocator getAllocator() {
+        return connector.allocator();
+    }
+
     @Override
     public CompletableFuture<Connection> close(Connection connection) {
         return FutureUtil.executeAsync(() -> {
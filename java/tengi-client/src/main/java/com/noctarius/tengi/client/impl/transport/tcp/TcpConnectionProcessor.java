@@ -26,6 +26,7 @@ import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
@@ -45,12 +46,13 @@ class TcpConnectionProcessor
             throws Exception {
 
         MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
-        return getSerializer().retrieveDecoder(memoryBuffer);
+        return getSerializer().retrieveDecoder(memoryBuffer, stringDictionary(ctx));
     }
 
     @Override
     protected ConnectionContext<Channel> createConnectionContext(ChannelHandlerContext ctx, Identifier connectionId) {
-        return new TcpConnectionContext(connectionId, getSerializer(), getConnector());
+        StringDictionary stringDictionary = new StringDictionary(getConnector().stringDictionarySize());
+        return new TcpConnectionContext(connectionId, getSerializer(), ctx.channel(), getConnector(), stringDictionary);
     }
 
     @Override
@@ -20,12 +20,16 @@ import com.noctarius.tengi.client.TransportLayers;
 import com.noctarius.tengi.client.impl.ConnectCallback;
 import com.noctarius.tengi.client.impl.ServerConnection;
 import com.noctarius.tengi.client.impl.transport.AbstractClientConnector;
+import com.noctarius.tengi.client.impl.transport.ChannelBackend;
+import com.noctarius.tengi.core.config.Configuration;
+import com.noctarius.tengi.core.config.MessageIdPolicy;
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
 import com.noctarius.tengi.core.connection.TransportLayer;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
 import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.AbstractConnection;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
 import com.noctarius.tengi.spi.connection.impl.TransportConstants;
 import com.noctarius.tengi.spi.connection.packets.Handshake;
 import com.noctarius.tengi.spi.serialization.Serializer;
@@ -42,36 +46,48 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 
 import java.net.InetAddress;
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.noctarius.tengi.client.impl.ClientUtil.CONNECTION;
 import static com.noctarius.tengi.client.impl.ClientUtil.CONNECT_FUTURE;
 import static com.noctarius.tengi.client.impl.ClientUtil.connectionAttribute;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_HANDSHAKE;
 
 public class TcpConnector
         extends AbstractClientConnector<ByteBuf> {
 
+    private static final String FRAME_ENCODER = "frame-encoder";
+
     private final AtomicBoolean destroyed = new AtomicBoolean(false);
 
     private final InetAddress address;
     private final int port;
     private final Serializer serializer;
     private final EventLoopGroup clientGroup;
+    private final ChannelBackend channelBackend;
     private final HandshakeHandler handshakeHandler;
+    private final MessageDispatcher messageDispatcher;
+    private final MessageIdPolicy messageIdPolicy;
+    private final int stringDictionarySize;
 
     private volatile Channel channel;
 
     public TcpConnector(InetAddress address, int port, Serializer serializer, HandshakeHandler handshakeHandler,
+                        Configuration configuration, MessageDispatcher messageDispatcher,
                         EventLoopGroup clientGroup) {
 
         this.address = address;
         this.port = port;
         this.serializer = serializer;
         this.handshakeHandler = handshakeHandler;
+        this.messageDispatcher = messageDispatcher;
+        this.messageIdPolicy = configuration.getMessageIdPolicy();
+        this.stringDictionarySize = configuration.getStringDictionarySize();
         this.clientGroup = clientGroup;
+        this.channelBackend = ChannelBackend.select(configuration);
     }
 
     @Override
@@ -88,6 +104,21 @@ public class TcpConnector
         return handshakeHandler;
     }
 
+    @Override
+    public MessageDispatcher messageDispatcher() {
+        return messageDispatcher;
+    }
+
+    @Override
+    public MessageIdPolicy messageIdPolicy() {
+        return messageIdPolicy;
+    }
+
+    @Override
+    public int stringDictionarySize() {
+        return stringDictionarySize;
+    }
+
     @Override
     public ByteBufAllocator allocator() {
         return channel.alloc();
@@ -100,6 +131,21 @@ public class TcpConnector
         channel.writeAndFlush(message).sync();
     }
 
+    @Override
+    public void write(Collection<ByteBuf> messages)
+            throws Exception {
+
+        Channel channel = this.channel;
+        ChannelFuture channelFuture = null;
+        for (ByteBuf message : messages) {
+            channelFuture = channel.write(message);
+        }
+        channel.flush();
+        if (channelFuture != null) {
+            channelFuture.sync();
+        }
+    }
+
     @Override
     public void destroy(Connection connection)
             throws Exception {
@@ -145,11 +191,14 @@ public class TcpConnector
         // Send Handshake
         this.channel = channel;
 
+        // The magic header precedes the framed stream and must bypass the frame encoder
+        ByteBuf magic = Unpooled.copiedBuffer(DefaultProtocolConstants.PROTOCOL_MAGIC_HEADER);
+        channel.pipeline().context(FRAME_ENCODER).write(magic);
+
         ByteBuf buffer = Unpooled.buffer();
         MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
         try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
-            encoder.writeBytes("magic", DefaultProtocolConstants.PROTOCOL_MAGIC_HEADER);
-            encoder.writeBoolean("loggedIn", false);
+            encoder.writeByte("header", PACKET_HEADER_HANDSHAKE);
             encoder.writeObject("handshake", new Handshake());
         }
 
@@ -170,7 +219,7 @@ public class TcpConnector
     }
 
     private Bootstrap createBootstrap() {
-        return new Bootstrap().channel(NioSocketChannel.class) //
+        return new Bootstrap().channel(channelBackend.socketChannelType()) //
                               .group(clientGroup).option(ChannelOption.TCP_NODELAY, true) //
                               .handler(new ChannelInitializer<SocketChannel>() {
                                   @Override
@@ -178,6 +227,8 @@ public class TcpConnector
                                           throws Exception {
 
                                       ChannelPipeline pipeline = channel.pipeline();
+                                      pipeline.addLast("frame-decoder", new LengthFrameDecoder());
+                                      pipeline.addLast(FRAME_ENCODER, LengthFrameEncoder.INSTANCE);
                                       pipeline.addLast(buildProcessor(serializer));
                                   }
                               });
@@ -25,20 +25,31 @@ import com.noctarius.tengi.spi.buffer.MemoryBuffer;
 import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.serialization.Serializer;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import static com.noctarius.tengi.client.impl.ClientUtil.completableFuture;
+
 class WebsocketConnectionContext
         extends ConnectionContext<Channel> {
 
+    private final Channel channel;
     private final Connector<WebSocketFrame> connector;
 
-    WebsocketConnectionContext(Identifier connectionId, Serializer serializer, Connector<WebSocketFrame> connector) {
-        super(connectionId, serializer, connector);
+    WebsocketConnectionContext(Identifier connectionId, Serializer serializer, Channel channel,
+                               Connector<WebSocketFrame> connector, StringDictionary stringDictionary) {
+
+        super(connectionId, serializer, connector, stringDictionary);
+        this.channel = channel;
         this.connector = connector;
     }
 
@@ -46,14 +57,26 @@ class WebsocketConnectionContext
     public CompletableFuture<Message> writeMemoryBuffer(MemoryBuffer memoryBuffer, Message message)
             throws Exception {
 
-        ByteBuf request = connector.allocator().directBuffer();
-        MemoryBuffer buffer = preparePacket(MemoryBufferFactory.create(request));
-        buffer.writeBuffer(memoryBuffer);
+        // Written straight to the channel, Netty keeps writes issued by the same thread in order
+        ByteBuf request = MemoryBufferFactory.unwrap(memoryBuffer);
+        return completableFuture(channel.writeAndFlush(new BinaryWebSocketFrame(request)), message);
+    }
 
-        return FutureUtil.executeAsync(() -> {
-            connector.write(new BinaryWebSocketFrame(request));
-            return message;
-        });
+    @Override
+    public CompletableFuture<Collection<Message>> writeMemoryBuffers(List<MemoryBuffer> memoryBuffers,
+                                                                     List<Message> messages)
+            throws Exception {
+
+        ChannelFuture channelFuture = null;
+        for (MemoryBuffer memoryBuffer : memoryBuffers) {
+            ByteBuf request = MemoryBufferFactory.unwrap(memoryBuffer);
+            channelFuture = channel.write(new BinaryWebSocketFrame(request));
+        }
+        if (channelFuture == null) {
+            return CompletableFuture.completedFuture(messages);
+        }
+        channel.flush();
+        return completableFuture(channelFuture, messages);
     }
 
     @Override
@@ -69,6 +92,16 @@ class WebsocketConnectionContext
         });
     }
 
+    @Override
+    protected boolean isSessionBound() {
+        return true;
+    }
+
+    @Override
+    protected ByteBufAllocator getAllocator() {
+        return connector.allocator();
+    }
+
     @Override
     public CompletableFuture<Connection> close(Connection connection) {
         return FutureUtil.executeAsync(() -> {
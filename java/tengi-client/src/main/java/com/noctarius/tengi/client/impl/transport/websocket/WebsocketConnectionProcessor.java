@@ -26,6 +26,7 @@ import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
@@ -69,14 +70,16 @@ public class WebsocketConnectionProcessor
             BinaryWebSocketFrame binaryFrame = (BinaryWebSocketFrame) frame;
             ByteBuf copy = binaryFrame.content().copy();
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(copy);
-            return getSerializer().retrieveDecoder(memoryBuffer);
+            return getSerializer().retrieveDecoder(memoryBuffer, stringDictionary(ctx));
         }
         return null;
     }
 
     @Override
     protected ConnectionContext<Channel> createConnectionContext(ChannelHandlerContext ctx, Identifier connectionId) {
-        return new WebsocketConnectionContext(connectionId, getSerializer(), connector);
+        StringDictionary stringDictionary = new StringDictionary(connector.stringDictionarySize());
+        Channel channel = ctx.channel();
+        return new WebsocketConnectionContext(connectionId, getSerializer(), channel, connector, stringDictionary);
     }
 
     @Override
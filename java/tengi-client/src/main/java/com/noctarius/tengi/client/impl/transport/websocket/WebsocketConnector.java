@@ -21,10 +21,14 @@ import com.noctarius.tengi.client.impl.ClientUtil;
 import com.noctarius.tengi.client.impl.ConnectCallback;
 import com.noctarius.tengi.client.impl.ServerConnection;
 import com.noctarius.tengi.client.impl.transport.AbstractClientConnector;
+import com.noctarius.tengi.client.impl.transport.ChannelBackend;
+import com.noctarius.tengi.core.config.Configuration;
+import com.noctarius.tengi.core.config.MessageIdPolicy;
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
 import com.noctarius.tengi.core.connection.TransportLayer;
 import com.noctarius.tengi.spi.connection.AbstractConnection;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
 import com.noctarius.tengi.spi.connection.impl.TransportConstants;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import io.netty.bootstrap.Bootstrap;
@@ -36,7 +40,6 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
@@ -47,6 +50,7 @@ import io.netty.handler.codec.http.websocketx.WebSocketVersion;
 
 import java.net.InetAddress;
 import java.net.URI;
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.noctarius.tengi.client.impl.ClientUtil.CONNECTION;
@@ -62,18 +66,27 @@ public class WebsocketConnector
     private final int port;
     private final Serializer serializer;
     private final EventLoopGroup clientGroup;
+    private final ChannelBackend channelBackend;
     private final HandshakeHandler handshakeHandler;
+    private final MessageDispatcher messageDispatcher;
+    private final MessageIdPolicy messageIdPolicy;
+    private final int stringDictionarySize;
 
     private volatile Channel channel;
 
     public WebsocketConnector(InetAddress address, int port, Serializer serializer, HandshakeHandler handshakeHandler,
+                              Configuration configuration, MessageDispatcher messageDispatcher,
                               EventLoopGroup clientGroup) {
 
         this.address = address;
         this.port = port;
         this.serializer = serializer;
         this.handshakeHandler = handshakeHandler;
+        this.messageDispatcher = messageDispatcher;
+        this.messageIdPolicy = configuration.getMessageIdPolicy();
+        this.stringDictionarySize = configuration.getStringDictionarySize();
         this.clientGroup = clientGroup;
+        this.channelBackend = ChannelBackend.select(configuration);
     }
 
     @Override
@@ -91,6 +104,21 @@ public class WebsocketConnector
         return handshakeHandler;
     }
 
+    @Override
+    public MessageDispatcher messageDispatcher() {
+        return messageDispatcher;
+    }
+
+    @Override
+    public MessageIdPolicy messageIdPolicy() {
+        return messageIdPolicy;
+    }
+
+    @Override
+    public int stringDictionarySize() {
+        return stringDictionarySize;
+    }
+
     @Override
     public ByteBufAllocator allocator() {
         return channel.alloc();
@@ -103,6 +131,21 @@ public class WebsocketConnector
         channel.writeAndFlush(message).sync();
     }
 
+    @Override
+    public void write(Collection<WebSocketFrame> messages)
+            throws Exception {
+
+        Channel channel = this.channel;
+        ChannelFuture channelFuture = null;
+        for (WebSocketFrame message : messages) {
+            channelFuture = channel.write(message);
+        }
+        channel.flush();
+        if (channelFuture != null) {
+            channelFuture.sync();
+        }
+    }
+
     @Override
     public void destroy(Connection connection)
             throws Exception {
@@ -162,7 +205,7 @@ public class WebsocketConnector
     }
 
     private Bootstrap createBootstrap(WebSocketClientHandshaker handshaker) {
-        return new Bootstrap().channel(NioSocketChannel.class) //
+        return new Bootstrap().channel(channelBackend.socketChannelType()) //
                 .group(clientGroup).option(ChannelOption.TCP_NODELAY, true) //
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
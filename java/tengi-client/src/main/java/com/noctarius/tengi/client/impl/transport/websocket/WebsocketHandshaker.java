@@ -33,6 +33,8 @@ import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_HANDSHAKE;
+
 class WebsocketHandshaker
         extends SimpleChannelInboundHandler<Object> {
 
@@ -75,7 +77,7 @@ class WebsocketHandshaker
         ByteBuf buffer = Unpooled.buffer();
         MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
         try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
-            encoder.writeBoolean("loggedIn", false);
+            encoder.writeByte("header", PACKET_HEADER_HANDSHAKE);
             encoder.writeObject("handshake", new Handshake());
         }
 
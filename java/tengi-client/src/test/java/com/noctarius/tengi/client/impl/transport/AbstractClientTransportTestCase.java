@@ -34,6 +34,13 @@ public abstract class AbstractClientTransportTestCase {
             throws Exception {
 
         Configuration configuration = new ConfigurationBuilder().addTransport(serverTransports).ssl(ssl).build();
+        return practice(client, listener, runner, configuration);
+    }
+
+    protected static <T> T practice(Client client, ConnectedListener listener, //
+                                    Runner<T> runner, Configuration configuration)
+            throws Exception {
+
         Server server = Server.create(configuration);
         server.start(AbstractClientTransportTestCase::onConnection).get();
 
@@ -21,6 +21,7 @@ import com.noctarius.tengi.client.ClientTransports;
 import com.noctarius.tengi.client.impl.transport.AbstractClientTransportTestCase;
 import com.noctarius.tengi.core.config.Configuration;
 import com.noctarius.tengi.core.config.ConfigurationBuilder;
+import com.noctarius.tengi.core.config.FlushPolicy;
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.exception.ConnectionFailedException;
 import com.noctarius.tengi.core.listener.ConnectedListener;
@@ -33,6 +34,7 @@ import org.junit.Test;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -176,4 +178,115 @@ public class HttpTransportTestCase
         assertEquals(4, (int) p.getValue("counter"));
     }
 
+    @Test
+    public void test_http_keep_alive_many_messages()
+            throws Exception {
+
+        Configuration configuration = new ConfigurationBuilder().addTransport(ClientTransports.HTTP_TRANSPORT).build();
+        Client client = Client.create(configuration);
+
+        CompletableFuture<Integer> messageFuture = new CompletableFuture<>();
+
+        // More messages than pooled upstream channels, forcing channels to be reused
+        int messages = 32;
+        AtomicInteger received = new AtomicInteger();
+        MessageListener messageListener = (c, m) -> {
+            if (received.incrementAndGet() == messages) {
+                messageFuture.complete(messages);
+            }
+        };
+
+        ConnectedListener listener = (c) -> {
+            try {
+                c.addMessageListener(messageListener);
+                for (int i = 0; i < messages; i++) {
+                    Packet packet = new Packet("counter");
+                    packet.setValue("counter", i);
+                    c.writeObject(packet);
+                }
+            } catch (Exception e) {
+                messageFuture.completeExceptionally(e);
+            }
+        };
+
+        int result = practice(client, listener, messageFuture::get, false, ServerTransports.HTTP_TRANSPORT);
+        assertEquals(messages, result);
+    }
+
+    @Test
+    public void test_http_batched_upstream_messages()
+            throws Exception {
+
+        // Upstream messages are collected for up to 500 micros and sent in a single request
+        Configuration configuration = new ConfigurationBuilder().addTransport(ClientTransports.HTTP_TRANSPORT) //
+                                                                .flushPolicy(new FlushPolicy(16, 0, 500, false)).build();
+        Client client = Client.create(configuration);
+
+        CompletableFuture<Integer> messageFuture = new CompletableFuture<>();
+
+        int messages = 40;
+        AtomicInteger received = new AtomicInteger();
+        MessageListener messageListener = (c, m) -> {
+            if (received.incrementAndGet() == messages) {
+                messageFuture.complete(messages);
+            }
+        };
+
+        ConnectedListener listener = (c) -> {
+            try {
+                c.addMessageListener(messageListener);
+                for (int i = 0; i < messages; i++) {
+                    Packet packet = new Packet("counter");
+                    packet.setValue("counter", i);
+                    c.writeObject(packet);
+                }
+            } catch (Exception e) {
+                messageFuture.completeExceptionally(e);
+            }
+        };
+
+        int result = practice(client, listener, messageFuture::get, false, ServerTransports.HTTP_TRANSPORT);
+        assertEquals(messages, result);
+    }
+
+    @Test
+    public void test_http_batched_upstream_messages_in_order()
+            throws Exception {
+
+        // Small batches force multiple upstream requests which must not overtake each other
+        Configuration configuration = new ConfigurationBuilder().addTransport(ClientTransports.HTTP_TRANSPORT) //
+                                                                .flushPolicy(new FlushPolicy(4, 0, 500, false)).build();
+        Client client = Client.create(configuration);
+
+        CompletableFuture<Integer> messageFuture = new CompletableFuture<>();
+
+        int messages = 40;
+        AtomicInteger received = new AtomicInteger();
+        MessageListener messageListener = (c, m) -> {
+            Packet p = m.getBody();
+            int counter = p.getValue("counter");
+            if (counter != received.getAndIncrement()) {
+                messageFuture.completeExceptionally(new AssertionError("Unexpected counter " + counter));
+            } else if (counter == messages - 1) {
+                messageFuture.complete(messages);
+            }
+        };
+
+        ConnectedListener listener = (c) -> {
+            try {
+                c.addMessageListener(messageListener);
+                for (int i = 0; i < messages; i++) {
+                    Packet packet = new Packet("counter");
+                    packet.setValue("counter", i);
+                    c.writeObject(packet);
+                }
+            } catch (Exception e) {
+                messageFuture.completeExceptionally(e);
+            }
+        };
+
+        int result = practice(client, listener, messageFuture::get, false, ServerTransports.HTTP_TRANSPORT);
+        assertEquals(messages, result);
+    }
+
 }
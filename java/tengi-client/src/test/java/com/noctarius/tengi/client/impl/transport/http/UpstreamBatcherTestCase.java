@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.client.impl.transport.http;
+
+import com.noctarius.tengi.core.config.FlushPolicy;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.EventLoop;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpRequest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UpstreamBatcherTestCase {
+
+    @Test
+    public void test_writes_during_round_trip_are_sent_as_single_request()
+            throws Exception {
+
+        NioEventLoopGroup group = new NioEventLoopGroup(1);
+        try {
+            EventLoop eventLoop = group.next();
+
+            // Only accessed from inside the event loop
+            List<FullHttpRequest> requests = new ArrayList<>();
+            List<CompletableFuture<Void>> responses = new ArrayList<>();
+            UpstreamBatcher upstreamBatcher = new UpstreamBatcher((request) -> {
+                CompletableFuture<Void> response = new CompletableFuture<>();
+                requests.add((FullHttpRequest) request);
+                responses.add(response);
+                return response;
+            }, FlushPolicy.IMMEDIATE, eventLoop, "application/octet-stream");
+
+            int messages = 100;
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < messages; i++) {
+                ByteBuf packet = Unpooled.buffer(1).writeByte(i);
+                futures.add(upstreamBatcher.write(Collections.singletonList(packet)));
+            }
+
+            // The first write is sent right away, all others wait for its response
+            eventLoop.submit(() -> null).sync();
+            assertEquals(1, eventLoop.submit(requests::size).get().intValue());
+            assertFalse(futures.get(0).isDone());
+
+            eventLoop.submit(() -> responses.get(0).complete(null)).sync();
+            eventLoop.submit(() -> null).sync();
+            assertTrue(futures.get(0).isDone());
+            assertFalse(futures.get(messages - 1).isDone());
+            assertEquals(2, eventLoop.submit(requests::size).get().intValue());
+
+            eventLoop.submit(() -> responses.get(1).complete(null)).sync();
+            eventLoop.submit(() -> null).sync();
+            for (CompletableFuture<Void> future : futures) {
+                assertTrue(future.isDone());
+                assertFalse(future.isCompletedExceptionally());
+            }
+
+            // Messages written back to back end up in far less requests, still in order
+            assertEquals(2, eventLoop.submit(requests::size).get().intValue());
+            ByteBuf first = requests.get(0).content();
+            ByteBuf second = requests.get(1).content();
+            assertEquals(1, first.readableBytes());
+            assertEquals(0, first.getByte(first.readerIndex()));
+            assertEquals(messages - 1, second.readableBytes());
+            for (int i = 1; i < messages; i++) {
+                assertEquals((byte) i, second.getByte(second.readerIndex() + i - 1));
+            }
+            requests.forEach(FullHttpRequest::release);
+
+        } finally {
+            group.shutdownGracefully().sync();
+        }
+    }
+
+}
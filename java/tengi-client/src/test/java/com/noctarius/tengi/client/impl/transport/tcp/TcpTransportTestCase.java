@@ -25,17 +25,24 @@ import com.noctarius.tengi.core.model.Message;
 import com.noctarius.tengi.core.model.Packet;
 import com.noctarius.tengi.core.config.Configuration;
 import com.noctarius.tengi.core.config.ConfigurationBuilder;
+import com.noctarius.tengi.core.config.DispatchPolicy;
+import com.noctarius.tengi.core.config.FlushPolicy;
+import com.noctarius.tengi.core.config.MessageIdPolicy;
 import com.noctarius.tengi.core.listener.MessageListener;
 import com.noctarius.tengi.core.listener.ConnectedListener;
 import com.noctarius.tengi.server.ServerTransports;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 public class TcpTransportTestCase
         extends AbstractClientTransportTestCase {
@@ -176,4 +183,188 @@ public class TcpTransportTestCase
         assertEquals(4, (int) p.getValue("counter"));
     }
 
+    @Test
+    public void test_simple_tcp_coalesced_multi_round_trip()
+            throws Exception {
+
+        Configuration configuration = new ConfigurationBuilder().addTransport(ClientTransports.TCP_TRANSPORT).build();
+        Client client = Client.create(configuration);
+
+        Configuration serverConfiguration = new ConfigurationBuilder().addTransport(ServerTransports.TCP_TRANSPORT) //
+                                                                      .flushPolicy(new FlushPolicy(16, 0, 500, false)).build();
+
+        CompletableFuture<Message> messageFuture = new CompletableFuture<>();
+
+        Packet packet = new Packet("counter");
+        packet.setValue("counter", 1);
+        Message message = Message.create(packet);
+
+        MessageListener messageListener = (c, m) -> {
+            Packet p = m.getBody();
+            int counter = p.getValue("counter");
+            if (counter == 4) {
+                messageFuture.complete(m);
+            } else {
+                p.setValue("counter", counter + 1);
+                try {
+                    c.writeObject(p);
+                } catch (Exception e) {
+                    messageFuture.completeExceptionally(e);
+                }
+            }
+        };
+
+        ConnectedListener listener = (c) -> {
+            try {
+                c.addMessageListener(messageListener);
+                c.writeObject(message);
+            } catch (Exception e) {
+                messageFuture.completeExceptionally(e);
+            }
+        };
+
+        Message result = practice(client, listener, messageFuture::get, serverConfiguration);
+        assertNotNull(result);
+
+        Packet p = result.getBody();
+        assertNotNull(p);
+        assertEquals(4, (int) p.getValue("counter"));
+    }
+
+    @Test
+    public void test_simple_tcp_dispatched_multi_round_trip()
+            throws Exception {
+
+        DispatchPolicy dispatchPolicy = new DispatchPolicy(DispatchPolicy.Mode.WorkerPool, 4, 2);
+
+        Configuration configuration = new ConfigurationBuilder().addTransport(ClientTransports.TCP_TRANSPORT) //
+                                                                .dispatchPolicy(dispatchPolicy).build();
+        Client client = Client.create(configuration);
+
+        Configuration serverConfiguration = new ConfigurationBuilder().addTransport(ServerTransports.TCP_TRANSPORT) //
+                                                                      .dispatchPolicy(dispatchPolicy).build();
+
+        CompletableFuture<Message> messageFuture = new CompletableFuture<>();
+
+        Packet packet = new Packet("counter");
+        packet.setValue("counter", 1);
+        Message message = Message.create(packet);
+
+        MessageListener messageListener = (c, m) -> {
+            Packet p = m.getBody();
+            int counter = p.getValue("counter");
+            if (counter == 4) {
+                messageFuture.complete(m);
+            } else {
+                p.setValue("counter", counter + 1);
+                try {
+                    c.writeObject(p);
+                } catch (Exception e) {
+                    messageFuture.completeExceptionally(e);
+                }
+            }
+        };
+
+        ConnectedListener listener = (c) -> {
+            try {
+                c.addMessageListener(messageListener);
+                c.writeObject(message);
+            } catch (Exception e) {
+                messageFuture.completeExceptionally(e);
+            }
+        };
+
+        Message result = practice(client, listener, messageFuture::get, serverConfiguration);
+        assertNotNull(result);
+
+        Packet p = result.getBody();
+        assertNotNull(p);
+        assertEquals(4, (int) p.getValue("counter"));
+        assertEquals(4, client.getDispatchMetrics().getDispatchedMessages());
+    }
+
+    @Test
+    public void test_simple_tcp_batch_round_trip()
+            throws Exception {
+
+        Configuration configuration = new ConfigurationBuilder().addTransport(ClientTransports.TCP_TRANSPORT).build();
+        Client client = Client.create(configuration);
+
+        CompletableFuture<Message> messageFuture = new CompletableFuture<>();
+
+        List<Packet> packets = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Packet packet = new Packet("counter");
+            packet.setValue("counter", i);
+            packets.add(packet);
+        }
+
+        AtomicInteger received = new AtomicInteger();
+        MessageListener messageListener = (c, m) -> {
+            Packet p = m.getBody();
+            int counter = p.getValue("counter");
+            if (counter != received.incrementAndGet()) {
+                messageFuture.completeExceptionally(new AssertionError("Unexpected counter " + counter));
+            } else if (counter == 4) {
+                messageFuture.complete(m);
+            }
+        };
+
+        ConnectedListener listener = (c) -> {
+            try {
+                c.addMessageListener(messageListener);
+                c.writeObjects(packets);
+            } catch (Exception e) {
+                messageFuture.completeExceptionally(e);
+            }
+        };
+
+        Message result = practice(client, listener, messageFuture::get, false, ServerTransports.TCP_TRANSPORT);
+        assertNotNull(result);
+
+        Packet p = result.getBody();
+        assertNotNull(p);
+        assertEquals(4, (int) p.getValue("counter"));
+    }
+
+    @Test
+    public void test_simple_tcp_sequence_id_round_trip()
+            throws Exception {
+
+        Configuration configuration = new ConfigurationBuilder().addTransport(ClientTransports.TCP_TRANSPORT) //
+                                                                .messageIdPolicy(MessageIdPolicy.Sequence).build();
+        Client client = Client.create(configuration);
+
+        CompletableFuture<Message> messageFuture = new CompletableFuture<>();
+
+        AtomicInteger received = new AtomicInteger();
+        MessageListener messageListener = (c, m) -> {
+            Packet p = m.getBody();
+            int counter = p.getValue("counter");
+            if (m.getSequenceId() != counter - 1 || m.getMessageId() != null) {
+                messageFuture.completeExceptionally(new AssertionError("Unexpected message " + m));
+            } else if (received.incrementAndGet() == 2) {
+                messageFuture.complete(m);
+            }
+        };
+
+        ConnectedListener listener = (c) -> {
+            try {
+                c.addMessageListener(messageListener);
+                for (int i = 1; i <= 2; i++) {
+                    Packet packet = new Packet("counter");
+                    packet.setValue("counter", i);
+                    c.writeObject(packet);
+                }
+            } catch (Exception e) {
+                messageFuture.completeExceptionally(e);
+            }
+        };
+
+        Message result = practice(client, listener, messageFuture::get, false, ServerTransports.TCP_TRANSPORT);
+        assertNotNull(result);
+        assertNull(result.getMessageId());
+        assertEquals(1, result.getSequenceId());
+    }
+
 }
@@ -96,6 +96,15 @@ public interface Configuration {
      */
     boolean isSnappyEnabled();
 
+    /**
+     * Returns if the transports should use a native socket implementation (e.g. epoll on Linux) when
+     * available. If the native implementation is not available on the current platform, transports
+     * silently fall back to the Java NIO implementation.
+     *
+     * @return true if native transports should be used when available, otherwise false
+     */
+    boolean isNativeTransportEnabled();
+
     /**
      * Returns the configured {@link com.noctarius.tengi.core.connection.HandshakeHandler} instance
      * to verify, accept or deny new connection handshakes. On client-side additional information can be
@@ -105,4 +114,65 @@ public interface Configuration {
      */
     HandshakeHandler getHandshakeHandler();
 
+    /**
+     * Returns the configured {@link com.noctarius.tengi.core.config.FlushPolicy} used by streaming
+     * {@link com.noctarius.tengi.core.connection.Transport}s to coalesce writes into fewer socket flushes
+     * and by the HTTP transport to batch upstream messages into fewer requests.
+     *
+     * @return the <tt>FlushPolicy</tt> for streaming and HTTP transports
+     */
+    FlushPolicy getFlushPolicy();
+
+    /**
+     * Returns the configured {@link com.noctarius.tengi.core.config.OutboundPolicy} that limits the
+     * amount of pending outbound data per {@link com.noctarius.tengi.core.connection.Connection}.
+     *
+     * @return the <tt>OutboundPolicy</tt> for connections
+     */
+    OutboundPolicy getOutboundPolicy();
+
+    /**
+     * Returns the configured {@link com.noctarius.tengi.core.config.DispatchPolicy} that defines which
+     * threads deliver received messages to {@link com.noctarius.tengi.core.listener.MessageListener}s.
+     *
+     * @return the <tt>DispatchPolicy</tt> for received messages
+     */
+    DispatchPolicy getDispatchPolicy();
+
+    /**
+     * Returns the configured {@link com.noctarius.tengi.core.config.MessageIdPolicy} that defines which
+     * kind of message id {@link com.noctarius.tengi.core.connection.Connection}s assign to written objects.
+     *
+     * @return the <tt>MessageIdPolicy</tt> for written objects
+     */
+    MessageIdPolicy getMessageIdPolicy();
+
+    /**
+     * Returns the maximum number of strings, like {@link com.noctarius.tengi.core.model.Packet} keys or
+     * enum constant names, a connection of a streaming {@link com.noctarius.tengi.core.connection.Transport}
+     * remembers to replace later occurrences by a compressed id. A size of <tt>0</tt> means outgoing
+     * strings are always written in full.
+     *
+     * @return the maximum number of remembered strings per connection
+     */
+    int getStringDictionarySize();
+
+    /**
+     * Returns the default {@link com.noctarius.tengi.core.config.ThreadingPolicy} that defines the
+     * event loop threads of endpoints without an explicitly configured policy. It also defines the size
+     * of a shared worker group.
+     *
+     * @return the default <tt>ThreadingPolicy</tt>
+     */
+    ThreadingPolicy getThreadingPolicy();
+
+    /**
+     * Returns either the explicitly configured or default {@link com.noctarius.tengi.core.config.ThreadingPolicy}
+     * of the endpoint bound to the given port.
+     *
+     * @param port the port of the endpoint to retrieve the policy for
+     * @return the explicitly configured policy if set, otherwise the default policy
+     */
+    ThreadingPolicy getThreadingPolicy(int port);
+
 }
@@ -23,6 +23,7 @@ import com.noctarius.tengi.core.serialization.marshaller.Marshaller;
 import com.noctarius.tengi.core.serialization.marshaller.MarshallerFilter;
 import com.noctarius.tengi.core.serialization.marshaller.MarshallerReader;
 import com.noctarius.tengi.core.serialization.marshaller.MarshallerWriter;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -51,7 +52,15 @@ public class ConfigurationBuilder {
     protected boolean sslEnabled = false;
     protected boolean gzipEnabled = false;
     protected boolean snappyEnabled = false;
+    protected boolean nativeTransportEnabled = true;
     protected HandshakeHandler handshakeHandler = null;
+    protected FlushPolicy flushPolicy = FlushPolicy.IMMEDIATE;
+    protected OutboundPolicy outboundPolicy = OutboundPolicy.UNBOUNDED;
+    protected DispatchPolicy dispatchPolicy = DispatchPolicy.EVENT_LOOP;
+    protected MessageIdPolicy messageIdPolicy = MessageIdPolicy.Random;
+    protected int stringDictionarySize = StringDictionary.DEFAULT_SIZE;
+    protected ThreadingPolicy threadingPolicy = ThreadingPolicy.DEFAULT;
+    protected final Map<Integer, ThreadingPolicy> endpointThreadingPolicies = new HashMap<>();
 
     /**
      * Configures a new {@link com.noctarius.tengi.core.serialization.marshaller.Marshaller} and
@@ -183,6 +192,20 @@ public class ConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Defines if the {@link com.noctarius.tengi.core.connection.Transport}s should use a native socket
+     * implementation (e.g. epoll on Linux) if the native library is available. Otherwise or if disabled
+     * the Java NIO implementation is used. Native transports are enabled by default. Calling this method
+     * multiple times will override any previously set value.
+     *
+     * @param nativeTransportEnabled true to enable native transports when available, false to disable them
+     * @return this instance of the <tt>ConfigurationBuilder</tt> for fluent programing style
+     */
+    public ConfigurationBuilder nativeTransport(boolean nativeTransportEnabled) {
+        this.nativeTransportEnabled = nativeTransportEnabled;
+        return this;
+    }
+
     /**
      * Defines the {@link com.noctarius.tengi.core.connection.HandshakeHandler} instance
      * to verify, accept or deny new connection handshakes. On client-side additional information can be
@@ -196,6 +219,112 @@ public class ConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Defines the {@link com.noctarius.tengi.core.config.FlushPolicy} used by streaming
+     * {@link com.noctarius.tengi.core.connection.Transport}s to coalesce concurrent writes
+     * of a connection into fewer socket flushes. By default every write is flushed immediately.
+     * Calling this method multiple times will override any previously set value.
+     *
+     * @param flushPolicy the <tt>FlushPolicy</tt> to be configured
+     * @return this instance of the <tt>ConfigurationBuilder</tt> for fluent programing style
+     */
+    public ConfigurationBuilder flushPolicy(FlushPolicy flushPolicy) {
+        Validate.notNull("flushPolicy", flushPolicy);
+        this.flushPolicy = flushPolicy;
+        return this;
+    }
+
+    /**
+     * Defines the {@link com.noctarius.tengi.core.config.OutboundPolicy} to limit the amount of
+     * pending outbound data per {@link com.noctarius.tengi.core.connection.Connection}. By default
+     * connections are not limited. Calling this method multiple times will override any previously
+     * set value.
+     *
+     * @param outboundPolicy the <tt>OutboundPolicy</tt> to be configured
+     * @return this instance of the <tt>ConfigurationBuilder</tt> for fluent programing style
+     */
+    public ConfigurationBuilder outboundPolicy(OutboundPolicy outboundPolicy) {
+        Validate.notNull("outboundPolicy", outboundPolicy);
+        this.outboundPolicy = outboundPolicy;
+        return this;
+    }
+
+    /**
+     * Defines the {@link com.noctarius.tengi.core.config.DispatchPolicy} to deliver received messages
+     * to {@link com.noctarius.tengi.core.listener.MessageListener}s. By default listeners are called
+     * directly on the event loop. Calling this method multiple times will override any previously
+     * set value.
+     *
+     * @param dispatchPolicy the <tt>DispatchPolicy</tt> to be configured
+     * @return this instance of the <tt>ConfigurationBuilder</tt> for fluent programing style
+     */
+    public ConfigurationBuilder dispatchPolicy(DispatchPolicy dispatchPolicy) {
+        Validate.notNull("dispatchPolicy", dispatchPolicy);
+        this.dispatchPolicy = dispatchPolicy;
+        return this;
+    }
+
+    /**
+     * Defines the {@link com.noctarius.tengi.core.config.MessageIdPolicy} to assign message ids to
+     * written objects. By default every message gets a random unique identifier. Calling this method
+     * multiple times will override any previously set value.
+     *
+     * @param messageIdPolicy the <tt>MessageIdPolicy</tt> to be configured
+     * @return this instance of the <tt>ConfigurationBuilder</tt> for fluent programing style
+     */
+    public ConfigurationBuilder messageIdPolicy(MessageIdPolicy messageIdPolicy) {
+        Validate.notNull("messageIdPolicy", messageIdPolicy);
+        this.messageIdPolicy = messageIdPolicy;
+        return this;
+    }
+
+    /**
+     * Defines the maximum number of strings, like {@link com.noctarius.tengi.core.model.Packet} keys or
+     * enum constant names, a connection of a streaming {@link com.noctarius.tengi.core.connection.Transport}
+     * remembers to replace later occurrences by a compressed id. A size of <tt>0</tt> disables the string
+     * dictionary for outgoing packets. By default up to {@link StringDictionary#DEFAULT_SIZE} strings are
+     * remembered per connection. Calling this method multiple times will override any previously set value.
+     *
+     * @param stringDictionarySize the maximum number of remembered strings per connection
+     * @return this instance of the <tt>ConfigurationBuilder</tt> for fluent programing style
+     */
+    public ConfigurationBuilder stringDictionarySize(int stringDictionarySize) {
+        Validate.greaterOrEqual("stringDictionarySize", 0, stringDictionarySize);
+        Validate.lowerOrEqual("stringDictionarySize", StringDictionary.MAX_SIZE, stringDictionarySize);
+        this.stringDictionarySize = stringDictionarySize;
+        return this;
+    }
+
+    /**
+     * Defines the default {@link com.noctarius.tengi.core.config.ThreadingPolicy} for all endpoints
+     * without an explicitly configured policy. By default the number of threads is based on the number
+     * of available CPU cores. Calling this method multiple times will override any previously set value.
+     *
+     * @param threadingPolicy the <tt>ThreadingPolicy</tt> to be configured
+     * @return this instance of the <tt>ConfigurationBuilder</tt> for fluent programing style
+     */
+    public ConfigurationBuilder threadingPolicy(ThreadingPolicy threadingPolicy) {
+        Validate.notNull("threadingPolicy", threadingPolicy);
+        this.threadingPolicy = threadingPolicy;
+        return this;
+    }
+
+    /**
+     * Defines an explicit {@link com.noctarius.tengi.core.config.ThreadingPolicy} for the endpoint bound
+     * to the given port. Any previously configured policy for this very port is overridden.
+     *
+     * @param port            the port of the endpoint
+     * @param threadingPolicy the <tt>ThreadingPolicy</tt> to be configured
+     * @return this instance of the <tt>ConfigurationBuilder</tt> for fluent programing style
+     */
+    public ConfigurationBuilder threadingPolicy(int port, ThreadingPolicy threadingPolicy) {
+        Validate.greaterOrEqual("port", 1, port);
+        Validate.lowerOrEqual("port", 65535, port);
+        Validate.notNull("threadingPolicy", threadingPolicy);
+        endpointThreadingPolicies.put(port, threadingPolicy);
+        return this;
+    }
+
     /**
      * Build the {@link com.noctarius.tengi.core.config.Configuration} instance with any values currently
      * set in this <tt>ConfigurationBuilder</tt> instance. The created configuration is immutable and
@@ -205,7 +334,9 @@ public class ConfigurationBuilder {
      */
     public Configuration build() {
         return new ConfigurationImpl( //
-                marshallers, transports, transportPorts, sslEnabled, gzipEnabled, snappyEnabled, handshakeHandler);
+                marshallers, transports, transportPorts, sslEnabled, gzipEnabled, snappyEnabled, //
+                nativeTransportEnabled, handshakeHandler, flushPolicy, outboundPolicy, dispatchPolicy, //
+                messageIdPolicy, stringDictionarySize, threadingPolicy, endpointThreadingPolicies);
     }
 
     protected static class ConfigurationImpl
@@ -217,11 +348,24 @@ public class ConfigurationBuilder {
         private final boolean sslEnabled;
         private boolean gzipEnabled = false;
         private boolean snappyEnabled = false;
+        private final boolean nativeTransportEnabled;
         private final HandshakeHandler handshakeHandler;
+        private final FlushPolicy flushPolicy;
+        private final OutboundPolicy outboundPolicy;
+        private final DispatchPolicy dispatchPolicy;
+        private final MessageIdPolicy messageIdPolicy;
+        private final int stringDictionarySize;
+        private final ThreadingPolicy threadingPolicy;
+        private final Map<Integer, ThreadingPolicy> endpointThreadingPolicies;
 
         protected ConfigurationImpl(Set<MarshallerConfiguration> marshallers, List<Transport> transports,
                                     Map<Transport, Integer> transportPorts, boolean sslEnabled, boolean gzipEnabled,
-                                    boolean snappyEnabled, HandshakeHandler handshakeHandler) {
+                                    boolean snappyEnabled, boolean nativeTransportEnabled,
+                                    HandshakeHandler handshakeHandler, FlushPolicy flushPolicy,
+                                    OutboundPolicy outboundPolicy, DispatchPolicy dispatchPolicy,
+                                    MessageIdPolicy messageIdPolicy, int stringDictionarySize,
+                                    ThreadingPolicy threadingPolicy,
+                                    Map<Integer, ThreadingPolicy> endpointThreadingPolicies) {
 
             this.marshallers = Collections.unmodifiableSet(new HashSet<>(marshallers));
             this.transports = Collections.unmodifiableList(new ArrayList<>(transports));
@@ -229,7 +373,15 @@ public class ConfigurationBuilder {
             this.sslEnabled = sslEnabled;
             this.gzipEnabled = gzipEnabled;
             this.snappyEnabled = snappyEnabled;
+            this.nativeTransportEnabled = nativeTransportEnabled;
             this.handshakeHandler = handshakeHandler;
+            this.flushPolicy = flushPolicy;
+            this.outboundPolicy = outboundPolicy;
+            this.dispatchPolicy = dispatchPolicy;
+            this.messageIdPolicy = messageIdPolicy;
+            this.stringDictionarySize = stringDictionarySize;
+            this.threadingPolicy = threadingPolicy;
+            this.endpointThreadingPolicies = Collections.unmodifiableMap(new HashMap<>(endpointThreadingPolicies));
         }
 
         @Override
@@ -271,10 +423,54 @@ public class ConfigurationBuilder {
             return snappyEnabled;
         }
 
+        @Override
+        public boolean isNativeTransportEnabled() {
+            return nativeTransportEnabled;
+        }
+
         @Override
         public HandshakeHandler getHandshakeHandler() {
             return handshakeHandler;
         }
+
+        @Override
+        public FlushPolicy getFlushPolicy() {
+            return flushPolicy;
+        }
+
+        @Override
+        public OutboundPolicy getOutboundPolicy() {
+            return outboundPolicy;
+        }
+
+        @Override
+        public DispatchPolicy getDispatchPolicy() {
+            return dispatchPolicy;
+        }
+
+        @Override
+        public MessageIdPolicy getMessageIdPolicy() {
+            return messageIdPolicy;
+        }
+
+        @Override
+        public int getStringDictionarySize() {
+            return stringDictionarySize;
+        }
+
+        @Override
+        public ThreadingPolicy getThreadingPolicy() {
+            return threadingPolicy;
+        }
+
+        @Override
+        public ThreadingPolicy getThreadingPolicy(int port) {
+            ThreadingPolicy threadingPolicy = endpointThreadingPolicies.get(port);
+            if (threadingPolicy != null) {
+                return threadingPolicy;
+            }
+            return this.threadingPolicy;
+        }
     }
 
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.core.config;
+
+import com.noctarius.tengi.core.impl.Validate;
+
+/**
+ * <p>The <tt>DispatchPolicy</tt> class defines which threads deliver received messages to the
+ * registered {@link com.noctarius.tengi.core.listener.MessageListener}s. By default listeners
+ * are called directly on the transport's event loop, which means a slow listener stalls all other
+ * connections served by the same event loop.</p>
+ * <p>Using {@link Mode#WorkerPool} messages are handed over to a fixed number of serial lanes.
+ * Connections are striped over the lanes by their connection id, so that messages of a single
+ * connection are always delivered in order while different lanes are processed in parallel by
+ * the configured number of worker threads.</p>
+ * <p>Using {@link Mode#VirtualThreads} every lane run is executed on a new virtual thread, which
+ * lets listeners block (e.g. on database calls) without occupying an event loop or a platform thread.
+ * Since virtual threads are cheap, a high number of lanes is recommended to keep unrelated connections
+ * from waiting for each other. On Java runtimes without virtual threads an unbounded pool of platform
+ * threads is used instead.</p>
+ * <p>Whenever messages are dispatched to lanes, connection events like the
+ * {@link com.noctarius.tengi.core.listener.ConnectedListener},
+ * {@link com.noctarius.tengi.core.listener.ExceptionListener} or
+ * {@link com.noctarius.tengi.core.listener.ClosedListener} are delivered on the same lane and
+ * therefore in order with the connection's messages.</p>
+ */
+public final class DispatchPolicy {
+
+    /**
+     * The <tt>DispatchPolicy</tt> calling listeners directly on the event loop. This is the default.
+     */
+    public static final DispatchPolicy EVENT_LOOP = new DispatchPolicy(Mode.EventLoop, 1, 0);
+
+    private final Mode mode;
+    private final int lanes;
+    private final int workerThreads;
+
+    /**
+     * Constructs a new immutable instance of this <tt>DispatchPolicy</tt> class.
+     *
+     * @param mode          the <tt>Mode</tt> to dispatch messages
+     * @param lanes         the number of serial lanes connections are striped over
+     * @param workerThreads the number of worker threads, only used by {@link Mode#WorkerPool}
+     * @throws com.noctarius.tengi.core.impl.Validate.ValidationException when mode is null, lanes is
+     *                                                                    lower than 1 or no worker
+     *                                                                    thread is configured for
+     *                                                                    {@link Mode#WorkerPool}
+     */
+    public DispatchPolicy(Mode mode, int lanes, int workerThreads) {
+        Validate.notNull("mode", mode);
+        Validate.greaterOrEqual("lanes", 1, lanes);
+        Validate.greaterOrEqual("workerThreads", mode == Mode.WorkerPool ? 1 : 0, workerThreads);
+
+        this.mode = mode;
+        this.lanes = lanes;
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Returns the <tt>Mode</tt> messages are dispatched with.
+     *
+     * @return the dispatch <tt>Mode</tt>
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the number of serial lanes connections are striped over.
+     *
+     * @return the number of lanes
+     */
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Returns the number of worker threads processing the lanes.
+     *
+     * @return the number of worker threads
+     */
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    /**
+     * The <tt>Mode</tt> enum defines the possible threading models to dispatch received messages.
+     */
+    public enum Mode {
+
+        /**
+         * Listeners are called directly on the event loop that received the message.
+         */
+        EventLoop,
+
+        /**
+         * Messages are queued to the lane of their connection and delivered by a fixed pool of
+         * worker threads.
+         */
+        WorkerPool,
+
+        /**
+         * Messages are queued to the lane of their connection and delivered by virtual threads,
+         * falling back to platform threads on Java runtimes without virtual thread support.
+         */
+        VirtualThreads
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.core.config;
+
+import com.noctarius.tengi.core.impl.Validate;
+
+/**
+ * <p>The <tt>FlushPolicy</tt> class defines when outbound data of streaming
+ * {@link com.noctarius.tengi.core.connection.Transport}s is flushed to the socket. Instead of
+ * flushing every single write, writes can be coalesced and flushed after a configured number
+ * of messages or bytes, after a maximum delay or whenever the underlying event loop runs
+ * out of pending work.</p>
+ * <p>Whatever limit is reached first triggers the flush. Explicit batch writes are always
+ * flushed at the end of the batch. If neither a maximum delay nor idle flushing is configured,
+ * pending writes below the message and byte limits are flushed when the event loop becomes idle
+ * to never stall a connection.</p>
+ * <p>The HTTP transport applies the same limits on client-side to batch multiple upstream
+ * messages into a single request.</p>
+ */
+public final class FlushPolicy {
+
+    /**
+     * The <tt>FlushPolicy</tt> flushing every single write immediately. This is the default.
+     */
+    public static final FlushPolicy IMMEDIATE = new FlushPolicy(1, 0, 0, false);
+
+    private final int maxMessages;
+    private final int maxBytes;
+    private final long maxDelayMicros;
+    private final boolean flushOnIdle;
+
+    /**
+     * Constructs a new immutable instance of this <tt>FlushPolicy</tt> class. A value of <tt>0</tt>
+     * disables the corresponding limit.
+     *
+     * @param maxMessages    the number of pending messages to trigger a flush
+     * @param maxBytes       the number of pending bytes to trigger a flush
+     * @param maxDelayMicros the maximum delay in microseconds before pending messages are flushed
+     * @param flushOnIdle    true to flush pending messages when the event loop has no further work
+     * @throws com.noctarius.tengi.core.impl.Validate.ValidationException when any value is negative or
+     *                                                                    no limit is defined at all
+     */
+    public FlushPolicy(int maxMessages, int maxBytes, long maxDelayMicros, boolean flushOnIdle) {
+        Validate.greaterOrEqual("maxMessages", 0, maxMessages);
+        Validate.greaterOrEqual("maxBytes", 0, maxBytes);
+        Validate.validate(() -> "maxDelayMicros must be greater or equal to 0", () -> maxDelayMicros >= 0);
+        Validate.validate(() -> "FlushPolicy does not define any flush condition",
+                () -> maxMessages > 0 || maxBytes > 0 || maxDelayMicros > 0 || flushOnIdle);
+
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.maxDelayMicros = maxDelayMicros;
+        this.flushOnIdle = flushOnIdle;
+    }
+
+    /**
+     * Returns the number of pending messages that triggers a flush or <tt>0</tt> if disabled.
+     *
+     * @return the number of pending messages to trigger a flush
+     */
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    /**
+     * Returns the number of pending bytes that triggers a flush or <tt>0</tt> if disabled.
+     *
+     * @return the number of pending bytes to trigger a flush
+     */
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Returns the maximum delay in microseconds pending messages are hold back or <tt>0</tt> if disabled.
+     *
+     * @return the maximum delay in microseconds
+     */
+    public long getMaxDelayMicros() {
+        return maxDelayMicros;
+    }
+
+    /**
+     * Returns true if pending messages are flushed as soon as the event loop has no further work.
+     *
+     * @return true if flushed on idle, otherwise false
+     */
+    public boolean isFlushOnIdle() {
+        return flushOnIdle;
+    }
+
+    /**
+     * Returns true if this policy flushes every single write immediately.
+     *
+     * @return true if every write is flushed immediately, otherwise false
+     */
+    public boolean isImmediate() {
+        return maxMessages == 1;
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.core.config;
+
+/**
+ * <p>The <tt>MessageIdPolicy</tt> enum defines which kind of message id a
+ * {@link com.noctarius.tengi.core.connection.Connection} assigns to objects that are written without
+ * being wrapped into a {@link com.noctarius.tengi.core.model.Message} by the user.</p>
+ * <p>All kinds of message ids are flagged on the wire, therefore peers using different policies can
+ * still communicate with each other.</p>
+ */
+public enum MessageIdPolicy {
+
+    /**
+     * Every message gets a random 128 bit {@link com.noctarius.tengi.core.model.Identifier}. This is
+     * the default and the most expensive policy, since ids are globally unique.
+     */
+    Random,
+
+    /**
+     * Every message gets a per-connection, monotonically increasing sequence number starting at 0. The
+     * sequence number is written as a compressed int64 and is cheap to generate, but only unique per
+     * connection and direction. Messages written by a single thread are sent in order of their sequence
+     * numbers, with concurrent writers the order on the wire is undefined.
+     */
+    Sequence,
+
+    /**
+     * Messages don't get a message id at all. This is the cheapest policy for traffic that never
+     * makes use of message ids.
+     */
+    None
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.core.config;
+
+import com.noctarius.tengi.core.impl.Validate;
+
+/**
+ * <p>The <tt>OutboundPolicy</tt> class defines the outbound budget of a single
+ * {@link com.noctarius.tengi.core.connection.Connection}. A connection counts all messages
+ * and bytes that are written but not yet delivered to the transport, e.g. pending inside the
+ * socket's outbound buffer or queued for the next long-polling request.</p>
+ * <p>Whenever a write would exceed the configured budget, the {@link Overflow} strategy
+ * decides how to handle the write. A write is always accepted if nothing is pending, so that
+ * a single message larger than the byte budget can still be sent.</p>
+ * <p>A connection turns non-writable as soon as the budget is exhausted and writable again
+ * once the pending messages and bytes dropped to half of the budget, see
+ * {@link com.noctarius.tengi.core.listener.WritabilityListener}.</p>
+ */
+public final class OutboundPolicy {
+
+    /**
+     * The <tt>OutboundPolicy</tt> without any limits. This is the default.
+     */
+    public static final OutboundPolicy UNBOUNDED = new OutboundPolicy(0, 0, Overflow.FailFast, 0);
+
+    private final int maxMessages;
+    private final int maxBytes;
+    private final Overflow overflow;
+    private final long blockTimeoutMillis;
+
+    /**
+     * Constructs a new immutable instance of this <tt>OutboundPolicy</tt> class. A value of <tt>0</tt>
+     * disables the corresponding limit.
+     *
+     * @param maxMessages        the maximum number of pending messages
+     * @param maxBytes           the maximum number of pending bytes
+     * @param overflow           the strategy to apply when the budget is exceeded
+     * @param blockTimeoutMillis the maximum time in milliseconds to block, only used by
+     *                           {@link Overflow#BlockWithTimeout}
+     * @throws com.noctarius.tengi.core.impl.Validate.ValidationException when any value is negative or
+     *                                                                    overflow is null
+     */
+    public OutboundPolicy(int maxMessages, int maxBytes, Overflow overflow, long blockTimeoutMillis) {
+        Validate.greaterOrEqual("maxMessages", 0, maxMessages);
+        Validate.greaterOrEqual("maxBytes", 0, maxBytes);
+        Validate.notNull("overflow", overflow);
+        Validate.validate(() -> "blockTimeoutMillis must be greater or equal to 0", () -> blockTimeoutMillis >= 0);
+
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.overflow = overflow;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+    }
+
+    /**
+     * Returns the maximum number of pending messages or <tt>0</tt> if disabled.
+     *
+     * @return the maximum number of pending messages
+     */
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    /**
+     * Returns the maximum number of pending bytes or <tt>0</tt> if disabled.
+     *
+     * @return the maximum number of pending bytes
+     */
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Returns the strategy to apply when a write exceeds the budget.
+     *
+     * @return the <tt>Overflow</tt> strategy
+     */
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Returns the maximum time in milliseconds a write blocks when using {@link Overflow#BlockWithTimeout}.
+     *
+     * @return the maximum time to block in milliseconds
+     */
+    public long getBlockTimeoutMillis() {
+        return blockTimeoutMillis;
+    }
+
+    /**
+     * Returns true if this policy defines any limit.
+     *
+     * @return true if any limit is defined, otherwise false
+     */
+    public boolean isBounded() {
+        return maxMessages > 0 || maxBytes > 0;
+    }
+
+    /**
+     * The <tt>Overflow</tt> enum defines the possible strategies when a write exceeds the
+     * outbound budget of a connection.
+     */
+    public enum Overflow {
+
+        /**
+         * The write is rejected immediately with an
+         * {@link com.noctarius.tengi.core.exception.OutboundOverflowException}.
+         */
+        FailFast,
+
+        /**
+         * The writing thread blocks until enough pending data was delivered or the configured timeout
+         * passed, in which case an {@link com.noctarius.tengi.core.exception.OutboundOverflowException}
+         * is thrown. Writes from inside an event loop thread (e.g. a
+         * {@link com.noctarius.tengi.core.listener.MessageListener}) must not use this strategy since
+         * blocking the event loop prevents pending data from being delivered.
+         */
+        BlockWithTimeout,
+
+        /**
+         * The oldest pending, not yet delivered messages are dropped to make room for the new one and
+         * their futures fail with an {@link com.noctarius.tengi.core.exception.OutboundOverflowException}.
+         * This is only supported by transports queueing messages themselves (e.g. HTTP long-polling),
+         * streaming transports cannot take back data handed to the socket and fail fast instead.
+         */
+        DropOldest
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.core.config;
+
+import com.noctarius.tengi.core.impl.Validate;
+
+/**
+ * <p>The <tt>ThreadingPolicy</tt> class defines the number of event loop threads used to
+ * accept (boss threads) and to serve (worker threads) connections of an endpoint. A value of
+ * <tt>0</tt> selects a default based on the number of available CPU cores, which is a single boss
+ * thread and two worker threads per core.</p>
+ * <p>If the worker group is shared, all endpoints using a sharing policy are served by one common
+ * worker group, sized by the default <tt>ThreadingPolicy</tt> of the configuration, instead of
+ * creating a separate group per endpoint. Transports depending on a special selector
+ * implementation (e.g. UDT) always use their own worker group.</p>
+ * <p>All threads are named after their purpose and the port of their endpoint.</p>
+ */
+public final class ThreadingPolicy {
+
+    /**
+     * The <tt>ThreadingPolicy</tt> using CPU based defaults and a separate worker group per
+     * endpoint. This is the default.
+     */
+    public static final ThreadingPolicy DEFAULT = new ThreadingPolicy(0, 0, false);
+
+    private final int bossThreads;
+    private final int workerThreads;
+    private final boolean sharedWorkerGroup;
+
+    /**
+     * Constructs a new immutable instance of this <tt>ThreadingPolicy</tt> class. A value of <tt>0</tt>
+     * selects the CPU based default.
+     *
+     * @param bossThreads       the number of threads accepting new connections
+     * @param workerThreads     the number of threads serving connections
+     * @param sharedWorkerGroup true to share a single worker group between endpoints
+     * @throws com.noctarius.tengi.core.impl.Validate.ValidationException when any value is negative
+     */
+    public ThreadingPolicy(int bossThreads, int workerThreads, boolean sharedWorkerGroup) {
+        Validate.greaterOrEqual("bossThreads", 0, bossThreads);
+        Validate.greaterOrEqual("workerThreads", 0, workerThreads);
+
+        this.bossThreads = bossThreads;
+        this.workerThreads = workerThreads;
+        this.sharedWorkerGroup = sharedWorkerGroup;
+    }
+
+    /**
+     * Returns the number of threads accepting new connections, resolving the CPU based default.
+     *
+     * @return the number of boss threads
+     */
+    public int getBossThreads() {
+        return bossThreads > 0 ? bossThreads : 1;
+    }
+
+    /**
+     * Returns the number of threads serving connections, resolving the CPU based default.
+     *
+     * @return the number of worker threads
+     */
+    public int getWorkerThreads() {
+        return workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    /**
+     * Returns true if endpoints share a single worker group.
+     *
+     * @return true if the worker group is shared, otherwise false
+     */
+    public boolean isSharedWorkerGroup() {
+        return sharedWorkerGroup;
+    }
+
+}
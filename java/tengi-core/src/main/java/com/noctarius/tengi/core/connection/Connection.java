@@ -22,6 +22,7 @@ import com.noctarius.tengi.core.listener.MessageListener;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -108,6 +109,30 @@ public interface Connection
     <O> CompletableFuture<Message> writeObject(O object)
             throws Exception;
 
+    /**
+     * Writes a batch of common objects to this connection. Every object is handled the same way as
+     * if it was written using {@link #writeObject(Object)}, however all objects are encoded up front
+     * and handed to the underlying transport at once, so that streaming transports only need to flush
+     * the socket a single time for the whole batch. The order of the given collection is retained.
+     *
+     * @param objects objects to write
+     * @return a <tt>CompletionFuture</tt> representing the running serialization and sending process of
+     * the whole batch, completing with the written messages in batch order
+     * @throws java.lang.Exception whenever an unexpected situation occurs while writing or sending the objects
+     */
+    CompletableFuture<Collection<Message>> writeObjects(Collection<?> objects)
+            throws Exception;
+
+    /**
+     * Returns true if the outbound budget of this connection, as defined by the configured
+     * {@link com.noctarius.tengi.core.config.OutboundPolicy}, is not exhausted. Producers are
+     * encouraged to pause writing while a connection is not writable and to resume on a
+     * notification of a registered {@link com.noctarius.tengi.core.listener.WritabilityListener}.
+     *
+     * @return true if the connection is writable, otherwise false
+     */
+    boolean isWritable();
+
     /**
      * Disconnects the connection and releases any internally acquired resources that are assigned
      * to this connection.
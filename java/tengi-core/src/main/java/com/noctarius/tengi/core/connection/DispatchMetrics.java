@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.core.connection;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>The <tt>DispatchMetrics</tt> class is an immutable snapshot of the message dispatching
+ * state as configured by the {@link com.noctarius.tengi.core.config.DispatchPolicy}. It contains
+ * one {@link LaneMetrics} instance per serial lane, messages dispatched directly on the event loop
+ * are not recorded and result in an empty snapshot.</p>
+ * <p>Lane latency describes the time a message waited inside its lane before it was handed to
+ * the {@link com.noctarius.tengi.core.listener.MessageListener}s.</p>
+ */
+public final class DispatchMetrics {
+
+    private final List<LaneMetrics> lanes;
+
+    /**
+     * Constructs a new <tt>DispatchMetrics</tt> snapshot using the given lanes.
+     *
+     * @param lanes the <tt>LaneMetrics</tt> of all lanes
+     */
+    public DispatchMetrics(List<LaneMetrics> lanes) {
+        this.lanes = Collections.unmodifiableList(lanes);
+    }
+
+    /**
+     * Returns an unmodifiable list of the metrics of all lanes, ordered by the lane index.
+     *
+     * @return the <tt>LaneMetrics</tt> of all lanes
+     */
+    public List<LaneMetrics> getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Returns the number of messages currently waiting in any lane.
+     *
+     * @return the number of queued messages
+     */
+    public int getQueueDepth() {
+        return lanes.stream().mapToInt(LaneMetrics::getQueueDepth).sum();
+    }
+
+    /**
+     * Returns the number of messages dispatched by all lanes.
+     *
+     * @return the number of dispatched messages
+     */
+    public long getDispatchedMessages() {
+        return lanes.stream().mapToLong(LaneMetrics::getDispatchedMessages).sum();
+    }
+
+    /**
+     * Returns the highest latency in nanoseconds measured by any lane.
+     *
+     * @return the maximum lane latency in nanoseconds
+     */
+    public long getMaxLatencyNanos() {
+        return lanes.stream().mapToLong(LaneMetrics::getMaxLatencyNanos).max().orElse(0);
+    }
+
+    /**
+     * The <tt>LaneMetrics</tt> class describes the state of a single serial lane.
+     */
+    public static final class LaneMetrics {
+
+        private final int queueDepth;
+        private final int maxQueueDepth;
+        private final long dispatchedMessages;
+        private final long totalLatencyNanos;
+        private final long maxLatencyNanos;
+
+        /**
+         * Constructs a new <tt>LaneMetrics</tt> snapshot using the given parameters.
+         *
+         * @param queueDepth         the number of currently queued messages
+         * @param maxQueueDepth      the highest number of queued messages ever seen
+         * @param dispatchedMessages the number of dispatched messages
+         * @param totalLatencyNanos  the summed up latency of all dispatched messages in nanoseconds
+         * @param maxLatencyNanos    the highest latency of a single message in nanoseconds
+         */
+        public LaneMetrics(int queueDepth, int maxQueueDepth, long dispatchedMessages, //
+                           long totalLatencyNanos, long maxLatencyNanos) {
+
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.dispatchedMessages = dispatchedMessages;
+            this.totalLatencyNanos = totalLatencyNanos;
+            this.maxLatencyNanos = maxLatencyNanos;
+        }
+
+        /**
+         * Returns the number of messages currently waiting in this lane.
+         *
+         * @return the number of queued messages
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        /**
+         * Returns the highest number of messages that were waiting in this lane at the same time.
+         *
+         * @return the maximum number of queued messages
+         */
+        public int getMaxQueueDepth() {
+            return maxQueueDepth;
+        }
+
+        /**
+         * Returns the number of messages dispatched by this lane.
+         *
+         * @return the number of dispatched messages
+         */
+        public long getDispatchedMessages() {
+            return dispatchedMessages;
+        }
+
+        /**
+         * Returns the average latency in nanoseconds of all messages dispatched by this lane.
+         *
+         * @return the average lane latency in nanoseconds
+         */
+        public long getAverageLatencyNanos() {
+            return dispatchedMessages == 0 ? 0 : totalLatencyNanos / dispatchedMessages;
+        }
+
+        /**
+         * Returns the highest latency in nanoseconds of a single message dispatched by this lane.
+         *
+         * @return the maximum lane latency in nanoseconds
+         */
+        public long getMaxLatencyNanos() {
+            return maxLatencyNanos;
+        }
+    }
+
+}
@@ -30,7 +30,8 @@ public final class UnsafeUtil {
     public static final long OBJECT_ARRAY_BASE;
     public static final long OBJECT_ARRAY_SHIFT;
 
-    public static final long IDENTIFIER_DATA_OFFSET;
+    public static final long IDENTIFIER_MOST_SIGNIFICANT_BITS_OFFSET;
+    public static final long IDENTIFIER_LEAST_SIGNIFICANT_BITS_OFFSET;
 
     static {
         Unsafe unsafe;
@@ -45,9 +46,10 @@ public final class UnsafeUtil {
         }
 
         try {
-            Field identifierData = Identifier.class.getDeclaredField("data");
-            identifierData.setAccessible(true);
-            IDENTIFIER_DATA_OFFSET = unsafe.objectFieldOffset(identifierData);
+            Field mostSignificantBits = Identifier.class.getDeclaredField("mostSignificantBits");
+            IDENTIFIER_MOST_SIGNIFICANT_BITS_OFFSET = unsafe.objectFieldOffset(mostSignificantBits);
+            Field leastSignificantBits = Identifier.class.getDeclaredField("leastSignificantBits");
+            IDENTIFIER_LEAST_SIGNIFICANT_BITS_OFFSET = unsafe.objectFieldOffset(leastSignificantBits);
 
             OBJECT_ARRAY_BASE = unsafe.arrayBaseOffset(Object[].class);
             int indexScale = unsafe.arrayIndexScale(Object[].class);
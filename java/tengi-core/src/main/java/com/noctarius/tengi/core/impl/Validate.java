@@ -59,6 +59,10 @@ public final class Validate {
         validate(message(MESSAGE_PARAM_NOT_GREATER_EQUAL, paramName, minimum), () -> minimum <= value);
     }
 
+    public static void greaterOrEqual(String paramName, long minimum, long value) {
+        validate(message(MESSAGE_PARAM_NOT_GREATER_EQUAL, paramName, minimum), () -> minimum <= value);
+    }
+
     public static void lowerOrEqual(String paramName, int maximum, int value) {
         validate(message(MESSAGE_PARAM_NOT_LOWER_EQUAL, paramName, maximum), () -> maximum >= value);
     }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.core.listener;
+
+import com.noctarius.tengi.core.connection.Connection;
+
+/**
+ * The <tt>WritabilityListener</tt> defines handlers that are notified whenever
+ * a connection's outbound budget is exhausted or freed again, so that producers
+ * can pause and resume writing.
+ */
+public interface WritabilityListener extends Listener {
+
+    /**
+     * <p>This method is called whenever the writability of a connection changes, as
+     * defined by the configured {@link com.noctarius.tengi.core.config.OutboundPolicy}.</p>
+     * <p>Event handlers are called in the thread that caused the change which might be
+     * an internal event loop thread and must not block. If long operations need to be
+     * executed, offloading to another thread-pool is strongly recommended.</p>
+     *
+     * @param connection the <tt>Connection</tt> whose writability changed
+     * @param writable   true if the connection became writable, false if the outbound budget is exhausted
+     */
+    void onWritabilityChanged(Connection connection, boolean writable);
+
+}
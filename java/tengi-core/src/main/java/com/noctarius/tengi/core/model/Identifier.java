@@ -18,9 +18,7 @@ package com.noctarius.tengi.core.model;
 
 import com.noctarius.tengi.core.impl.Validate;
 
-import java.util.Arrays;
-import java.util.Random;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>The <tt>Identifier</tt> is a 128bit unique identifier
@@ -32,25 +30,19 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public final class Identifier {
 
-    private static final ThreadLocal<Random> RANDOMIZERS = new ThreadLocal<Random>() {
-        @Override
-        protected Random initialValue() {
-            // Using the same way as the OpenJDK version just to
-            // make sure this happens on every JDK implementation
-            // since there are some out there that just use System.currentTimeMillis()
-            return new Random(seedUniquifier() ^ System.nanoTime());
-        }
-    };
-
-    private static final AtomicLong SEED_UNIQUIFIER = new AtomicLong(8682522807148012L);
-    private static final long MOTHER_OF_MAGIC_NUMBERS = 181783497276652981L;
-
     private static final char[] CHARS = {48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 65, 66, 67, 68, 69, 70};
 
-    private final byte[] data;
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
 
-    private Identifier(byte[] data) {
-        this.data = data;
+    // Identifiers are used as map keys on every received packet
+    private final int hashCode;
+
+    private Identifier(long mostSignificantBits, long leastSignificantBits) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+        long bits = mostSignificantBits ^ leastSignificantBits;
+        this.hashCode = (int) (bits >> 32) ^ (int) bits;
     }
 
     /**
@@ -58,10 +50,7 @@ public final class Identifier {
      */
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + Arrays.hashCode(data);
-        return result;
+        return hashCode;
     }
 
     /**
@@ -79,10 +68,8 @@ public final class Identifier {
             return false;
         }
         Identifier other = (Identifier) obj;
-        if (!Arrays.equals(data, other.data)) {
-            return false;
-        }
-        return true;
+        return mostSignificantBits == other.mostSignificantBits //
+                && leastSignificantBits == other.leastSignificantBits;
     }
 
     /**
@@ -96,8 +83,10 @@ public final class Identifier {
             if (i == 4 || i == 6 || i == 8 || i == 10) {
                 chars[index++] = '-';
             }
-            chars[index++] = CHARS[(data[i] & 0xF0) >>> 4];
-            chars[index++] = CHARS[(data[i] & 0x0F)];
+            long bits = i < 8 ? mostSignificantBits : leastSignificantBits;
+            int value = (int) (bits >>> ((7 - (i & 7)) << 3)) & 0xFF;
+            chars[index++] = CHARS[value >>> 4];
+            chars[index++] = CHARS[value & 0x0F];
         }
         return new String(chars);
     }
@@ -110,15 +99,21 @@ public final class Identifier {
      * @return a new Identifier instance with random bytes
      */
     public static Identifier randomIdentifier() {
-        return new Identifier(randomBytes());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificantBits = random.nextLong();
+        long leastSignificantBits = random.nextLong();
+        /* clear version and set to version 4   */
+        mostSignificantBits = (mostSignificantBits & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        /* clear variant and set to IETF variant */
+        leastSignificantBits = (leastSignificantBits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new Identifier(mostSignificantBits, leastSignificantBits);
     }
 
     /**
      * <p>Creates an Identifier instance using the given byte-array. The array must consist of
-     * exactly 16 bytes building the 128 bit UUID content.</p>
-     * <p>For speed reasons the byte-array is not copied, therefore the byte-array must not be
-     * changed after passing it into the method, otherwise it will break the immutability contract
-     * of the Identifier. This method is meant to be used for deserialization of an Identifier in
+     * exactly 16 bytes building the 128 bit UUID content in big-endian byte order.</p>
+     * <p>The content is copied, therefore the byte-array can be reused after passing it into
+     * the method. This method is meant to be used for deserialization of an Identifier in
      * custom protocols.</p>
      *
      * @param data 16 bytes UUID content
@@ -127,32 +122,25 @@ public final class Identifier {
     public static Identifier fromBytes(byte[] data) {
         Validate.notNull("data", data);
         Validate.equals("data.length", 16, data.length);
-        return new Identifier(data);
-    }
-
-    private static long seedUniquifier() {
-        // L'Ecuyer, "Tables of Linear Congruential Generators of
-        // Different Sizes and Good Lattice Structure", 1999
-        for (; ; ) {
-            long current = SEED_UNIQUIFIER.get();
-            long next = current * MOTHER_OF_MAGIC_NUMBERS;
-            if (SEED_UNIQUIFIER.compareAndSet(current, next)) {
-                return next;
-            }
+        long mostSignificantBits = 0;
+        long leastSignificantBits = 0;
+        for (int i = 0; i < 8; i++) {
+            mostSignificantBits = (mostSignificantBits << 8) | (data[i] & 0xFF);
+            leastSignificantBits = (leastSignificantBits << 8) | (data[i + 8] & 0xFF);
         }
+        return new Identifier(mostSignificantBits, leastSignificantBits);
     }
 
-    private static byte[] randomBytes() {
-        byte[] data = new byte[16];
-        RANDOMIZERS.get().nextBytes(data);
-        /* clear version        */
-        data[6] &= 0x0f;
-        /* set to version 4     */
-        data[6] |= 0x40;
-        /* clear variant        */
-        data[8] &= 0x3f;
-        /* set to IETF variant  */
-        data[8] |= 0x80;
-        return data;
+    /**
+     * <p>Creates an Identifier instance using the given most and least significant 64 bits of
+     * the 128 bit UUID content. This is the cheapest way to deserialize an Identifier in custom
+     * protocols since no intermediate byte-array is necessary.</p>
+     *
+     * @param mostSignificantBits  the most significant 64 bits of the UUID content
+     * @param leastSignificantBits the least significant 64 bits of the UUID content
+     * @return an Identifier instance based on the given bits
+     */
+    public static Identifier fromBits(long mostSignificantBits, long leastSignificantBits) {
+        return new Identifier(mostSignificantBits, leastSignificantBits);
     }
 }
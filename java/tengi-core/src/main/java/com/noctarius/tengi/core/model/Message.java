@@ -19,32 +19,52 @@ package com.noctarius.tengi.core.model;
 import com.noctarius.tengi.core.impl.Validate;
 
 /**
- * The <tt>Message</tt> interface defines a message which consists of an
- * unique identifier and a message body which is any kind of object that
+ * <p>The <tt>Message</tt> interface defines a message which consists of an
+ * optional message id and a message body which is any kind of object that
  * have a registered {@link com.noctarius.tengi.core.serialization.marshaller.Marshaller}
- * or is an internally handled type.
+ * or is an internally handled type.</p>
+ * <p>The message id is either an unique {@link com.noctarius.tengi.core.model.Identifier},
+ * a per-connection sequence number or is not available at all, depending on the
+ * {@link com.noctarius.tengi.core.config.MessageIdPolicy} of the sending side.</p>
  */
 public final class Message {
 
+    /**
+     * The sequence id of messages that are not identified by a sequence number.
+     */
+    public static final long NO_SEQUENCE_ID = -1;
+
     private final Identifier messageId;
+    private final long sequenceId;
     private final Object body;
 
-    private Message(Identifier messageId, Object body) {
-        Validate.notNull("messageId", messageId);
+    private Message(Identifier messageId, long sequenceId, Object body) {
         Validate.notNull("body", body);
         this.messageId = messageId;
+        this.sequenceId = sequenceId;
         this.body = body;
     }
 
     /**
-     * Returns the unique message Id.
+     * Returns the unique message Id or <tt>null</tt> if the message is identified by
+     * a sequence number or has no message id at all.
      *
-     * @return the message id
+     * @return the message id or null if not available
      */
     public Identifier getMessageId() {
         return messageId;
     }
 
+    /**
+     * Returns the per-connection sequence number of the message or {@link #NO_SEQUENCE_ID}
+     * if the message is identified by an unique message id or has no message id at all.
+     *
+     * @return the sequence id or NO_SEQUENCE_ID if not available
+     */
+    public long getSequenceId() {
+        return sequenceId;
+    }
+
     /**
      * Returns the messages body object. This object is the real value of
      * the message and can be of any kind of object that
@@ -72,7 +92,10 @@ public final class Message {
         if (!body.equals(message.body)) {
             return false;
         }
-        if (!messageId.equals(message.messageId)) {
+        if (messageId != null ? !messageId.equals(message.messageId) : message.messageId != null) {
+            return false;
+        }
+        if (sequenceId != message.sequenceId) {
             return false;
         }
 
@@ -81,14 +104,15 @@ public final class Message {
 
     @Override
     public int hashCode() {
-        int result = messageId.hashCode();
+        int result = messageId != null ? messageId.hashCode() : 0;
+        result = 31 * result + (int) (sequenceId ^ (sequenceId >>> 32));
         result = 31 * result + body.hashCode();
         return result;
     }
 
     @Override
     public String toString() {
-        return "Message{" + "messageId=" + messageId + ", body=" + body + '}';
+        return "Message{" + "messageId=" + messageId + ", sequenceId=" + sequenceId + ", body=" + body + '}';
     }
 
     /**
@@ -100,7 +124,7 @@ public final class Message {
      */
     public static Message create(Object body) {
         Identifier messageId = Identifier.randomIdentifier();
-        return new Message(messageId, body);
+        return new Message(messageId, NO_SEQUENCE_ID, body);
     }
 
     /**
@@ -111,7 +135,31 @@ public final class Message {
      * @return a <tt>Message</tt> instances with given message id and body content
      */
     public static Message create(Identifier messageId, Object body) {
-        return new Message(messageId, body);
+        Validate.notNull("messageId", messageId);
+        return new Message(messageId, NO_SEQUENCE_ID, body);
+    }
+
+    /**
+     * Creates a new <tt>Message</tt> instance with the given body content and sequence id.
+     *
+     * @param sequenceId the per-connection sequence number of the message, must not be negative
+     * @param body       the message body content
+     * @return a <tt>Message</tt> instances with given sequence id and body content
+     */
+    public static Message create(long sequenceId, Object body) {
+        Validate.greaterOrEqual("sequenceId", 0L, sequenceId);
+        return new Message(null, sequenceId, body);
+    }
+
+    /**
+     * Creates a new <tt>Message</tt> instance with the given body content but without
+     * any kind of message id.
+     *
+     * @param body the message body content
+     * @return a <tt>Message</tt> instances without message id and the given body content
+     */
+    public static Message createWithoutId(Object body) {
+        return new Message(null, NO_SEQUENCE_ID, body);
     }
 
 }
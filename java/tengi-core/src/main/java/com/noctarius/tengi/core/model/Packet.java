@@ -162,7 +162,7 @@ public class Packet
 
         encoder.writeInt32("size", values.size());
         for (Map.Entry<String, Object> entry : values.entrySet()) {
-            encoder.writeString("key", entry.getKey());
+            encoder.writeInternedString("key", entry.getKey());
             encoder.writeObject("value", entry.getValue());
         }
         marshall0(encoder, protocol);
@@ -174,7 +174,7 @@ public class Packet
 
         int size = decoder.readInt32();
         for (int i = 0; i < size; i++) {
-            String key = decoder.readString();
+            String key = decoder.readInternedString();
             Object value = decoder.readObject();
             values.put(key, value);
         }
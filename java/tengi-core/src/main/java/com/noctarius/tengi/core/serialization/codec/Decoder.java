@@ -196,6 +196,20 @@ public interface Decoder {
      */
     String readString();
 
+    /**
+     * <p>Reads the content of a string, written using
+     * {@link com.noctarius.tengi.core.serialization.codec.Encoder#writeInternedString(String)}, from the
+     * underlying byte-stream buffer. If the string was written as a reference to a former occurrence, it
+     * is resolved using the string dictionary of the connection.</p>
+     * <p>If the underlying buffer is to small to read all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     *
+     * @return the string value read from the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to read all elements
+     * @throws java.lang.IllegalStateException     whenever a reference cannot be resolved
+     */
+    String readInternedString();
+
     /**
      * <p>Reads the content of a <b>non-null</b> object from the underlying byte-stream buffer. The content itself
      * will be deserialized using a registered {@link com.noctarius.tengi.core.serialization.marshaller.Marshaller}
@@ -504,6 +518,27 @@ public interface Decoder {
         return readString();
     }
 
+    /**
+     * <p>Reads the content of a string, written using
+     * {@link com.noctarius.tengi.core.serialization.codec.Encoder#writeInternedString(String, String)}, from
+     * the underlying byte-stream buffer. If the string was written as a reference to a former occurrence, it
+     * is resolved using the string dictionary of the connection.</p>
+     * <p>If the underlying buffer is to small to read all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     * <p><b>The given <tt>fieldName</tt> is strictly used for debugging purpose.</b> The implementation
+     * of the {@link com.noctarius.tengi.core.serialization.debugger.SerializationDebugger} might have
+     * decided to write the value to the stream but this is not required.</p>
+     *
+     * @param fieldName the name of the field to be read, strictly for debugging purpose only
+     * @return the string value read from the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to read all elements
+     * @throws java.lang.IllegalStateException     whenever a reference cannot be resolved
+     */
+    default String readInternedString(String fieldName) {
+        // TODO store field name information
+        return readInternedString();
+    }
+
     /**
      * <p>Reads the content of a <b>non-null</b> object from the underlying byte-stream buffer. The content itself
      * will be deserialized using a registered {@link com.noctarius.tengi.core.serialization.marshaller.Marshaller}
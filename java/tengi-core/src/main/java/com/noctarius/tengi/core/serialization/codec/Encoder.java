@@ -198,6 +198,19 @@ public interface Encoder {
      */
     void writeString(String value);
 
+    /**
+     * <p>Transfers the content of a string, which is expected to repeat in many messages like map keys
+     * or names, to the underlying byte-stream buffer. If the encoder is bound to the string dictionary
+     * of a connection, the first occurrence is written in full together with an id and later occurrences
+     * are written as the compressed id only. Otherwise the string is written in full.</p>
+     * <p>If the underlying buffer is to small to store all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     *
+     * @param value the string value to be written to the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to store all elements
+     */
+    void writeInternedString(String value);
+
     /**
      * <p>Transfers a <b>non-null</b> object to the underlying byte-stream buffer. The content itself will
      * be serialized using a registered {@link com.noctarius.tengi.core.serialization.marshaller.Marshaller}
@@ -505,6 +518,26 @@ public interface Encoder {
         writeString(value);
     }
 
+    /**
+     * <p>Transfers the content of a string, which is expected to repeat in many messages like map keys
+     * or names, to the underlying byte-stream buffer. If the encoder is bound to the string dictionary
+     * of a connection, the first occurrence is written in full together with an id and later occurrences
+     * are written as the compressed id only. Otherwise the string is written in full.</p>
+     * <p>If the underlying buffer is to small to store all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     * <p><b>The given <tt>fieldName</tt> is strictly used for debugging purpose.</b> The implementation
+     * of the {@link com.noctarius.tengi.core.serialization.debugger.SerializationDebugger} might decide
+     * to write the value to the stream but is not required to.</p>
+     *
+     * @param value     the string value to be written to the buffer
+     * @param fieldName the name of the field to be written, strictly for debugging purpose only
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to store all elements
+     */
+    default void writeInternedString(String fieldName, String value) {
+        // TODO store field name information
+        writeInternedString(value);
+    }
+
     /**
      * <p>Transfers a <b>non-null</b> object to the underlying byte-stream buffer. The content itself will
      * be serialized using a registered {@link com.noctarius.tengi.core.serialization.marshaller.Marshaller}
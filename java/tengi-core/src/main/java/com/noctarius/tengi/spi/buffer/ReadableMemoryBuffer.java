@@ -124,6 +124,38 @@ public interface ReadableMemoryBuffer {
      */
     void readBuffer(MemoryBuffer memoryBuffer, int offset, int length);
 
+    /**
+     * <p>Reads <tt>length</tt> bytes from the underlying byte-stream buffer and interprets every byte
+     * as a single 7-bit ASCII character. Implementations are expected to decode the characters directly
+     * from the underlying storage whenever possible, without copying them to an intermediate array.</p>
+     * <p>The caller is responsible to guarantee that the content consists of ASCII characters only, no
+     * further validation is executed.</p>
+     * <p>If the underlying buffer is to small to read all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     *
+     * @param length the number of bytes (characters) to read
+     * @return the string value read from the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to read all elements
+     */
+    String readAsciiString(int length);
+
+    /**
+     * <p>Reads <tt>length</tt> bytes from the underlying byte-stream buffer and interprets every byte
+     * as a single 7-bit ASCII character. Buffers without an accessible backing array (e.g. direct
+     * buffers) transfer the bytes into the given scratch array if it is big enough, otherwise a
+     * temporary array is allocated.</p>
+     * <p>The caller is responsible to guarantee that the content consists of ASCII characters only, no
+     * further validation is executed.</p>
+     * <p>If the underlying buffer is to small to read all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     *
+     * @param length  the number of bytes (characters) to read
+     * @param scratch a reusable array to transfer the bytes, might be <tt>null</tt>
+     * @return the string value read from the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to read all elements
+     */
+    String readAsciiString(int length, byte[] scratch);
+
     /**
      * <p>Reads the content of a byte from the underlying byte-stream buffer.</p>
      * <p>If the underlying buffer is to small to read all of the content, an
@@ -134,6 +166,39 @@ public interface ReadableMemoryBuffer {
      */
     byte readByte();
 
+    /**
+     * <p>Reads the content of a 16-bit short in big-endian byte order from the underlying byte-stream
+     * buffer. Implementations are expected to read the value as a whole instead of byte by byte.</p>
+     * <p>If the underlying buffer is to small to read all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     *
+     * @return the short value read from the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to read all elements
+     */
+    short readShort();
+
+    /**
+     * <p>Reads the content of a 32-bit int in big-endian byte order from the underlying byte-stream
+     * buffer. Implementations are expected to read the value as a whole instead of byte by byte.</p>
+     * <p>If the underlying buffer is to small to read all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     *
+     * @return the int value read from the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to read all elements
+     */
+    int readInt();
+
+    /**
+     * <p>Reads the content of a 64-bit long in big-endian byte order from the underlying byte-stream
+     * buffer. Implementations are expected to read the value as a whole instead of byte by byte.</p>
+     * <p>If the underlying buffer is to small to read all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     *
+     * @return the long value read from the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to read all elements
+     */
+    long readLong();
+
     /**
      * Returns the current read index position inside the buffer.
      *
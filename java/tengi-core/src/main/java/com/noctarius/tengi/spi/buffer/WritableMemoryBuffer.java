@@ -133,6 +133,39 @@ public interface WritableMemoryBuffer {
      */
     void writeByte(int value);
 
+    /**
+     * <p>Transfers the content of a 16-bit short in big-endian byte order to the underlying byte-stream
+     * buffer. Implementations are expected to write the value as a whole instead of byte by byte.</p>
+     * <p>If the underlying buffer is to small to store all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     *
+     * @param value the short value to be written to the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to store all elements
+     */
+    void writeShort(int value);
+
+    /**
+     * <p>Transfers the content of a 32-bit int in big-endian byte order to the underlying byte-stream
+     * buffer. Implementations are expected to write the value as a whole instead of byte by byte.</p>
+     * <p>If the underlying buffer is to small to store all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     *
+     * @param value the int value to be written to the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to store all elements
+     */
+    void writeInt(int value);
+
+    /**
+     * <p>Transfers the content of a 64-bit long in big-endian byte order to the underlying byte-stream
+     * buffer. Implementations are expected to write the value as a whole instead of byte by byte.</p>
+     * <p>If the underlying buffer is to small to store all of the content, an
+     * {@link java.lang.IndexOutOfBoundsException} is thrown.</p>
+     *
+     * @param value the long value to be written to the buffer
+     * @throws java.lang.IndexOutOfBoundsException whenever the buffer is too small to store all elements
+     */
+    void writeLong(long value);
+
     /**
      * Returns the current write index position inside the buffer.
      *
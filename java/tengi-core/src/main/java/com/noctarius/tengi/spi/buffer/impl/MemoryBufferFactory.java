@@ -25,4 +25,11 @@ public class MemoryBufferFactory {
         return new NettyMemoryBuffer().setByteBuf(buffer);
     }
 
+    public static ByteBuf unwrap(MemoryBuffer memoryBuffer) {
+        if (!(memoryBuffer instanceof NettyMemoryBuffer)) {
+            throw new IllegalArgumentException("MemoryBuffer is not backed by a ByteBuf");
+        }
+        return ((NettyMemoryBuffer) memoryBuffer).getByteBuf();
+    }
+
 }
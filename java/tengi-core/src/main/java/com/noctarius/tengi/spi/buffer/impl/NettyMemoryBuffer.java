@@ -33,6 +33,10 @@ class NettyMemoryBuffer
         return this;
     }
 
+    ByteBuf getByteBuf() {
+        return buffer;
+    }
+
     @Override
     public void lock() {
         buffer.retain();
@@ -90,6 +94,42 @@ class NettyMemoryBuffer
         return buffer.readByte();
     }
 
+    @Override
+    public short readShort() {
+        return buffer.readShort();
+    }
+
+    @Override
+    public int readInt() {
+        return buffer.readInt();
+    }
+
+    @Override
+    public long readLong() {
+        return buffer.readLong();
+    }
+
+    @Override
+    public String readAsciiString(int length) {
+        return readAsciiString(length, null);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String readAsciiString(int length, byte[] scratch) {
+        if (buffer.hasArray()) {
+            int readerIndex = buffer.readerIndex();
+            buffer.skipBytes(length);
+            // The high-byte constructor copies the bytes straight from the backing array
+            return new String(buffer.array(), 0, buffer.arrayOffset() + readerIndex, length);
+        }
+
+        // Direct buffers have no backing array, a bulk copy into the scratch array avoids the CharsetDecoder
+        byte[] bytes = scratch != null && scratch.length >= length ? scratch : new byte[length];
+        buffer.readBytes(bytes, 0, length);
+        return new String(bytes, 0, 0, length);
+    }
+
     @Override
     public void readBytes(byte[] bytes) {
         buffer.readBytes(bytes, 0, bytes.length);
@@ -165,6 +205,21 @@ class NettyMemoryBuffer
         buffer.writeByte(value);
     }
 
+    @Override
+    public void writeShort(int value) {
+        buffer.writeShort(value);
+    }
+
+    @Override
+    public void writeInt(int value) {
+        buffer.writeInt(value);
+    }
+
+    @Override
+    public void writeLong(long value) {
+        buffer.writeLong(value);
+    }
+
     @Override
     public int writableBytes() {
         return buffer.writableBytes();
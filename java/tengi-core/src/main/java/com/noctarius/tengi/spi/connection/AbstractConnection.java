@@ -16,38 +16,59 @@
  */
 package com.noctarius.tengi.spi.connection;
 
+import com.noctarius.tengi.core.config.MessageIdPolicy;
+import com.noctarius.tengi.core.config.OutboundPolicy;
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.Transport;
+import com.noctarius.tengi.core.exception.OutboundOverflowException;
 import com.noctarius.tengi.core.listener.ClosedListener;
 import com.noctarius.tengi.core.listener.DisconnectedListener;
 import com.noctarius.tengi.core.listener.ExceptionListener;
 import com.noctarius.tengi.core.listener.Listener;
 import com.noctarius.tengi.core.listener.MessageListener;
+import com.noctarius.tengi.core.listener.WritabilityListener;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
+import com.noctarius.tengi.spi.connection.impl.OutboundBudget;
+import com.noctarius.tengi.spi.logging.Logger;
+import com.noctarius.tengi.spi.logging.LoggerManager;
 import com.noctarius.tengi.spi.serialization.Serializer;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
  * The <tt>AbstractConnection</tt> acts as a base class for server- and client-side
  * {@link com.noctarius.tengi.core.connection.Connection} implementations. It handles
- * listener registrations as well as basic notification logic.
+ * listener registrations as well as basic notification logic. Listeners are notified
+ * through the bound {@link com.noctarius.tengi.spi.connection.impl.MessageDispatcher}.
  */
 public abstract class AbstractConnection
         implements Connection {
 
+    private static final Logger LOGGER = LoggerManager.getLogger(AbstractConnection.class);
+
     private final ConnectionContext connectionContext;
     private final Identifier connectionId;
     private final Transport transport;
     private final Serializer serializer;
+    private final OutboundPolicy outboundPolicy;
+    private final OutboundBudget outboundBudget;
+    private final MessageDispatcher messageDispatcher;
+    private final MessageIdPolicy messageIdPolicy;
+    private final AtomicLong sequence = new AtomicLong();
 
     private final Map<Identifier, MessageListener> messageListeners = new ConcurrentHashMap<>();
     private final Map<Identifier, Listener> listeners = new ConcurrentHashMap<>();
@@ -63,10 +84,72 @@ public abstract class AbstractConnection
     protected AbstractConnection(ConnectionContext connectionContext, Identifier connectionId, //
                                  Transport transport, Serializer serializer) {
 
+        this(connectionContext, connectionId, transport, serializer, OutboundPolicy.UNBOUNDED);
+    }
+
+    /**
+     * Constructs a new <tt>AbstractConnection</tt> using the given parameters and limits the
+     * pending outbound data according to the given <tt>OutboundPolicy</tt>.
+     *
+     * @param connectionContext the <tt>ConnectionContext</tt> to bind
+     * @param connectionId      the connection's connectionId
+     * @param transport         the <tt>Transport</tt> that received the connection request
+     * @param serializer        the <tt>Serializer</tt> to bind
+     * @param outboundPolicy    the <tt>OutboundPolicy</tt> to apply to writes
+     */
+    protected AbstractConnection(ConnectionContext connectionContext, Identifier connectionId, //
+                                 Transport transport, Serializer serializer, OutboundPolicy outboundPolicy) {
+
+        this(connectionContext, connectionId, transport, serializer, outboundPolicy, MessageDispatcher.EVENT_LOOP);
+    }
+
+    /**
+     * Constructs a new <tt>AbstractConnection</tt> using the given parameters, limits the pending
+     * outbound data according to the given <tt>OutboundPolicy</tt> and notifies listeners using the
+     * given <tt>MessageDispatcher</tt>.
+     *
+     * @param connectionContext the <tt>ConnectionContext</tt> to bind
+     * @param connectionId      the connection's connectionId
+     * @param transport         the <tt>Transport</tt> that received the connection request
+     * @param serializer        the <tt>Serializer</tt> to bind
+     * @param outboundPolicy    the <tt>OutboundPolicy</tt> to apply to writes
+     * @param messageDispatcher the <tt>MessageDispatcher</tt> to notify listeners
+     */
+    protected AbstractConnection(ConnectionContext connectionContext, Identifier connectionId, //
+                                 Transport transport, Serializer serializer, OutboundPolicy outboundPolicy, //
+                                 MessageDispatcher messageDispatcher) {
+
+        this(connectionContext, connectionId, transport, serializer, outboundPolicy, messageDispatcher, //
+                MessageIdPolicy.Random);
+    }
+
+    /**
+     * Constructs a new <tt>AbstractConnection</tt> using the given parameters, limits the pending
+     * outbound data according to the given <tt>OutboundPolicy</tt>, notifies listeners using the
+     * given <tt>MessageDispatcher</tt> and assigns message ids to written objects according to the
+     * given <tt>MessageIdPolicy</tt>.
+     *
+     * @param connectionContext the <tt>ConnectionContext</tt> to bind
+     * @param connectionId      the connection's connectionId
+     * @param transport         the <tt>Transport</tt> that received the connection request
+     * @param serializer        the <tt>Serializer</tt> to bind
+     * @param outboundPolicy    the <tt>OutboundPolicy</tt> to apply to writes
+     * @param messageDispatcher the <tt>MessageDispatcher</tt> to notify listeners
+     * @param messageIdPolicy   the <tt>MessageIdPolicy</tt> to assign message ids
+     */
+    protected AbstractConnection(ConnectionContext connectionContext, Identifier connectionId, //
+                                 Transport transport, Serializer serializer, OutboundPolicy outboundPolicy, //
+                                 MessageDispatcher messageDispatcher, MessageIdPolicy messageIdPolicy) {
+
         this.connectionContext = connectionContext;
         this.connectionId = connectionId;
         this.transport = transport;
         this.serializer = serializer;
+        this.outboundPolicy = outboundPolicy;
+        this.outboundBudget = outboundPolicy.isBounded() //
+                ? new OutboundBudget(outboundPolicy, this::notifyWritability) : null;
+        this.messageDispatcher = messageDispatcher;
+        this.messageIdPolicy = messageIdPolicy;
     }
 
     @Override
@@ -123,11 +206,72 @@ public abstract class AbstractConnection
         if (object instanceof Message) {
             message = (Message) object;
         } else {
-            message = Message.create(object);
+            message = createMessage(object);
+        }
+
+        StringDictionary.Writer dictionaryWriter = newDictionaryWriter();
+        MemoryBuffer memoryBuffer = connectionContext.createPacket(message, dictionaryWriter);
+        int bytes = memoryBuffer.readableBytes();
+        try {
+            acquireOutboundBudget(1, bytes);
+        } catch (Exception e) {
+            memoryBuffer.release();
+            throw e;
+        }
+
+        try {
+            CompletableFuture<Message> future = connectionContext.writeMemoryBuffer(memoryBuffer, message);
+            return releaseOnCompletion(publishOnCompletion(future, dictionaryWriter), 1, bytes);
+        } catch (Exception e) {
+            releaseOutboundBudget(1, bytes);
+            if (!memoryBuffer.isReleased()) {
+                memoryBuffer.release();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Collection<Message>> writeObjects(Collection<?> objects)
+            throws Exception {
+
+        List<MemoryBuffer> memoryBuffers = new ArrayList<>(objects.size());
+        List<Message> messages = new ArrayList<>(objects.size());
+        // Batches are written in order, later packets might reference definitions of former ones
+        StringDictionary.Writer dictionaryWriter = newDictionaryWriter();
+        int bytes = 0;
+        try {
+            for (Object object : objects) {
+                Message message = object instanceof Message ? (Message) object : createMessage(object);
+                MemoryBuffer memoryBuffer = connectionContext.createPacket(message, dictionaryWriter);
+                memoryBuffers.add(memoryBuffer);
+                messages.add(message);
+                bytes += memoryBuffer.readableBytes();
+            }
+            acquireOutboundBudget(messages.size(), bytes);
+        } catch (Exception e) {
+            memoryBuffers.forEach(MemoryBuffer::release);
+            throw e;
         }
 
-        MemoryBuffer memoryBuffer = serializer.writeObject("message", message);
-        return connectionContext.writeMemoryBuffer(memoryBuffer, message);
+        try {
+            CompletableFuture<Collection<Message>> future = //
+                    connectionContext.writeMemoryBuffers(memoryBuffers, messages);
+            return releaseOnCompletion(publishOnCompletion(future, dictionaryWriter), messages.size(), bytes);
+        } catch (Exception e) {
+            releaseOutboundBudget(messages.size(), bytes);
+            for (MemoryBuffer memoryBuffer : memoryBuffers) {
+                if (!memoryBuffer.isReleased()) {
+                    memoryBuffer.release();
+                }
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isWritable() {
+        return outboundBudget == null || outboundBudget.isWritable();
     }
 
     @Override
@@ -144,12 +288,19 @@ public abstract class AbstractConnection
 
     /**
      * Notifies all registered {@link com.noctarius.tengi.core.listener.Listener}s about an
-     * unexpected exception occurrence.
+     * unexpected exception occurrence. Exceptions thrown by the listeners themselves are logged
+     * but not notified again.
      *
      * @param throwable the <tt>Throwable</tt> instance to delegate to listeners
      */
     public void notifyException(Throwable throwable) {
-        notify(ExceptionListener.class, l -> l.onExceptionally(this, throwable));
+        notify(ExceptionListener.class, l -> {
+            try {
+                l.onExceptionally(this, throwable);
+            } catch (Throwable t) {
+                LOGGER.warning(t, "ExceptionListener failed to handle exception");
+            }
+        });
     }
 
     /**
@@ -168,6 +319,16 @@ public abstract class AbstractConnection
         notify(ClosedListener.class, l -> l.onClose(this));
     }
 
+    /**
+     * Notifies all registered {@link com.noctarius.tengi.core.listener.Listener}s about
+     * a change of the connection's writability.
+     *
+     * @param writable true if the connection became writable, otherwise false
+     */
+    public void notifyWritability(boolean writable) {
+        notify(WritabilityListener.class, l -> l.onWritabilityChanged(this, writable));
+    }
+
     /**
      * Returns all registered {@link com.noctarius.tengi.core.listener.MessageListener}s. The returned
      * collection is not modifiable.
@@ -188,6 +349,16 @@ public abstract class AbstractConnection
         return Collections.unmodifiableCollection(listeners.values());
     }
 
+    /**
+     * Executes the given task using the bound {@link com.noctarius.tengi.spi.connection.impl.MessageDispatcher}
+     * in order with all other listener notifications of this connection.
+     *
+     * @param task the task to be executed
+     */
+    protected void dispatch(Runnable task) {
+        messageDispatcher.dispatch(this, task);
+    }
+
     /**
      * Returns the <tt>ConnectionContext</tt> bound to this connection.
      *
@@ -197,9 +368,79 @@ public abstract class AbstractConnection
         return connectionContext;
     }
 
+    private Message createMessage(Object body) {
+        switch (messageIdPolicy) {
+            case Sequence:
+                return Message.create(sequence.getAndIncrement(), body);
+            case None:
+                return Message.createWithoutId(body);
+            default:
+                return Message.create(body);
+        }
+    }
+
+    private void acquireOutboundBudget(int messages, int bytes)
+            throws Exception {
+
+        if (outboundBudget == null) {
+            return;
+        }
+
+        switch (outboundPolicy.getOverflow()) {
+            case BlockWithTimeout:
+                long timeout = outboundPolicy.getBlockTimeoutMillis();
+                if (outboundBudget.acquire(messages, bytes, timeout, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                break;
+
+            case DropOldest:
+                // Dropped messages (or whole batches) release their budget synchronously when their futures fail
+                do {
+                    if (outboundBudget.tryAcquire(messages, bytes)) {
+                        return;
+                    }
+                } while (connectionContext.dropOldest());
+                break;
+
+            default:
+                if (outboundBudget.tryAcquire(messages, bytes)) {
+                    return;
+                }
+        }
+        throw new OutboundOverflowException("Outbound budget of connection '" + connectionId + "' exceeded");
+    }
+
+    private void releaseOutboundBudget(int messages, int bytes) {
+        if (outboundBudget != null) {
+            outboundBudget.release(messages, bytes);
+        }
+    }
+
+    private StringDictionary.Writer newDictionaryWriter() {
+        StringDictionary stringDictionary = connectionContext.getStringDictionary();
+        return stringDictionary == null ? null : stringDictionary.newWriter();
+    }
+
+    private <T> CompletableFuture<T> publishOnCompletion(CompletableFuture<T> future,
+                                                         StringDictionary.Writer dictionaryWriter) {
+
+        // Definitions are only referenced after the defining packets were handed to the socket
+        return dictionaryWriter == null ? future : dictionaryWriter.publishOnCompletion(future);
+    }
+
+    private <T> CompletableFuture<T> releaseOnCompletion(CompletableFuture<T> future, int messages, int bytes) {
+        if (outboundBudget != null) {
+            future.whenComplete((value, throwable) -> outboundBudget.release(messages, bytes));
+        }
+        return future;
+    }
+
     private <L extends Listener> void notify(Class<L> clazz, Consumer<L> notifier) {
-        Stream<Listener> listeners = getConnectionListeners().stream();
-        listeners.filter(l -> clazz.isInstance(l)).map(l -> clazz.cast(l)).forEach(notifier);
+        dispatch(() -> {
+            Stream<Listener> listeners = getConnectionListeners().stream();
+            listeners.filter(l -> clazz.isInstance(l)).map(l -> clazz.cast(l)).forEach(notifier);
+        });
     }
 
 }
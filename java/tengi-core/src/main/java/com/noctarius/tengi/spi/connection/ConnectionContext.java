@@ -21,13 +21,22 @@ import com.noctarius.tengi.core.connection.Transport;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.packets.PollingRequest;
 import com.noctarius.tengi.spi.serialization.Protocol;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_CONNECTION_ID;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_SESSION;
+
 /**
  * The <tt>ConnectionContext</tt> is an abstract base class for binding protocol processors
  * and {@link com.noctarius.tengi.core.connection.Connection} representations. It is capable
@@ -40,6 +49,7 @@ public abstract class ConnectionContext<S> {
     private final Identifier connectionId;
     private final Transport transport;
     private final Serializer serializer;
+    private final StringDictionary stringDictionary;
 
     /**
      * Constructs a new <tt>ConnectionContext</tt> instance using the given parameters.
@@ -49,9 +59,27 @@ public abstract class ConnectionContext<S> {
      * @param transport    the <tt>Transport</tt> that received the connection request
      */
     protected ConnectionContext(Identifier connectionId, Serializer serializer, Transport transport) {
+        this(connectionId, serializer, transport, null);
+    }
+
+    /**
+     * Constructs a new <tt>ConnectionContext</tt> instance using the given parameters. The given
+     * {@link com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary} is used to replace
+     * repeatedly written strings by compressed ids. It must only be given by session-bound contexts,
+     * since packets need to arrive in the order they were handed to the socket.
+     *
+     * @param connectionId     the connection's connectionId
+     * @param serializer       the <tt>Serializer</tt> to bind
+     * @param transport        the <tt>Transport</tt> that received the connection request
+     * @param stringDictionary the <tt>StringDictionary</tt> of the connection, might be null
+     */
+    protected ConnectionContext(Identifier connectionId, Serializer serializer, Transport transport,
+                                StringDictionary stringDictionary) {
+
         this.connectionId = connectionId;
         this.serializer = serializer;
         this.transport = transport;
+        this.stringDictionary = stringDictionary;
     }
 
     /**
@@ -91,6 +119,16 @@ public abstract class ConnectionContext<S> {
         return serializer;
     }
 
+    /**
+     * Returns the bound <tt>StringDictionary</tt> instance, used to decode received and to encode written
+     * packets, or <tt>null</tt> if the context doesn't use a string dictionary.
+     *
+     * @return the bound <tt>StringDictionary</tt> or null
+     */
+    public StringDictionary getStringDictionary() {
+        return stringDictionary;
+    }
+
     /**
      * This method is called when a non-streaming {@link com.noctarius.tengi.core.connection.Transport}
      * receives a long-polling or polling request for all cached elements since the last retrieval.
@@ -102,9 +140,62 @@ public abstract class ConnectionContext<S> {
     public void processPollingRequest(S socket, Connection connection, PollingRequest request) {
     }
 
+    /**
+     * Encodes the given {@link com.noctarius.tengi.core.model.Message} including all required packet
+     * header information into a single <tt>MemoryBuffer</tt> allocated from this context's
+     * {@link #getAllocator()}. The resulting buffer is ready to be handed to
+     * {@link #writeMemoryBuffer(com.noctarius.tengi.spi.buffer.MemoryBuffer, com.noctarius.tengi.core.model.Message)}
+     * without any further copy operation. If encoding fails the buffer is released before the exception
+     * is rethrown. Session-bound contexts (see {@link #isSessionBound()}) only write a single header byte
+     * instead of the full header including the connectionId.
+     *
+     * @param message the message to encode
+     * @return the <tt>MemoryBuffer</tt> containing the full packet
+     * @throws java.lang.Exception whenever an unexpected situation occurs while encoding the message
+     */
+    public MemoryBuffer createPacket(Message message)
+            throws Exception {
+
+        return createPacket(message, null);
+    }
+
+    /**
+     * Encodes the given {@link com.noctarius.tengi.core.model.Message} like
+     * {@link #createPacket(com.noctarius.tengi.core.model.Message)} but uses the given
+     * {@link com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary.Writer}, created from
+     * this context's {@link #getStringDictionary()}, to replace already known strings by their ids.
+     *
+     * @param message          the message to encode
+     * @param dictionaryWriter the <tt>StringDictionary.Writer</tt> of the current write operation, might be null
+     * @return the <tt>MemoryBuffer</tt> containing the full packet
+     * @throws java.lang.Exception whenever an unexpected situation occurs while encoding the message
+     */
+    public MemoryBuffer createPacket(Message message, StringDictionary.Writer dictionaryWriter)
+            throws Exception {
+
+        ByteBuf buffer = getAllocator().directBuffer();
+        MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer, dictionaryWriter)) {
+            if (isSessionBound()) {
+                encoder.writeByte("header", PACKET_HEADER_SESSION);
+            } else {
+                encoder.writeByte("header", PACKET_HEADER_CONNECTION_ID);
+                encoder.writeObject("connectionId", getConnectionId());
+            }
+            encoder.writeObject("message", message);
+            return memoryBuffer;
+
+        } catch (Exception e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
     /**
      * Writes the given <tt>MemoryBuffer</tt> to the internally bound socket or, in case of non-streaming
-     * transports, caches the buffer for later retrieval. The message passed in is meant for the
+     * transports, caches the buffer for later retrieval. The buffer already contains the full packet, as
+     * created by {@link #createPacket(com.noctarius.tengi.core.model.Message)}, and ownership is passed
+     * to the context which is responsible to release it. The message passed in is meant for the
      * {@link java.util.concurrent.CompletableFuture} to return whenever the operation is done successfully.
      * It is not required to keep the message and a <tt>null</tt> return value must be expected as a legally
      * returned value from the future instance.
@@ -117,6 +208,44 @@ public abstract class ConnectionContext<S> {
     public abstract CompletableFuture<Message> writeMemoryBuffer(MemoryBuffer memoryBuffer, Message message)
             throws Exception;
 
+    /**
+     * Writes the given batch of <tt>MemoryBuffer</tt>s to the internally bound socket or, in case of
+     * non-streaming transports, caches the buffers for later retrieval. Every buffer already contains
+     * a full packet and the buffer at a given index represents the message at the same index. Streaming
+     * implementations are expected to flush the socket only once per batch. The default implementation
+     * delegates every buffer to
+     * {@link #writeMemoryBuffer(com.noctarius.tengi.spi.buffer.MemoryBuffer, com.noctarius.tengi.core.model.Message)}
+     * and combines the resulting futures.
+     *
+     * @param memoryBuffers the buffers to write
+     * @param messages      the messages that are represented inside the buffers
+     * @return a <tt>CompletableFuture</tt> representing the sending process of the whole batch
+     * @throws java.lang.Exception whenever an unexpected situation occurs while sending the objects
+     */
+    public CompletableFuture<Collection<Message>> writeMemoryBuffers(List<MemoryBuffer> memoryBuffers,
+                                                                     List<Message> messages)
+            throws Exception {
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[memoryBuffers.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = writeMemoryBuffer(memoryBuffers.get(i), messages.get(i));
+        }
+        return CompletableFuture.allOf(futures).thenApply((v) -> messages);
+    }
+
+    /**
+     * Drops the oldest pending, not yet delivered message to make room for new writes. The
+     * future of the dropped message must be completed exceptionally and its buffer released.
+     * Messages written as a batch share a single future, therefore the batch is dropped as a whole.
+     * Only non-streaming transports queueing messages themselves are able to drop messages,
+     * therefore the default implementation does nothing and returns <tt>false</tt>.
+     *
+     * @return true if a message was dropped, otherwise false
+     */
+    public boolean dropOldest() {
+        return false;
+    }
+
     /**
      * Writes the given <tt>MemoryBuffer</tt> to the given socket. Even in case of a non-streaming transport
      * this write operation cannot be delayed and must be executed immediately.
@@ -139,7 +268,33 @@ public abstract class ConnectionContext<S> {
     public abstract CompletableFuture<Connection> close(Connection connection);
 
     /**
-     * Writes all required packet header information to the given <tt>MemoryBuffer</tt>.
+     * Returns the <tt>ByteBufAllocator</tt> used to allocate outgoing packet buffers. Implementations
+     * bound to a channel are expected to return the channel's allocator to benefit from its pooled
+     * direct buffers. The default implementation returns {@link io.netty.buffer.ByteBufAllocator#DEFAULT}.
+     *
+     * @return the <tt>ByteBufAllocator</tt> for outgoing packets
+     */
+    protected ByteBufAllocator getAllocator() {
+        return ByteBufAllocator.DEFAULT;
+    }
+
+    /**
+     * Returns if all packets of the bound connection travel over a single socket which already knows
+     * the connection since the handshake. Session-bound contexts omit the connectionId from the
+     * packet header of {@link #createPacket(com.noctarius.tengi.core.model.Message)} and the receiver
+     * resolves the connection from its socket. Non-streaming transports, like HTTP, might use a new
+     * socket per request and must not be session-bound. The default implementation returns <tt>false</tt>.
+     *
+     * @return true if the connectionId is omitted from packet headers, otherwise false
+     */
+    protected boolean isSessionBound() {
+        return false;
+    }
+
+    /**
+     * Writes all required packet header information to the given <tt>MemoryBuffer</tt>. The header
+     * always contains the connectionId, independent of {@link #isSessionBound()}, since it is used to
+     * hand the connectionId to the other side, e.g. with the handshake response.
      *
      * @param memoryBuffer the <tt>MemoryBuffer</tt> to write the header to
      * @return the given <tt>MemoryBuffer</tt> instance for fluent usage
@@ -149,7 +304,7 @@ public abstract class ConnectionContext<S> {
             throws Exception {
 
         try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
-            encoder.writeBoolean("loggedIn", true);
+            encoder.writeByte("header", PACKET_HEADER_CONNECTION_ID);
             encoder.writeObject("connectionId", getConnectionId());
             return memoryBuffer;
         }
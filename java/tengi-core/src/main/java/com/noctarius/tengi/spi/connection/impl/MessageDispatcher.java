@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.connection.impl;
+
+import com.noctarius.tengi.core.config.DispatchPolicy;
+import com.noctarius.tengi.core.connection.DispatchMetrics;
+import com.noctarius.tengi.core.connection.DispatchMetrics.LaneMetrics;
+import com.noctarius.tengi.spi.connection.AbstractConnection;
+import com.noctarius.tengi.spi.logging.Logger;
+import com.noctarius.tengi.spi.logging.LoggerManager;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>The <tt>MessageDispatcher</tt> hands received messages over to the threads defined by a
+ * {@link com.noctarius.tengi.core.config.DispatchPolicy}. Connections are striped over a fixed
+ * number of serial lanes by their connection id. A lane processes its tasks strictly in order
+ * and is never run by more than one thread at a time, while different lanes are processed in
+ * parallel by the worker threads.</p>
+ * <p>Using {@link com.noctarius.tengi.core.config.DispatchPolicy.Mode#EventLoop} tasks are
+ * executed directly by the calling thread. Using
+ * {@link com.noctarius.tengi.core.config.DispatchPolicy.Mode#VirtualThreads} the lanes are run
+ * on virtual threads, which are looked up reflectively to stay compatible with Java 8.</p>
+ */
+public final class MessageDispatcher {
+
+    /**
+     * The <tt>MessageDispatcher</tt> executing all tasks directly by the calling thread.
+     */
+    public static final MessageDispatcher EVENT_LOOP = new MessageDispatcher(DispatchPolicy.EVENT_LOOP, null);
+
+    private static final Logger LOGGER = LoggerManager.getLogger(MessageDispatcher.class);
+
+    // Maximum number of tasks a lane executes before it yields the worker thread to other lanes
+    private static final int MAX_TASKS_PER_RUN = 64;
+
+    private final ExecutorService executor;
+    private final Lane[] lanes;
+
+    /**
+     * Constructs a new <tt>MessageDispatcher</tt> for the given policy.
+     *
+     * @param dispatchPolicy the <tt>DispatchPolicy</tt> defining the threading model
+     * @param threadPrefix   the name prefix of the worker threads
+     */
+    public MessageDispatcher(DispatchPolicy dispatchPolicy, String threadPrefix) {
+        if (dispatchPolicy.getMode() == DispatchPolicy.Mode.EventLoop) {
+            this.executor = null;
+            this.lanes = new Lane[0];
+
+        } else {
+            this.executor = createExecutor(dispatchPolicy, threadPrefix);
+            this.lanes = new Lane[dispatchPolicy.getLanes()];
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new Lane();
+            }
+        }
+    }
+
+    /**
+     * Dispatches the given task on the lane of the given connection. Tasks of the same connection
+     * are executed in the order they were dispatched. If executed on a lane, exceptions thrown by the
+     * task are delegated to the connection's {@link com.noctarius.tengi.core.listener.ExceptionListener}s
+     * and do not affect any other task, otherwise they are thrown to the caller.
+     *
+     * @param connection the <tt>AbstractConnection</tt> to select the lane
+     * @param task       the task to be executed
+     */
+    public void dispatch(AbstractConnection connection, Runnable task) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+
+        int hash = connection.getConnectionId().hashCode();
+        int index = ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % lanes.length;
+        lanes[index].enqueue(connection, task);
+    }
+
+    /**
+     * Returns a snapshot of the current queue depths and latencies of all lanes.
+     *
+     * @return the current <tt>DispatchMetrics</tt>
+     */
+    public DispatchMetrics getMetrics() {
+        List<LaneMetrics> metrics = new ArrayList<>(lanes.length);
+        for (Lane lane : lanes) {
+            metrics.add(lane.snapshot());
+        }
+        return new DispatchMetrics(metrics);
+    }
+
+    /**
+     * Stops the worker threads after all already queued tasks are executed.
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService createExecutor(DispatchPolicy dispatchPolicy, String threadPrefix) {
+        ThreadFactory threadFactory = new DispatcherThreadFactory(threadPrefix);
+        if (dispatchPolicy.getMode() == DispatchPolicy.Mode.WorkerPool) {
+            return Executors.newFixedThreadPool(dispatchPolicy.getWorkerThreads(), threadFactory);
+        }
+
+        ExecutorService executor = createVirtualThreadExecutor(threadPrefix);
+        if (executor == null) {
+            LOGGER.info("Virtual threads are not supported by this Java runtime, using platform threads instead");
+            executor = Executors.newCachedThreadPool(threadFactory);
+        }
+        return executor;
+    }
+
+    private static ExecutorService createVirtualThreadExecutor(String threadPrefix) {
+        try {
+            // Equivalent to Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory())
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadPrefix, 1L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, threadFactory);
+
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not available before Java 21 or still in preview mode
+            return null;
+        }
+    }
+
+    private final class Lane
+            implements Runnable {
+
+        private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicInteger queueDepth = new AtomicInteger();
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+        // Only written by the thread currently running the lane
+        private volatile long dispatchedMessages;
+        private volatile long totalLatencyNanos;
+        private volatile long maxLatencyNanos;
+
+        private void enqueue(AbstractConnection connection, Runnable runnable) {
+            queue.offer(new Task(connection, runnable, System.nanoTime()));
+            int depth = queueDepth.incrementAndGet();
+            maxQueueDepth.accumulateAndGet(depth, Math::max);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < MAX_TASKS_PER_RUN; i++) {
+                    Task task = queue.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    execute(task);
+                }
+            } finally {
+                scheduled.set(false);
+                // Tasks might have been queued after the last poll but before releasing the lane
+                if (!queue.isEmpty() && !executor.isShutdown()) {
+                    schedule();
+                }
+            }
+        }
+
+        private void execute(Task task) {
+            queueDepth.decrementAndGet();
+            long latency = System.nanoTime() - task.enqueued;
+            dispatchedMessages++;
+            totalLatencyNanos += latency;
+            if (latency > maxLatencyNanos) {
+                maxLatencyNanos = latency;
+            }
+
+            try {
+                task.runnable.run();
+            } catch (Throwable throwable) {
+                task.connection.notifyException(throwable);
+            }
+        }
+
+        private LaneMetrics snapshot() {
+            return new LaneMetrics(queueDepth.get(), maxQueueDepth.get(), //
+                    dispatchedMessages, totalLatencyNanos, maxLatencyNanos);
+        }
+    }
+
+    private static final class Task {
+
+        private final AbstractConnection connection;
+        private final Runnable runnable;
+        private final long enqueued;
+
+        private Task(AbstractConnection connection, Runnable runnable, long enqueued) {
+            this.connection = connection;
+            this.runnable = runnable;
+            this.enqueued = enqueued;
+        }
+    }
+
+    private static final class DispatcherThreadFactory
+            implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String threadPrefix;
+
+        private DispatcherThreadFactory(String threadPrefix) {
+            this.threadPrefix = threadPrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, threadPrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
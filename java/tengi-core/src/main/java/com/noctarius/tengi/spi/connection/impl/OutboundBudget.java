@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.connection.impl;
+
+import com.noctarius.tengi.core.config.OutboundPolicy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The <tt>OutboundBudget</tt> tracks the pending outbound messages and bytes of a single
+ * connection against the limits of an {@link com.noctarius.tengi.core.config.OutboundPolicy}.
+ * A budget is acquired before data is handed to the transport and released once the
+ * transport delivered, dropped or failed to deliver it.
+ */
+public final class OutboundBudget {
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private final int maxMessages;
+    private final long maxBytes;
+    private final WritabilityHandler writabilityHandler;
+
+    private int pendingMessages;
+    private long pendingBytes;
+    private boolean writable = true;
+
+    /**
+     * Constructs a new <tt>OutboundBudget</tt> for the given policy.
+     *
+     * @param outboundPolicy     the <tt>OutboundPolicy</tt> defining the limits
+     * @param writabilityHandler the handler to be notified on writability changes
+     */
+    public OutboundBudget(OutboundPolicy outboundPolicy, WritabilityHandler writabilityHandler) {
+        this.maxMessages = outboundPolicy.getMaxMessages();
+        this.maxBytes = outboundPolicy.getMaxBytes();
+        this.writabilityHandler = writabilityHandler;
+    }
+
+    /**
+     * Tries to acquire the budget for the given number of messages and bytes without blocking.
+     *
+     * @param messages the number of messages to acquire
+     * @param bytes    the number of bytes to acquire
+     * @return true if the budget was acquired, otherwise false
+     */
+    public boolean tryAcquire(int messages, int bytes) {
+        boolean changed;
+        lock.lock();
+        try {
+            if (!fits(messages, bytes)) {
+                return false;
+            }
+            changed = acquire0(messages, bytes);
+        } finally {
+            lock.unlock();
+        }
+        notifyWritability(changed, false);
+        return true;
+    }
+
+    /**
+     * Acquires the budget for the given number of messages and bytes, waiting up to the given
+     * timeout for other pending data to be released.
+     *
+     * @param messages the number of messages to acquire
+     * @param bytes    the number of bytes to acquire
+     * @param timeout  the maximum time to wait
+     * @param unit     the unit of the timeout
+     * @return true if the budget was acquired, false if the timeout passed
+     * @throws java.lang.InterruptedException if the waiting thread was interrupted
+     */
+    public boolean acquire(int messages, int bytes, long timeout, TimeUnit unit)
+            throws InterruptedException {
+
+        long remaining = unit.toNanos(timeout);
+        boolean changed;
+        lock.lock();
+        try {
+            while (!fits(messages, bytes)) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            changed = acquire0(messages, bytes);
+        } finally {
+            lock.unlock();
+        }
+        notifyWritability(changed, false);
+        return true;
+    }
+
+    /**
+     * Releases the given number of messages and bytes, previously acquired.
+     *
+     * @param messages the number of messages to release
+     * @param bytes    the number of bytes to release
+     */
+    public void release(int messages, int bytes) {
+        boolean changed = false;
+        lock.lock();
+        try {
+            pendingMessages -= messages;
+            pendingBytes -= bytes;
+
+            // Hysteresis, only turn writable again when dropped to half of the budget
+            if (!writable && belowLowWatermark()) {
+                writable = true;
+                changed = true;
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        notifyWritability(changed, true);
+    }
+
+    /**
+     * Returns true if the budget is not exhausted.
+     *
+     * @return true if writable, otherwise false
+     */
+    public boolean isWritable() {
+        lock.lock();
+        try {
+            return writable;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of currently pending messages.
+     *
+     * @return the number of pending messages
+     */
+    public int getPendingMessages() {
+        lock.lock();
+        try {
+            return pendingMessages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of currently pending bytes.
+     *
+     * @return the number of pending bytes
+     */
+    public long getPendingBytes() {
+        lock.lock();
+        try {
+            return pendingBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean fits(int messages, int bytes) {
+        // Always accept a write if nothing is pending, even if it exceeds the budget by itself
+        if (pendingMessages == 0) {
+            return true;
+        }
+        if (maxMessages > 0 && pendingMessages + messages > maxMessages) {
+            return false;
+        }
+        return maxBytes <= 0 || pendingBytes + bytes <= maxBytes;
+    }
+
+    private boolean acquire0(int messages, int bytes) {
+        pendingMessages += messages;
+        pendingBytes += bytes;
+
+        if (writable && exhausted()) {
+            writable = false;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean exhausted() {
+        return (maxMessages > 0 && pendingMessages >= maxMessages) || (maxBytes > 0 && pendingBytes >= maxBytes);
+    }
+
+    private boolean belowLowWatermark() {
+        boolean messagesBelow = maxMessages <= 0 || pendingMessages <= maxMessages / 2;
+        return messagesBelow && (maxBytes <= 0 || pendingBytes <= maxBytes / 2);
+    }
+
+    private void notifyWritability(boolean changed, boolean writable) {
+        if (changed) {
+            writabilityHandler.onWritabilityChanged(writable);
+        }
+    }
+
+    /**
+     * The <tt>WritabilityHandler</tt> is notified whenever the budget is exhausted or freed again.
+     */
+    public interface WritabilityHandler {
+
+        /**
+         * Called whenever the writability of the budget changed.
+         *
+         * @param writable true if the budget turned writable, false if it is exhausted
+         */
+        void onWritabilityChanged(boolean writable);
+    }
+
+}
@@ -34,4 +34,9 @@ public final class TransportConstants {
 
     public static final String WEBSOCKET_RELATIVE_PATH = "/wss";
 
+    // Packet header values, compatible to the former boolean loggedIn flag
+    public static final byte PACKET_HEADER_HANDSHAKE = 0;
+    public static final byte PACKET_HEADER_CONNECTION_ID = 1;
+    public static final byte PACKET_HEADER_SESSION = 2;
+
 }
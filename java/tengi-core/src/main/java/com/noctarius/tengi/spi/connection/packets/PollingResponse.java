@@ -21,6 +21,8 @@ import com.noctarius.tengi.core.serialization.Marshallable;
 import com.noctarius.tengi.core.serialization.TypeId;
 import com.noctarius.tengi.core.serialization.codec.Decoder;
 import com.noctarius.tengi.core.serialization.codec.Encoder;
+import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.WritableMemoryBuffer;
 import com.noctarius.tengi.spi.serialization.Protocol;
 import com.noctarius.tengi.spi.serialization.impl.DefaultProtocolConstants;
 
@@ -36,6 +38,7 @@ public final class PollingResponse
         implements Marshallable {
 
     private Collection<Message> messages;
+    private Collection<? extends MemoryBuffer> encodedMessages;
 
     /**
      * Constructs a basic <tt>PollingResponse</tt> instance on deserialization.
@@ -52,10 +55,35 @@ public final class PollingResponse
         this.messages = messages;
     }
 
+    /**
+     * Creates a <tt>PollingResponse</tt> instance from already encoded messages. The readable bytes
+     * of every buffer must contain exactly one message, as written by
+     * {@link com.noctarius.tengi.core.serialization.codec.Encoder#writeObject(Object)}, and are copied
+     * into the response as-is, without serializing the messages a second time. The buffers are not
+     * released by the response. The wire format is identical to a response created from messages.
+     *
+     * @param encodedMessages the encoded messages to send
+     * @return a <tt>PollingResponse</tt> instance for the given encoded messages
+     */
+    public static PollingResponse fromEncoded(Collection<? extends MemoryBuffer> encodedMessages) {
+        PollingResponse pollingResponse = new PollingResponse();
+        pollingResponse.encodedMessages = encodedMessages;
+        return pollingResponse;
+    }
+
     @Override
     public void marshall(Encoder encoder, Protocol protocol)
             throws Exception {
 
+        if (encodedMessages != null) {
+            encoder.writeInt32("length", encodedMessages.size());
+            WritableMemoryBuffer memoryBuffer = encoder.getWritableMemoryBuffer();
+            for (MemoryBuffer encodedMessage : encodedMessages) {
+                memoryBuffer.writeBuffer(encodedMessage, encodedMessage.readerIndex(), encodedMessage.readableBytes());
+            }
+            return;
+        }
+
         encoder.writeInt32("length", messages.size());
         for (Message message : messages) {
             encoder.writeObject("message", message);
@@ -74,7 +102,8 @@ public final class PollingResponse
     }
 
     /**
-     * Returns the delivered messages for message handling on client-side.
+     * Returns the delivered messages for message handling on client-side. Responses created from
+     * encoded messages return <tt>null</tt> before being serialized.
      *
      * @return a collection of messages from the server
      */
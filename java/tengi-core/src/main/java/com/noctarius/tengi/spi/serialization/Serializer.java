@@ -22,8 +22,10 @@ import com.noctarius.tengi.core.serialization.codec.Encoder;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import com.noctarius.tengi.spi.serialization.impl.DefaultProtocol;
 import com.noctarius.tengi.spi.serialization.impl.DefaultSerializer;
+import io.netty.buffer.ByteBufAllocator;
 
 import java.util.Collection;
 
@@ -88,6 +90,28 @@ public interface Serializer {
     <O> MemoryBuffer writeObject(String fieldName, O object)
             throws Exception;
 
+    /**
+     * <p>Transfers a <b>non-null</b> object to a new {@link com.noctarius.tengi.spi.buffer.MemoryBuffer}
+     * allocated as a direct buffer from the given {@link io.netty.buffer.ByteBufAllocator} and returns
+     * this buffer instance. Using the channel's (pooled) allocator prevents an additional heap allocation
+     * and a copy operation when the buffer is handed to the network stack.</p>
+     * <p>The caller owns the returned buffer and is responsible to release it, either directly or by
+     * passing it to a channel write operation.</p>
+     * <p><b>The given <tt>fieldName</tt> is strictly used for debugging purpose.</b> The implementation
+     * of the {@link com.noctarius.tengi.core.serialization.debugger.SerializationDebugger} might decide
+     * to write the value to the stream but is not required to.</p>
+     *
+     * @param <O>       the type of the object to write
+     * @param fieldName the name of the field to be written, strictly for debugging purpose only
+     * @param object    the object value to be written to the buffer
+     * @param allocator the <tt>ByteBufAllocator</tt> to allocate the buffer from
+     * @return the <tt>MemoryBuffer</tt> instance that contains the objects content
+     * @throws java.lang.NullPointerException whenever the given object is null
+     * @throws java.lang.Exception            whenever any other unexpected situation occurs
+     */
+    <O> MemoryBuffer writeObject(String fieldName, O object, ByteBufAllocator allocator)
+            throws Exception;
+
     /**
      * <p>Transfers a <b>non-null</b> object to the underlying byte-stream buffer. The content itself will
      * be serialized using a registered {@link com.noctarius.tengi.core.serialization.marshaller.Marshaller}
@@ -129,6 +153,29 @@ public interface Serializer {
      */
     AutoClosableDecoder retrieveDecoder(MemoryBuffer memoryBuffer);
 
+    /**
+     * Returns an {@link com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder} instance bound
+     * to the underlying protocol, the given {@link com.noctarius.tengi.spi.buffer.MemoryBuffer} and the
+     * given {@link com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary.Writer} of the current
+     * write operation.
+     *
+     * @param memoryBuffer     the <tt>MemoryBuffer</tt> to bind
+     * @param dictionaryWriter the <tt>StringDictionary.Writer</tt> to bind, might be null
+     * @return the auto-closable <tt>Encoder</tt> instance
+     */
+    AutoClosableEncoder retrieveEncoder(MemoryBuffer memoryBuffer, StringDictionary.Writer dictionaryWriter);
+
+    /**
+     * Returns an {@link com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder} instance bound
+     * to the underlying protocol, the given {@link com.noctarius.tengi.spi.buffer.MemoryBuffer} and the
+     * given {@link com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary} of the connection.
+     *
+     * @param memoryBuffer     the <tt>MemoryBuffer</tt> to bind
+     * @param stringDictionary the <tt>StringDictionary</tt> to bind, might be null
+     * @return the auto-closable <tt>Decoder</tt> instance
+     */
+    AutoClosableDecoder retrieveDecoder(MemoryBuffer memoryBuffer, StringDictionary stringDictionary);
+
     /**
      * Creates a new <tt>Serializer</tt> instance with the default
      * {@link com.noctarius.tengi.spi.serialization.Protocol} implementation and binds the given
@@ -175,10 +175,10 @@ final class BitSetCompressor {
                 return memoryBuffer.readByte();
 
             case Double:
-                return ByteOrderUtils.getShort(memoryBuffer);
+                return memoryBuffer.readShort();
 
             default:
-                return ByteOrderUtils.getInt(memoryBuffer);
+                return memoryBuffer.readInt();
         }
     }
 
@@ -186,14 +186,14 @@ final class BitSetCompressor {
                                        boolean furtherChunks, WritableMemoryBuffer memoryBuffer) {
 
         int chunk = writeChunk(value, BASE_CHUNK_QUAD, start, useSlots, MIN_SLOTS_QUAD, SHIFT_SIZE_QUAD, furtherChunks);
-        ByteOrderUtils.putInt(chunk, memoryBuffer);
+        memoryBuffer.writeInt(chunk);
     }
 
     private static void writeDoubleChunk(boolean[] value, int start, int useSlots, //
                                          boolean furtherChunks, WritableMemoryBuffer memoryBuffer) {
 
         int chunk = writeChunk(value, BASE_CHUNK_DOUBLE, start, useSlots, MIN_SLOTS_DOUBLE, SHIFT_SIZE_DOUBLE, furtherChunks);
-        ByteOrderUtils.putShort((short) chunk, memoryBuffer);
+        memoryBuffer.writeShort(chunk);
     }
 
     private static void writeSingleChunk(boolean[] value, int start, int useSlots, //
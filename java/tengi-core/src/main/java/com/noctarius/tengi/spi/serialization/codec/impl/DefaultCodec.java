@@ -28,17 +28,35 @@ import com.noctarius.tengi.spi.serialization.codec.impl.utf8.UTF8Codec;
 public class DefaultCodec
         implements Codec {
 
+    private static final int STRING_BUFFER_SIZE = 1024;
+
     private final SerializationDebugger debugger = SerializationDebugger.instance();
 
+    // Scratch buffers for string encoding and decoding, pooled together with the codec instance
+    private final byte[] utfBuffer = new byte[STRING_BUFFER_SIZE];
+    private final char[] charBuffer = new char[STRING_BUFFER_SIZE];
+
     private final Protocol protocol;
 
     private MemoryBuffer memoryBuffer;
+    private StringDictionary stringDictionary;
+    private StringDictionary.Writer dictionaryWriter;
 
     public DefaultCodec setMemoryBuffer(MemoryBuffer memoryBuffer) {
         this.memoryBuffer = memoryBuffer;
         return this;
     }
 
+    public DefaultCodec setStringDictionary(StringDictionary stringDictionary) {
+        this.stringDictionary = stringDictionary;
+        return this;
+    }
+
+    public DefaultCodec setDictionaryWriter(StringDictionary.Writer dictionaryWriter) {
+        this.dictionaryWriter = dictionaryWriter;
+        return this;
+    }
+
     public DefaultCodec(Protocol protocol) {
         this(protocol, null);
     }
@@ -80,7 +98,7 @@ public class DefaultCodec
 
     @Override
     public short readShort() {
-        return ByteOrderUtils.getShort(memoryBuffer);
+        return memoryBuffer.readShort();
     }
 
     @Override
@@ -90,7 +108,7 @@ public class DefaultCodec
 
     @Override
     public int readInt32() {
-        return ByteOrderUtils.getInt(memoryBuffer);
+        return memoryBuffer.readInt();
     }
 
     @Override
@@ -100,7 +118,7 @@ public class DefaultCodec
 
     @Override
     public long readInt64() {
-        return ByteOrderUtils.getLong(memoryBuffer);
+        return memoryBuffer.readLong();
     }
 
     @Override
@@ -121,8 +139,7 @@ public class DefaultCodec
     @Override
     public String readString() {
         try {
-            // TODO Pool buffers
-            return UTF8Codec.readUTF(this, new byte[1024]);
+            return UTF8Codec.readUTF(this, utfBuffer, charBuffer);
         } catch (Exception e) {
             RuntimeException ex = new IndexOutOfBoundsException(e.getLocalizedMessage());
             ex.setStackTrace(e.getStackTrace());
@@ -130,6 +147,11 @@ public class DefaultCodec
         }
     }
 
+    @Override
+    public String readInternedString() {
+        return StringDictionary.readString(this, stringDictionary);
+    }
+
     @Override
     public <O> O readObject()
             throws Exception {
@@ -199,7 +221,7 @@ public class DefaultCodec
 
     @Override
     public void writeShort(short value) {
-        ByteOrderUtils.putShort(value, memoryBuffer);
+        memoryBuffer.writeShort(value);
     }
 
     @Override
@@ -209,7 +231,7 @@ public class DefaultCodec
 
     @Override
     public void writeInt32(int value) {
-        ByteOrderUtils.putInt(value, memoryBuffer);
+        memoryBuffer.writeInt(value);
     }
 
     @Override
@@ -219,7 +241,7 @@ public class DefaultCodec
 
     @Override
     public void writeInt64(long value) {
-        ByteOrderUtils.putLong(value, memoryBuffer);
+        memoryBuffer.writeLong(value);
     }
 
     @Override
@@ -240,8 +262,7 @@ public class DefaultCodec
     @Override
     public void writeString(String value) {
         try {
-            // TODO Pool buffers
-            UTF8Codec.writeUTF(this, value, new byte[1024]);
+            UTF8Codec.writeUTF(this, value, utfBuffer);
         } catch (Exception e) {
             RuntimeException ex = new IndexOutOfBoundsException(e.getLocalizedMessage());
             ex.setStackTrace(e.getStackTrace());
@@ -249,6 +270,11 @@ public class DefaultCodec
         }
     }
 
+    @Override
+    public void writeInternedString(String value) {
+        StringDictionary.writeString(value, this, dictionaryWriter);
+    }
+
     @Override
     public void writeObject(Object object)
             throws Exception {
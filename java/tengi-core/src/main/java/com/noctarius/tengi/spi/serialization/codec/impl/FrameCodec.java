@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.codec.impl;
+
+import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+/**
+ * <p>The <tt>FrameCodec</tt> implements the length-prefixed framing used by streaming
+ * transports. Every frame is prefixed by its payload length, encoded using the same format as
+ * {@link com.noctarius.tengi.core.serialization.codec.Encoder#writeCompressedInt32(int)}, and
+ * therefore needs between one and five bytes of overhead.</p>
+ * <p>Neither encoding nor decoding copies the payload; frames are composed out of, or sliced
+ * from, the given buffers.</p>
+ */
+public final class FrameCodec {
+
+    /**
+     * The maximum number of bytes a frame's length prefix can occupy.
+     */
+    public static final int MAX_LENGTH_FIELD_SIZE = 5;
+
+    /**
+     * The default maximum frame length of 16 MiB.
+     */
+    public static final int DEFAULT_MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    private static final int MASK_CONTINUATION = 0x1;
+
+    /**
+     * Prefixes the given payload with its length. The returned buffer takes ownership of
+     * the payload, releasing it releases the payload as well.
+     *
+     * @param payload   the payload to frame
+     * @param allocator the allocator to create the length prefix from
+     * @return a buffer containing the length prefix followed by the payload
+     */
+    public static ByteBuf encodeFrame(ByteBuf payload, ByteBufAllocator allocator) {
+        ByteBuf header = allocator.buffer(MAX_LENGTH_FIELD_SIZE);
+        Int32Compressor.writeInt32(payload.readableBytes(), MemoryBufferFactory.create(header));
+        return Unpooled.wrappedBuffer(header, payload);
+    }
+
+    /**
+     * Tries to read the next frame from the given buffer. If the buffer does not yet contain
+     * a complete frame, <tt>null</tt> is returned and the buffer's reader index is left untouched.
+     * Otherwise the reader index is advanced behind the frame and a retained slice of the payload
+     * is returned, which must be released by the caller.
+     *
+     * @param buffer         the buffer to read the frame from
+     * @param maxFrameLength the maximum accepted payload length
+     * @return a retained slice of the frame's payload or null if the frame is incomplete
+     * @throws java.lang.IllegalStateException if the length prefix is malformed or exceeds maxFrameLength
+     */
+    public static ByteBuf decodeFrame(ByteBuf buffer, int maxFrameLength) {
+        int readerIndex = buffer.readerIndex();
+        int readableBytes = buffer.readableBytes();
+
+        // Make sure the length prefix is complete before decoding it
+        int lengthFieldSize = 0;
+        for (int i = 0; i < MAX_LENGTH_FIELD_SIZE; i++) {
+            if (i >= readableBytes) {
+                return null;
+            }
+            if ((buffer.getByte(readerIndex + i) & MASK_CONTINUATION) == 0) {
+                lengthFieldSize = i + 1;
+                break;
+            }
+        }
+        if (lengthFieldSize == 0) {
+            throw new IllegalStateException("Malformed frame length prefix");
+        }
+
+        MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
+        int frameLength = Int32Compressor.readInt32(memoryBuffer);
+        if (frameLength < 0 || frameLength > maxFrameLength) {
+            throw new IllegalStateException("Illegal frame length " + frameLength + ", maximum is " + maxFrameLength);
+        }
+
+        if (buffer.readableBytes() < frameLength) {
+            buffer.readerIndex(readerIndex);
+            return null;
+        }
+        return buffer.readSlice(frameLength).retain();
+    }
+
+    private FrameCodec() {
+    }
+
+}
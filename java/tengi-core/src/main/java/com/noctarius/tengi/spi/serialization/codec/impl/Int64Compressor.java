@@ -48,24 +48,18 @@ final class Int64Compressor {
             chunks += furtherBits / 7 + (mostSignificantBits != 0 ? 1 : 0);
         }
 
-        byte[] data = new byte[chunks];
-
-        // Store signed and inverted information into the first byte
-        data[0] = (byte) ((signed ? 1 : 0) << 7);
-        data[0] |= (byte) ((inverted ? 1 : 0) << 6);
-
-        for (int i = chunks - 1; i >= 0; i--) {
-            if (i == 0) {
-                data[i] |= (byte) ((bits & MASK_FIVE_BITS) << 1);
-            } else {
-                data[i] = (byte) ((bits & MASK_SEVEN_BITS) << 1);
-            }
-            if (i < chunks - 1) {
-                data[i] |= 0x1;
-            }
-            bits >>= i == 0 ? 5 : 7;
+        // Store signed and inverted information and the most significant bits into the first chunk
+        int shift = (chunks - 1) * 7;
+        int chunk = ((signed ? 1 : 0) << 7) | ((inverted ? 1 : 0) << 6);
+        chunk |= (int) ((bits >> shift) & MASK_FIVE_BITS) << 1;
+
+        // Chunks are written most significant first, so no intermediate buffer is needed
+        for (int i = 1; i < chunks; i++) {
+            memoryBuffer.writeByte(chunk | 0x1);
+            shift -= 7;
+            chunk = (int) ((bits >> shift) & MASK_SEVEN_BITS) << 1;
         }
-        memoryBuffer.writeBytes(data);
+        memoryBuffer.writeByte(chunk);
     }
 
     static long readInt64(ReadableMemoryBuffer memoryBuffer) {
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.codec.impl;
+
+import com.noctarius.tengi.core.serialization.codec.Decoder;
+import com.noctarius.tengi.core.serialization.codec.Encoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>The <tt>StringDictionary</tt> remembers repeatedly written strings, like
+ * {@link com.noctarius.tengi.core.model.Packet} keys or enum constant names, of a single
+ * connection. The first occurrence of a string is written in full together with a newly
+ * assigned id, later occurrences are written as the compressed id only.</p>
+ * <p>Every string is prefixed with a compressed tag, <tt>0</tt> for a string that is not
+ * part of the dictionary, <tt>(id &lt;&lt; 1) + 1</tt> for a definition followed by the
+ * string and <tt>(id &lt;&lt; 1) + 2</tt> for a reference to an already defined string.
+ * Since packets might be encoded in a different order than they are handed to the socket,
+ * a definition is only referenced after the write of the defining packet completed. Until
+ * then concurrent writes repeat the definition.</p>
+ * <p>Received definitions are not limited by the locally configured size, as the sending
+ * side decides about its own dictionary size.</p>
+ */
+public final class StringDictionary {
+
+    public static final int DEFAULT_SIZE = 1024;
+    public static final int MAX_SIZE = 1 << 16;
+
+    private static final int TAG_LITERAL = 0;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final int size;
+
+    // Received strings are only ever accessed by the connection's reading thread
+    private String[] strings = new String[16];
+
+    /**
+     * Constructs a new <tt>StringDictionary</tt> remembering up to the given number of written strings.
+     *
+     * @param size the maximum number of written strings to remember, 0 disables the dictionary for writes
+     */
+    public StringDictionary(int size) {
+        this.size = Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * Creates a new {@link StringDictionary.Writer} to encode a single write operation. If writes
+     * are disabled for this dictionary, <tt>null</tt> is returned.
+     *
+     * @return a new <tt>Writer</tt> or null if the dictionary doesn't remember written strings
+     */
+    public Writer newWriter() {
+        return size == 0 ? null : new Writer();
+    }
+
+    /**
+     * Writes the given string to the encoder, either using the given writer or, if the writer is
+     * <tt>null</tt>, in full.
+     *
+     * @param value   the string to write
+     * @param encoder the <tt>Encoder</tt> to write to
+     * @param writer  the <tt>Writer</tt> of the current write operation or null
+     */
+    public static void writeString(String value, Encoder encoder, Writer writer) {
+        if (writer == null) {
+            encoder.writeCompressedInt32(TAG_LITERAL);
+            encoder.writeString(value);
+        } else {
+            writer.write(value, encoder);
+        }
+    }
+
+    /**
+     * Reads a string from the decoder, resolving references using the given dictionary.
+     *
+     * @param decoder    the <tt>Decoder</tt> to read from
+     * @param dictionary the <tt>StringDictionary</tt> of the connection or null
+     * @return the read string
+     * @throws java.lang.IllegalStateException whenever a reference cannot be resolved
+     */
+    public static String readString(Decoder decoder, StringDictionary dictionary) {
+        int tag = decoder.readCompressedInt32();
+        if (tag == TAG_LITERAL) {
+            return decoder.readString();
+        }
+
+        int id = (tag - 1) >>> 1;
+        if ((tag & 1) == 1) {
+            String value = decoder.readString();
+            if (dictionary != null) {
+                dictionary.define(id, value);
+            }
+            return value;
+        }
+
+        String value = dictionary == null ? null : dictionary.lookup(id);
+        if (value == null) {
+            throw new IllegalStateException("String dictionary id " + id + " is not defined");
+        }
+        return value;
+    }
+
+    private Entry entry(String value) {
+        Entry entry = entries.get(value);
+        if (entry != null || nextId.get() >= size) {
+            return entry;
+        }
+        return entries.computeIfAbsent(value, (key) -> {
+            int id = nextId.getAndIncrement();
+            return id < size ? new Entry(id) : null;
+        });
+    }
+
+    private void define(int id, String value) {
+        if (id >= MAX_SIZE) {
+            throw new IllegalStateException("String dictionary id " + id + " exceeds the maximum size");
+        }
+        if (id >= strings.length) {
+            strings = Arrays.copyOf(strings, Math.min(MAX_SIZE, Math.max(id + 1, strings.length << 1)));
+        }
+        strings[id] = value;
+    }
+
+    private String lookup(int id) {
+        return id < strings.length ? strings[id] : null;
+    }
+
+    /**
+     * The <tt>Writer</tt> collects the definitions of a single write operation, which might contain
+     * multiple packets written in order, and publishes them once the write operation completed
+     * successfully. A <tt>Writer</tt> instance is not thread-safe.
+     */
+    public final class Writer {
+
+        private List<Entry> definitions;
+
+        private Writer() {
+        }
+
+        /**
+         * Publishes all definitions of this write operation as soon as the given future completes
+         * successfully. Afterwards the defined strings are written as references only.
+         *
+         * @param future the future representing the write operation
+         * @param <T>    the type of the future's value
+         * @return the given future for fluent usage
+         */
+        public <T> CompletableFuture<T> publishOnCompletion(CompletableFuture<T> future) {
+            List<Entry> definitions = this.definitions;
+            if (definitions != null) {
+                future.thenRun(() -> definitions.forEach((entry) -> entry.published = true));
+            }
+            return future;
+        }
+
+        private void write(String value, Encoder encoder) {
+            Entry entry = entry(value);
+            if (entry == null) {
+                encoder.writeCompressedInt32(TAG_LITERAL);
+                encoder.writeString(value);
+
+            } else if (entry.published || (definitions != null && definitions.contains(entry))) {
+                // Definitions of this write operation precede the reference in the stream
+                encoder.writeCompressedInt32((entry.id << 1) + 2);
+
+            } else {
+                encoder.writeCompressedInt32((entry.id << 1) + 1);
+                encoder.writeString(value);
+                if (definitions == null) {
+                    definitions = new ArrayList<>();
+                }
+                definitions.add(entry);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final int id;
+        private volatile boolean published;
+
+        private Entry(int id) {
+            this.id = id;
+        }
+    }
+
+}
@@ -60,7 +60,13 @@ public class UTF8Codec {
     public static String readUTF(Decoder decoder, byte[] buffer)
             throws Exception {
 
-        return INSTANCE.readUTF0(decoder, buffer);
+        return INSTANCE.readUTF0(decoder, buffer, null);
+    }
+
+    public static String readUTF(Decoder decoder, byte[] buffer, char[] charBuffer)
+            throws Exception {
+
+        return INSTANCE.readUTF0(decoder, buffer, charBuffer);
     }
 
     void writeUTF0(Encoder encoder, String value, byte[] buffer)
@@ -86,6 +92,12 @@ public class UTF8Codec {
     String readUTF0(Decoder decoder, byte[] buffer)
             throws Exception {
 
+        return readUTF0(decoder, buffer, null);
+    }
+
+    String readUTF0(Decoder decoder, byte[] buffer, char[] charBuffer)
+            throws Exception {
+
         if (!MathUtil.isPowerOfTwo(buffer.length)) {
             throw new IllegalArgumentException("Size of the buffer has to be power of two, was " + buffer.length);
         }
@@ -95,21 +107,38 @@ public class UTF8Codec {
         if (length != lengthCheck) {
             throw new UTFDataFormatException("Length check failed, maybe broken bytestream or wrong stream position");
         }
-        final char[] data = new char[length];
-        if (length > 0) {
-            int chunkSize = length / STRING_CHUNK_SIZE + 1;
-            for (int i = 0; i < chunkSize; i++) {
-                int beginIndex = Math.max(0, i * STRING_CHUNK_SIZE - 1);
-                readShortUTF(decoder, data, beginIndex, buffer);
+        if (length < 0) {
+            throw new NegativeArraySizeException("Illegal string length " + length + ", maybe broken bytestream");
+        }
+        if (length == 0) {
+            return "";
+        }
+
+        int chunkSize = length / STRING_CHUNK_SIZE + 1;
+        int utfLength = decoder.readShort("length") & 0xFFFF;
+
+        // Single chunk with one byte per character, the content is pure ASCII
+        if (chunkSize == 1 && utfLength == length) {
+            return decoder.getReadableMemoryBuffer().readAsciiString(length, buffer);
+        }
+
+        boolean reusable = charBuffer != null && charBuffer.length >= length;
+        final char[] data = reusable ? charBuffer : new char[length];
+        for (int i = 0; i < chunkSize; i++) {
+            if (i > 0) {
+                utfLength = decoder.readShort("length") & 0xFFFF;
             }
+            int beginIndex = Math.max(0, i * STRING_CHUNK_SIZE - 1);
+            readShortUTF(decoder, data, beginIndex, utfLength, buffer);
         }
-        return stringCreator.buildString(data);
+
+        // A reused char buffer must never be shared with the created string
+        return reusable ? new String(data, 0, length) : stringCreator.buildString(data);
     }
 
-    private void readShortUTF(Decoder decoder, char[] data, int beginIndex, byte[] buffer)
+    private void readShortUTF(Decoder decoder, char[] data, int beginIndex, int utfLength, byte[] buffer)
             throws Exception {
 
-        final int utfLength = decoder.readShort("length") & 0xFFFF;
         // buffer[0] is used to hold read data
         // so actual useful length of buffer is as "length - 1"
         final int minUtfLength = Math.min(utfLength, buffer.length - 1);
@@ -36,7 +36,7 @@ class CodecObjectHandler
 
     @Override
     public void passivateObject(DefaultCodec object) {
-        object.setMemoryBuffer(null);
+        object.setMemoryBuffer(null).setStringDictionary(null).setDictionaryWriter(null);
     }
 
 }
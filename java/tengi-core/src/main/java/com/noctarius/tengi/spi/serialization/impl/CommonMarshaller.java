@@ -16,6 +16,7 @@
  */
 package com.noctarius.tengi.spi.serialization.impl;
 
+import com.noctarius.tengi.core.exception.UnknownTypeException;
 import com.noctarius.tengi.core.impl.UnsafeUtil;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
@@ -30,7 +31,8 @@ import sun.misc.Unsafe;
 final class CommonMarshaller {
 
     private static final Unsafe UNSAFE = UnsafeUtil.UNSAFE;
-    private static final long IDENTIFIER_DATA_OFFSET = UnsafeUtil.IDENTIFIER_DATA_OFFSET;
+    private static final long IDENTIFIER_MSB_OFFSET = UnsafeUtil.IDENTIFIER_MOST_SIGNIFICANT_BITS_OFFSET;
+    private static final long IDENTIFIER_LSB_OFFSET = UnsafeUtil.IDENTIFIER_LEAST_SIGNIFICANT_BITS_OFFSET;
 
     private CommonMarshaller() {
     }
@@ -326,13 +328,27 @@ final class CommonMarshaller {
 
         INSTANCE;
 
+        private static final byte MESSAGE_ID_IDENTIFIER = 0;
+        private static final byte MESSAGE_ID_SEQUENCE = 1;
+        private static final byte MESSAGE_ID_NONE = 2;
+
         @Override
         public Message unmarshall(Decoder decoder, Protocol protocol)
                 throws Exception {
 
-            Identifier messageId = decoder.readObject();
-            Object body = decoder.readObject();
-            return Message.create(messageId, body);
+            byte messageIdType = decoder.readByte();
+            switch (messageIdType) {
+                case MESSAGE_ID_IDENTIFIER:
+                    Identifier messageId = IdentifierMarshaller.INSTANCE.unmarshall(decoder, protocol);
+                    return Message.create(messageId, decoder.readObject());
+                case MESSAGE_ID_SEQUENCE:
+                    long sequenceId = decoder.readCompressedInt64();
+                    return Message.create(sequenceId, decoder.readObject());
+                case MESSAGE_ID_NONE:
+                    return Message.createWithoutId(decoder.readObject());
+                default:
+                    throw new UnknownTypeException("Unknown message id type: " + messageIdType);
+            }
         }
 
         @Override
@@ -340,9 +356,19 @@ final class CommonMarshaller {
                 throws Exception {
 
             Identifier messageId = message.getMessageId();
+            long sequenceId = message.getSequenceId();
             Object body = message.getBody();
 
-            encoder.writeObject("messageId", messageId);
+            // The message id is always of a known type, so it is written without a type header
+            if (messageId != null) {
+                encoder.writeByte("messageIdType", MESSAGE_ID_IDENTIFIER);
+                IdentifierMarshaller.INSTANCE.marshall(messageId, encoder, protocol);
+            } else if (sequenceId != Message.NO_SEQUENCE_ID) {
+                encoder.writeByte("messageIdType", MESSAGE_ID_SEQUENCE);
+                encoder.writeCompressedInt64("sequenceId", sequenceId);
+            } else {
+                encoder.writeByte("messageIdType", MESSAGE_ID_NONE);
+            }
             encoder.writeObject("body", body);
         }
 
@@ -367,17 +393,18 @@ final class CommonMarshaller {
         public Identifier unmarshall(Decoder decoder, Protocol protocol)
                 throws Exception {
 
-            byte[] data = new byte[16];
-            decoder.readBytes(data);
-            return Identifier.fromBytes(data);
+            long mostSignificantBits = decoder.readInt64();
+            long leastSignificantBits = decoder.readInt64();
+            return Identifier.fromBits(mostSignificantBits, leastSignificantBits);
         }
 
         @Override
         public void marshall(Identifier identifier, Encoder encoder, Protocol protocol)
                 throws Exception {
 
-            byte[] data = (byte[]) UNSAFE.getObject(identifier, IDENTIFIER_DATA_OFFSET);
-            encoder.writeBytes("identifier", data);
+            // Two int64 values in big-endian order are byte-compatible with the former 16 bytes array
+            encoder.writeInt64("mostSignificantBits", UNSAFE.getLong(identifier, IDENTIFIER_MSB_OFFSET));
+            encoder.writeInt64("leastSignificantBits", UNSAFE.getLong(identifier, IDENTIFIER_LSB_OFFSET));
         }
 
         @Override
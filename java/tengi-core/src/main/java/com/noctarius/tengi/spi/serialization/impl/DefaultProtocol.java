@@ -16,6 +16,7 @@
  */
 package com.noctarius.tengi.spi.serialization.impl;
 
+import com.carrotsearch.hppc.ShortObjectOpenHashMap;
 import com.noctarius.tengi.core.config.MarshallerConfiguration;
 import com.noctarius.tengi.core.exception.NoSuchMarshallerException;
 import com.noctarius.tengi.core.exception.UnknownTypeException;
@@ -40,24 +41,54 @@ import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.io.Reader;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 
 public class DefaultProtocol
         implements Protocol, DebuggableProtocol, DefaultProtocolConstants {
 
-    private final Map<Short, Class<?>> typeById = new ConcurrentHashMap<>();
-    private final Map<Class<?>, Short> reverseTypeId = new ConcurrentHashMap<>();
+    // Both id lookup tables are only populated while constructing the protocol instance and are
+    // read-only afterwards, therefore the non-thread-safe primitive maps are safe to share
+    private final ShortObjectOpenHashMap<Class<?>> typeById = new ShortObjectOpenHashMap<>();
+    private final ShortObjectOpenHashMap<Marshaller> marshallerById = new ShortObjectOpenHashMap<>();
 
-    private final ConcurrentMap<Class<?>, Marshaller> marshallerCache = new ConcurrentHashMap<>();
+    // Registered type ids, used to seed the per-class type id cache
+    private final Map<Class<?>, Short> reverseTypeId = new HashMap<>();
 
-    private final Map<MarshallerFilter, Marshaller> marshallers = new HashMap<>();
-    private final Map<Short, Marshaller> marshallerById = new ConcurrentHashMap<>();
-    private final Map<Marshaller, Short> reverseMarshallerId = new ConcurrentHashMap<>();
+    // Resolves the type id once per class, encoding a type id is neither a map lookup nor boxing afterwards
+    private final ClassValue<TypeIdEntry> typeIdCache = new ClassValue<TypeIdEntry>() {
+        @Override
+        protected TypeIdEntry computeValue(Class<?> type) {
+            Short typeId = reverseTypeId.get(type);
+            return typeId == null ? TypeIdEntry.UNKNOWN : new TypeIdEntry(typeId);
+        }
+    };
+
+    // Marshallers registered for a concrete type, used to seed the resolution cache
+    private final Map<Class<?>, MarshallerEntry> typeMarshallers = new HashMap<>();
+
+    // Filters are evaluated in registration order, internal filters first followed by the
+    // configured ones in the order of their configuration
+    private final List<FilterEntry> filterChain = new ArrayList<>();
+
+    private final ClassValue<MarshallerResolution> resolutionCache = new ClassValue<MarshallerResolution>() {
+        @Override
+        protected MarshallerResolution computeValue(Class<?> type) {
+            return new MarshallerResolution(typeMarshallers.get(type));
+        }
+    };
+
+    private final LongAdder resolutionCacheHits = new LongAdder();
+    private final LongAdder resolutionCacheMisses = new LongAdder();
+
+    // Internal filters decide by type only, configured filters might accept depending on an object's state
+    private final boolean negativeCaching;
 
     public DefaultProtocol(Collection<MarshallerConfiguration> marshallerConfigurations) {
         this(null, marshallerConfigurations);
@@ -72,6 +103,7 @@ public class DefaultProtocol
         }
         registerInternalMarshallers();
         registerMarshallers(marshallerConfigurations);
+        negativeCaching = marshallerConfigurations.isEmpty();
     }
 
     @Override
@@ -87,12 +119,12 @@ public class DefaultProtocol
         } else {
             type = value.getClass();
         }
-        Short typeId = reverseTypeId.get(type);
+        TypeIdEntry entry = typeIdCache.get(type);
 
-        if (typeId == null) {
+        if (entry == TypeIdEntry.UNKNOWN) {
             throw new UnknownTypeException("TypeId for type '" + type.getName() + "' not found. Not registered?");
         }
-        encoder.writeShort("typeId", typeId);
+        encoder.writeShort("typeId", entry.typeId);
     }
 
     @Override
@@ -146,9 +178,32 @@ public class DefaultProtocol
 
         Validate.notNull("object", object);
 
-        Marshaller marshaller = computeMarshaller(object);
-        encoder.writeShort("marshallerId", findMarshallerId(marshaller));
-        marshaller.marshall(fieldName, object, encoder, this);
+        MarshallerEntry entry = computeMarshaller(object);
+        encoder.writeShort("marshallerId", entry.marshallerId);
+        entry.marshaller.marshall(fieldName, object, encoder, this);
+    }
+
+    /**
+     * Returns the number of marshaller resolutions that were answered from the per-type resolution
+     * cache, including types cached as not serializable.
+     *
+     * @return the number of resolution cache hits
+     */
+    public long getResolutionCacheHits() {
+        return resolutionCacheHits.sum();
+    }
+
+    /**
+     * Returns the number of marshaller resolutions that had to evaluate the
+     * {@link com.noctarius.tengi.core.serialization.marshaller.MarshallerFilter} chain. A steadily
+     * growing number indicates a filter returning
+     * {@link com.noctarius.tengi.core.serialization.marshaller.MarshallerFilter.Result#Accepted}
+     * for a frequently written type.
+     *
+     * @return the number of resolution cache misses
+     */
+    public long getResolutionCacheMisses() {
+        return resolutionCacheMisses.sum();
     }
 
     private void registerInternalTypes(ClassLoader classLoader) {
@@ -196,17 +251,17 @@ public class DefaultProtocol
     }
 
     private void registerMarshaller(MarshallerFilter filter, Marshaller marshaller) {
-        short marshallerId = findMarshallerId(marshaller);
-        marshallers.put(filter, marshaller);
-        marshallerById.put(marshallerId, marshaller);
-        reverseMarshallerId.put(marshaller, marshallerId);
+        filterChain.add(new FilterEntry(filter, createMarshallerEntry(marshaller)));
     }
 
     private <O> void registerMarshaller(Class<O> clazz, Marshaller marshaller) {
+        typeMarshallers.put(clazz, createMarshallerEntry(marshaller));
+    }
+
+    private MarshallerEntry createMarshallerEntry(Marshaller marshaller) {
         short marshallerId = findMarshallerId(marshaller);
-        marshallerCache.put(clazz, marshaller);
         marshallerById.put(marshallerId, marshaller);
-        reverseMarshallerId.put(marshaller, marshallerId);
+        return new MarshallerEntry(marshallerId, marshaller);
     }
 
     private void typesInitializer(InputStream is) {
@@ -248,11 +303,6 @@ public class DefaultProtocol
     }
 
     private <O> short findMarshallerId(Marshaller<O> marshaller) {
-        Short marshallerId = reverseMarshallerId.get(marshaller);
-        if (marshallerId != null) {
-            return marshallerId;
-        }
-
         if (marshaller instanceof Identifiable) {
             return ((Identifiable<Short>) marshaller).identifier();
         }
@@ -265,40 +315,85 @@ public class DefaultProtocol
         return annotation.value();
     }
 
-    private Marshaller computeMarshaller(Object object) {
+    private MarshallerEntry computeMarshaller(Object object) {
         Class<?> clazz = object.getClass();
-        Marshaller marshaller = marshallerCache.get(clazz);
-        if (marshaller != null) {
-            return marshaller;
-        }
+        MarshallerResolution resolution = resolutionCache.get(clazz);
 
-        marshaller = testMarshaller(object, PacketMarshallerFilter.INSTANCE, PacketMarshaller.INSTANCE);
-        if (marshaller != null) {
-            return marshaller;
+        MarshallerEntry entry = resolution.state;
+        if (entry == MarshallerResolution.UNSUPPORTED) {
+            resolutionCacheHits.increment();
+            throw new NoSuchMarshallerException("No suitable marshaller found for type '" + clazz.getName() + "'");
         }
 
-        marshaller = testMarshaller(object, MarshallableMarshallerFilter.INSTANCE, MarshallableMarshaller.INSTANCE);
-        if (marshaller != null) {
-            return marshaller;
+        if (entry != null) {
+            resolutionCacheHits.increment();
+            return entry;
         }
 
-        for (Map.Entry<MarshallerFilter, Marshaller> entry : marshallers.entrySet()) {
-            marshaller = testMarshaller(object, entry.getKey(), entry.getValue());
-            if (marshaller != null) {
-                return marshaller;
+        resolutionCacheMisses.increment();
+        for (FilterEntry filterEntry : filterChain) {
+            MarshallerFilter.Result result = filterEntry.filter.accept(object);
+            if (result == MarshallerFilter.Result.AcceptedAndCache) {
+                resolution.resolve(filterEntry.marshallerEntry);
+                return filterEntry.marshallerEntry;
+
+            } else if (result == MarshallerFilter.Result.Accepted) {
+                return filterEntry.marshallerEntry;
             }
         }
+
+        // A rejected instance only proves the type unsupported if no filter can accept a later instance
+        if (negativeCaching) {
+            resolution.resolve(MarshallerResolution.UNSUPPORTED);
+        }
         throw new NoSuchMarshallerException("No suitable marshaller found for type '" + clazz.getName() + "'");
     }
 
-    private Marshaller testMarshaller(Object object, MarshallerFilter filter, Marshaller marshaller) {
-        MarshallerFilter.Result result = filter.accept(object);
-        if (result == MarshallerFilter.Result.AcceptedAndCache) {
-            marshallerCache.putIfAbsent(object.getClass(), marshaller);
-            return marshaller;
-        } else if (result == MarshallerFilter.Result.Accepted) {
-            return marshaller;
+    private static final class FilterEntry {
+        private final MarshallerFilter filter;
+        private final MarshallerEntry marshallerEntry;
+
+        private FilterEntry(MarshallerFilter filter, MarshallerEntry marshallerEntry) {
+            this.filter = filter;
+            this.marshallerEntry = marshallerEntry;
+        }
+    }
+
+    private static final class MarshallerResolution {
+        private static final MarshallerEntry UNSUPPORTED = new MarshallerEntry((short) 0, null);
+
+        private static final AtomicReferenceFieldUpdater<MarshallerResolution, MarshallerEntry> STATE_UPDATER = //
+                AtomicReferenceFieldUpdater.newUpdater(MarshallerResolution.class, MarshallerEntry.class, "state");
+
+        // Either unresolved (null), the cached marshaller or UNSUPPORTED, the first resolution wins
+        private volatile MarshallerEntry state;
+
+        private MarshallerResolution(MarshallerEntry state) {
+            this.state = state;
+        }
+
+        private void resolve(MarshallerEntry state) {
+            STATE_UPDATER.compareAndSet(this, null, state);
+        }
+    }
+
+    private static final class TypeIdEntry {
+        private static final TypeIdEntry UNKNOWN = new TypeIdEntry((short) 0);
+
+        private final short typeId;
+
+        private TypeIdEntry(short typeId) {
+            this.typeId = typeId;
+        }
+    }
+
+    private static final class MarshallerEntry {
+        private final short marshallerId;
+        private final Marshaller marshaller;
+
+        private MarshallerEntry(short marshallerId, Marshaller marshaller) {
+            this.marshallerId = marshallerId;
+            this.marshaller = marshaller;
         }
-        return null;
     }
 }
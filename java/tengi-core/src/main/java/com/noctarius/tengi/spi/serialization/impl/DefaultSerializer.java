@@ -30,7 +30,9 @@ import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
 import com.noctarius.tengi.spi.serialization.codec.impl.DefaultCodec;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 
 public class DefaultSerializer
@@ -72,31 +74,19 @@ public class DefaultSerializer
     public <O> MemoryBuffer writeObject(String fieldName, O object)
             throws Exception {
 
-        PooledObject<DefaultCodec> po = codecPool.acquire();
-        try {
-            if (!SerializationDebugger.Debugger.ENABLED) {
-                ByteBuf buffer = Unpooled.buffer();
-                MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
-                DefaultCodec codec = po.getObject().setMemoryBuffer(memoryBuffer);
-                writeObject(fieldName, object, codec);
-                return memoryBuffer;
+        return writeObject(fieldName, object, Unpooled.buffer());
+    }
 
-            } else {
-                try {
-                    ByteBuf buffer = Unpooled.buffer();
-                    MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
-                    DefaultCodec codec = po.getObject().setMemoryBuffer(memoryBuffer);
-                    writeObject("object", object, codec);
-                    return memoryBuffer;
+    @Override
+    public <O> MemoryBuffer writeObject(String fieldName, O object, ByteBufAllocator allocator)
+            throws Exception {
 
-                } catch (Exception e) {
-                    SerializationDebugger debugger = SerializationDebugger.instance();
-                    debugger.fixFramesToStackTrace(e);
-                    throw e;
-                }
-            }
-        } finally {
-            codecPool.release(po);
+        ByteBuf buffer = allocator.directBuffer();
+        try {
+            return writeObject(fieldName, object, buffer);
+        } catch (Exception e) {
+            buffer.release();
+            throw e;
         }
     }
 
@@ -131,6 +121,47 @@ public class DefaultSerializer
         return new AutoClosableCodecDelegate(pooledObject);
     }
 
+    @Override
+    public AutoClosableEncoder retrieveEncoder(MemoryBuffer memoryBuffer, StringDictionary.Writer dictionaryWriter) {
+        PooledObject<DefaultCodec> pooledObject = codecPool.acquire(
+                (codec) -> codec.setMemoryBuffer(memoryBuffer).setDictionaryWriter(dictionaryWriter));
+        return new AutoClosableCodecDelegate(pooledObject);
+    }
+
+    @Override
+    public AutoClosableDecoder retrieveDecoder(MemoryBuffer memoryBuffer, StringDictionary stringDictionary) {
+        PooledObject<DefaultCodec> pooledObject = codecPool.acquire(
+                (codec) -> codec.setMemoryBuffer(memoryBuffer).setStringDictionary(stringDictionary));
+        return new AutoClosableCodecDelegate(pooledObject);
+    }
+
+    private <O> MemoryBuffer writeObject(String fieldName, O object, ByteBuf buffer)
+            throws Exception {
+
+        PooledObject<DefaultCodec> po = codecPool.acquire();
+        try {
+            MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
+            DefaultCodec codec = po.getObject().setMemoryBuffer(memoryBuffer);
+            if (!SerializationDebugger.Debugger.ENABLED) {
+                writeObject(fieldName, object, codec);
+                return memoryBuffer;
+
+            } else {
+                try {
+                    writeObject("object", object, codec);
+                    return memoryBuffer;
+
+                } catch (Exception e) {
+                    SerializationDebugger debugger = SerializationDebugger.instance();
+                    debugger.fixFramesToStackTrace(e);
+                    throw e;
+                }
+            }
+        } finally {
+            codecPool.release(po);
+        }
+    }
+
     private final class AutoClosableCodecDelegate
             implements AutoClosableDecoder, AutoClosableEncoder {
 
@@ -217,6 +248,11 @@ public class DefaultSerializer
             return defaultCodec.readString();
         }
 
+        @Override
+        public String readInternedString() {
+            return defaultCodec.readInternedString();
+        }
+
         @Override
         public <O> O readObject()
                 throws Exception {
@@ -311,6 +347,11 @@ public class DefaultSerializer
             defaultCodec.writeString(value);
         }
 
+        @Override
+        public void writeInternedString(String value) {
+            defaultCodec.writeInternedString(value);
+        }
+
         @Override
         public void writeObject(Object object)
                 throws Exception {
@@ -24,27 +24,39 @@ import com.noctarius.tengi.core.serialization.debugger.DebuggableMarshaller;
 import com.noctarius.tengi.core.serialization.marshaller.Marshaller;
 import com.noctarius.tengi.spi.serialization.Protocol;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @TypeId(DefaultProtocolConstants.SERIALIZED_TYPE_ENUM)
 enum EnumMarshaller
         implements Marshaller<Enum>, DebuggableMarshaller<Enum> {
 
     INSTANCE;
 
+    // Caches the name to constant mapping to not scan all constants for every decoded enum
+    private final ClassValue<Map<String, Enum>> constantsCache = new ClassValue<Map<String, Enum>>() {
+        @Override
+        protected Map<String, Enum> computeValue(Class<?> type) {
+            Map<String, Enum> constants = new HashMap<>();
+            for (Object constant : type.getEnumConstants()) {
+                constants.put(((Enum) constant).name(), (Enum) constant);
+            }
+            return constants;
+        }
+    };
+
     @Override
     public Enum unmarshall(Decoder decoder, Protocol protocol)
             throws Exception {
 
         Class<Enum> clazz = protocol.readTypeId(decoder);
 
-        String name = decoder.readString();
-        Enum[] constants = clazz.getEnumConstants();
-
-        for (Enum constant : constants) {
-            if (constant.name().equals(name)) {
-                return constant;
-            }
+        String name = decoder.readInternedString();
+        Enum constant = constantsCache.get(clazz).get(name);
+        if (constant == null) {
+            throw new UnknownTypeException("Enum type not found");
         }
-        throw new UnknownTypeException("Enum type not found");
+        return constant;
     }
 
     @Override
@@ -52,7 +64,7 @@ enum EnumMarshaller
             throws Exception {
 
         protocol.writeTypeId(constant, encoder);
-        encoder.writeString("name", constant.name());
+        encoder.writeInternedString("name", constant.name());
     }
 
     @Override
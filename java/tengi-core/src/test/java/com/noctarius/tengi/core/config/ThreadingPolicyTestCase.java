@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.core.config;
+
+import com.noctarius.tengi.core.impl.Validate;
+import com.noctarius.tengi.testing.AbstractTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ThreadingPolicyTestCase
+        extends AbstractTestCase {
+
+    @Test
+    public void test_cpu_based_defaults()
+            throws Exception {
+
+        ThreadingPolicy policy = ThreadingPolicy.DEFAULT;
+        assertEquals(1, policy.getBossThreads());
+        assertEquals(Runtime.getRuntime().availableProcessors() * 2, policy.getWorkerThreads());
+        assertFalse(policy.isSharedWorkerGroup());
+    }
+
+    @Test
+    public void test_explicit_sizes()
+            throws Exception {
+
+        ThreadingPolicy policy = new ThreadingPolicy(2, 64, true);
+        assertEquals(2, policy.getBossThreads());
+        assertEquals(64, policy.getWorkerThreads());
+        assertTrue(policy.isSharedWorkerGroup());
+    }
+
+    @Test
+    public void test_endpoint_policy()
+            throws Exception {
+
+        ThreadingPolicy defaultPolicy = new ThreadingPolicy(1, 32, true);
+        ThreadingPolicy endpointPolicy = new ThreadingPolicy(1, 4, false);
+
+        Configuration configuration = new ConfigurationBuilder().threadingPolicy(defaultPolicy) //
+                                                                .threadingPolicy(9090, endpointPolicy).build();
+
+        assertSame(defaultPolicy, configuration.getThreadingPolicy());
+        assertSame(defaultPolicy, configuration.getThreadingPolicy(8080));
+        assertSame(endpointPolicy, configuration.getThreadingPolicy(9090));
+    }
+
+    @Test(expected = Validate.ValidationException.class)
+    public void test_negative_worker_threads()
+            throws Exception {
+
+        new ThreadingPolicy(1, -1, false);
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.core.model;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class IdentifierTestCase {
+
+    @Test
+    public void test_from_bytes_equals_from_bits()
+            throws Exception {
+
+        byte[] data = {0x01, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xAB, (byte) 0xCD, (byte) 0xEF, //
+                       (byte) 0xFE, (byte) 0xDC, (byte) 0xBA, (byte) 0x98, 0x76, 0x54, 0x32, 0x10};
+
+        Identifier fromBytes = Identifier.fromBytes(data);
+        Identifier fromBits = Identifier.fromBits(0x0123456789ABCDEFL, 0xFEDCBA9876543210L);
+        assertEquals(fromBits, fromBytes);
+        assertEquals(fromBits.hashCode(), fromBytes.hashCode());
+        assertEquals("01234567-89AB-CDEF-FEDC-BA9876543210", fromBytes.toString());
+    }
+
+    @Test
+    public void test_random_identifier_is_uuid_v4()
+            throws Exception {
+
+        Identifier identifier = Identifier.randomIdentifier();
+        UUID uuid = UUID.fromString(identifier.toString());
+        assertEquals(4, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(identifier, Identifier.fromBits(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+    }
+
+    @Test
+    public void test_random_identifiers_differ()
+            throws Exception {
+
+        assertFalse(Identifier.randomIdentifier().equals(Identifier.randomIdentifier()));
+    }
+
+}
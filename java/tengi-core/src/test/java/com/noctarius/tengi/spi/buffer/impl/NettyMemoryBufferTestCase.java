@@ -60,6 +60,36 @@ public class NettyMemoryBufferTestCase
         assertTrue(memoryBuffer.isReleased());
     }
 
+    @Test
+    public void test_read_ascii_string_direct_buffer()
+            throws Exception {
+
+        ByteBuf buffer = Unpooled.directBuffer();
+        buffer.writeBytes("short".getBytes("US-ASCII"));
+        buffer.writeBytes("longer than scratch".getBytes("US-ASCII"));
+        MemoryBuffer memoryBuffer = createMemoryBuffer(buffer);
+
+        byte[] scratch = new byte[8];
+        assertEquals("short", memoryBuffer.readAsciiString(5, scratch));
+        assertEquals("longer than scratch", memoryBuffer.readAsciiString(19, scratch));
+        assertEquals(0, memoryBuffer.readableBytes());
+        memoryBuffer.release();
+    }
+
+    @Test
+    public void test_read_ascii_string_heap_buffer()
+            throws Exception {
+
+        ByteBuf buffer = Unpooled.buffer();
+        buffer.writeBytes("heap value".getBytes("US-ASCII"));
+        MemoryBuffer memoryBuffer = createMemoryBuffer(buffer);
+
+        assertEquals("heap", memoryBuffer.readAsciiString(4, new byte[8]));
+        memoryBuffer.readByte();
+        assertEquals("value", memoryBuffer.readAsciiString(5));
+        assertEquals(0, memoryBuffer.readableBytes());
+    }
+
     @Test
     public void test_capacity()
             throws Exception {
@@ -144,6 +174,48 @@ public class NettyMemoryBufferTestCase
         assertEquals(10, memoryBuffer.readByte());
     }
 
+    @Test
+    public void test_short()
+            throws Exception {
+
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+
+        memoryBuffer.writeShort(Short.MIN_VALUE);
+        memoryBuffer.writeShort(0x1234);
+        assertEquals(4, memoryBuffer.writerIndex());
+        assertEquals(Short.MIN_VALUE, memoryBuffer.readShort());
+        assertEquals(0x12, memoryBuffer.readByte());
+        assertEquals(0x34, memoryBuffer.readByte());
+    }
+
+    @Test
+    public void test_int()
+            throws Exception {
+
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+
+        memoryBuffer.writeInt(Integer.MIN_VALUE);
+        memoryBuffer.writeInt(0x12345678);
+        assertEquals(8, memoryBuffer.writerIndex());
+        assertEquals(Integer.MIN_VALUE, memoryBuffer.readInt());
+        assertEquals(0x1234, memoryBuffer.readShort());
+        assertEquals(0x5678, memoryBuffer.readShort());
+    }
+
+    @Test
+    public void test_long()
+            throws Exception {
+
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+
+        memoryBuffer.writeLong(Long.MIN_VALUE);
+        memoryBuffer.writeLong(0x123456789ABCDEF0L);
+        assertEquals(16, memoryBuffer.writerIndex());
+        assertEquals(Long.MIN_VALUE, memoryBuffer.readLong());
+        assertEquals(0x12345678, memoryBuffer.readInt());
+        assertEquals(0x9ABCDEF0, memoryBuffer.readInt());
+    }
+
     @Test
     public void test_bytes_no_offset()
             throws Exception {
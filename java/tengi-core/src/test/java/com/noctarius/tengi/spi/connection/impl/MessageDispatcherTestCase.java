@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.connection.impl;
+
+import com.noctarius.tengi.core.config.DispatchPolicy;
+import com.noctarius.tengi.core.config.OutboundPolicy;
+import com.noctarius.tengi.core.connection.DispatchMetrics;
+import com.noctarius.tengi.core.impl.Validate;
+import com.noctarius.tengi.core.listener.ClosedListener;
+import com.noctarius.tengi.core.listener.ExceptionListener;
+import com.noctarius.tengi.core.model.Identifier;
+import com.noctarius.tengi.spi.connection.AbstractConnection;
+import com.noctarius.tengi.testing.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MessageDispatcherTestCase
+        extends AbstractTestCase {
+
+    @Test
+    public void test_event_loop_dispatch_inline()
+            throws Exception {
+
+        MessageDispatcher dispatcher = new MessageDispatcher(DispatchPolicy.EVENT_LOOP, "test-dispatcher-");
+        try {
+            Thread[] thread = new Thread[1];
+            dispatcher.dispatch(createConnection(), () -> thread[0] = Thread.currentThread());
+
+            assertSame(Thread.currentThread(), thread[0]);
+            assertEquals(0, dispatcher.getMetrics().getLanes().size());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void test_worker_pool_per_connection_order()
+            throws Exception {
+
+        DispatchPolicy policy = new DispatchPolicy(DispatchPolicy.Mode.WorkerPool, 4, 4);
+        MessageDispatcher dispatcher = new MessageDispatcher(policy, "test-dispatcher-");
+        try {
+            int connections = 16;
+            int messages = 1000;
+
+            CountDownLatch latch = new CountDownLatch(connections * messages);
+            List<List<Integer>> received = new ArrayList<>();
+            List<AbstractConnection> connectionList = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                received.add(new ArrayList<>());
+                connectionList.add(createConnection());
+            }
+
+            for (int m = 0; m < messages; m++) {
+                for (int c = 0; c < connections; c++) {
+                    List<Integer> values = received.get(c);
+                    int value = m;
+                    dispatcher.dispatch(connectionList.get(c), () -> {
+                        values.add(value);
+                        latch.countDown();
+                    });
+                }
+            }
+
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            for (List<Integer> values : received) {
+                assertEquals(messages, values.size());
+                for (int i = 0; i < messages; i++) {
+                    assertEquals(i, (int) values.get(i));
+                }
+            }
+
+            DispatchMetrics metrics = dispatcher.getMetrics();
+            assertEquals(4, metrics.getLanes().size());
+            assertEquals(connections * messages, metrics.getDispatchedMessages());
+            assertEquals(0, metrics.getQueueDepth());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void test_worker_pool_parallel_lanes()
+            throws Exception {
+
+        DispatchPolicy policy = new DispatchPolicy(DispatchPolicy.Mode.WorkerPool, 2, 2);
+        MessageDispatcher dispatcher = new MessageDispatcher(policy, "test-dispatcher-");
+        try {
+            AbstractConnection first = createConnection();
+            AbstractConnection second = createConnectionOnOtherLane(first, 2);
+
+            // A blocked lane must not stall any other lane
+            CountDownLatch blocker = new CountDownLatch(1);
+            CompletableFuture<Thread> future = new CompletableFuture<>();
+            dispatcher.dispatch(first, () -> await(blocker));
+            dispatcher.dispatch(second, () -> future.complete(Thread.currentThread()));
+
+            Thread thread = future.get(10, TimeUnit.SECONDS);
+            assertNotSame(Thread.currentThread(), thread);
+            blocker.countDown();
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void test_queue_depth_and_latency()
+            throws Exception {
+
+        DispatchPolicy policy = new DispatchPolicy(DispatchPolicy.Mode.WorkerPool, 1, 1);
+        MessageDispatcher dispatcher = new MessageDispatcher(policy, "test-dispatcher-");
+        try {
+            AbstractConnection connection = createConnection();
+
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch blocker = new CountDownLatch(1);
+            CountDownLatch finished = new CountDownLatch(4);
+            dispatcher.dispatch(connection, () -> {
+                started.countDown();
+                await(blocker);
+                finished.countDown();
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 3; i++) {
+                dispatcher.dispatch(connection, finished::countDown);
+            }
+
+            DispatchMetrics.LaneMetrics lane = dispatcher.getMetrics().getLanes().get(0);
+            assertEquals(3, lane.getQueueDepth());
+            assertEquals(3, lane.getMaxQueueDepth());
+
+            Thread.sleep(10);
+            blocker.countDown();
+            assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+            lane = dispatcher.getMetrics().getLanes().get(0);
+            assertEquals(0, lane.getQueueDepth());
+            assertEquals(4, lane.getDispatchedMessages());
+            assertTrue(lane.getMaxLatencyNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+            assertTrue(lane.getAverageLatencyNanos() > 0);
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void test_exception_notifies_connection()
+            throws Exception {
+
+        DispatchPolicy policy = new DispatchPolicy(DispatchPolicy.Mode.WorkerPool, 1, 1);
+        MessageDispatcher dispatcher = new MessageDispatcher(policy, "test-dispatcher-");
+        try {
+            AbstractConnection connection = createConnection();
+
+            CompletableFuture<Throwable> exception = new CompletableFuture<>();
+            connection.addConnectionListener((ExceptionListener) (c, t) -> exception.complete(t));
+
+            IllegalStateException failure = new IllegalStateException("failure");
+            CompletableFuture<Boolean> next = new CompletableFuture<>();
+            dispatcher.dispatch(connection, () -> {
+                throw failure;
+            });
+            dispatcher.dispatch(connection, () -> next.complete(true));
+
+            assertSame(failure, exception.get(10, TimeUnit.SECONDS));
+            assertTrue(next.get(10, TimeUnit.SECONDS));
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void test_virtual_threads_per_connection_order()
+            throws Exception {
+
+        DispatchPolicy policy = new DispatchPolicy(DispatchPolicy.Mode.VirtualThreads, 64, 0);
+        MessageDispatcher dispatcher = new MessageDispatcher(policy, "test-virtual-");
+        try {
+            AbstractConnection connection = createConnection();
+
+            int messages = 1000;
+            CountDownLatch latch = new CountDownLatch(messages);
+            List<Integer> received = new ArrayList<>();
+            List<String> threadNames = new ArrayList<>();
+            for (int i = 0; i < messages; i++) {
+                int value = i;
+                dispatcher.dispatch(connection, () -> {
+                    received.add(value);
+                    threadNames.add(Thread.currentThread().getName());
+                    latch.countDown();
+                });
+            }
+
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            for (int i = 0; i < messages; i++) {
+                assertEquals(i, (int) received.get(i));
+                assertTrue(threadNames.get(i).startsWith("test-virtual-"));
+            }
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void test_connection_events_in_order_with_messages()
+            throws Exception {
+
+        DispatchPolicy policy = new DispatchPolicy(DispatchPolicy.Mode.VirtualThreads, 4, 0);
+        MessageDispatcher dispatcher = new MessageDispatcher(policy, "test-virtual-");
+        try {
+            AbstractConnection connection = createConnection(dispatcher);
+
+            List<String> events = new ArrayList<>();
+            CountDownLatch closed = new CountDownLatch(1);
+            connection.addConnectionListener((ClosedListener) (c) -> {
+                events.add("close");
+                closed.countDown();
+            });
+
+            CountDownLatch blocker = new CountDownLatch(1);
+            dispatcher.dispatch(connection, () -> {
+                await(blocker);
+                events.add("message");
+            });
+            connection.notifyClose();
+
+            blocker.countDown();
+            assertTrue(closed.await(10, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("message", "close"), events);
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test(expected = Validate.ValidationException.class)
+    public void test_worker_pool_without_threads()
+            throws Exception {
+
+        new DispatchPolicy(DispatchPolicy.Mode.WorkerPool, 4, 0);
+    }
+
+    private static AbstractConnection createConnection() {
+        return createConnection(MessageDispatcher.EVENT_LOOP);
+    }
+
+    private static AbstractConnection createConnection(MessageDispatcher dispatcher) {
+        Identifier connectionId = Identifier.randomIdentifier();
+        return new AbstractConnection(null, connectionId, null, null, OutboundPolicy.UNBOUNDED, dispatcher) {
+        };
+    }
+
+    private static AbstractConnection createConnectionOnOtherLane(AbstractConnection connection, int lanes) {
+        int lane = lane(connection, lanes);
+        while (true) {
+            AbstractConnection candidate = createConnection();
+            if (lane(candidate, lanes) != lane) {
+                return candidate;
+            }
+        }
+    }
+
+    private static int lane(AbstractConnection connection, int lanes) {
+        int hash = connection.getConnectionId().hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % lanes;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.connection.impl;
+
+import com.noctarius.tengi.core.config.OutboundPolicy;
+import com.noctarius.tengi.testing.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OutboundBudgetTestCase
+        extends AbstractTestCase {
+
+    @Test
+    public void test_message_limit()
+            throws Exception {
+
+        OutboundPolicy policy = new OutboundPolicy(2, 0, OutboundPolicy.Overflow.FailFast, 0);
+        OutboundBudget budget = new OutboundBudget(policy, (w) -> {
+        });
+
+        assertTrue(budget.tryAcquire(1, 100));
+        assertTrue(budget.tryAcquire(1, 100));
+        assertFalse(budget.tryAcquire(1, 100));
+        assertEquals(2, budget.getPendingMessages());
+        assertEquals(200, budget.getPendingBytes());
+
+        budget.release(1, 100);
+        assertTrue(budget.tryAcquire(1, 100));
+    }
+
+    @Test
+    public void test_byte_limit()
+            throws Exception {
+
+        OutboundPolicy policy = new OutboundPolicy(0, 100, OutboundPolicy.Overflow.FailFast, 0);
+        OutboundBudget budget = new OutboundBudget(policy, (w) -> {
+        });
+
+        assertTrue(budget.tryAcquire(1, 60));
+        assertFalse(budget.tryAcquire(1, 60));
+        assertTrue(budget.tryAcquire(1, 40));
+    }
+
+    @Test
+    public void test_always_accept_when_empty()
+            throws Exception {
+
+        OutboundPolicy policy = new OutboundPolicy(1, 100, OutboundPolicy.Overflow.FailFast, 0);
+        OutboundBudget budget = new OutboundBudget(policy, (w) -> {
+        });
+
+        assertTrue(budget.tryAcquire(3, 1000));
+        assertFalse(budget.isWritable());
+        assertFalse(budget.tryAcquire(1, 1));
+    }
+
+    @Test
+    public void test_writability_hysteresis()
+            throws Exception {
+
+        List<Boolean> changes = new ArrayList<>();
+        OutboundPolicy policy = new OutboundPolicy(4, 0, OutboundPolicy.Overflow.FailFast, 0);
+        OutboundBudget budget = new OutboundBudget(policy, changes::add);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(budget.tryAcquire(1, 10));
+        }
+        assertFalse(budget.isWritable());
+
+        budget.release(1, 10);
+        assertFalse(budget.isWritable());
+
+        budget.release(1, 10);
+        assertTrue(budget.isWritable());
+
+        assertEquals(2, changes.size());
+        assertFalse(changes.get(0));
+        assertTrue(changes.get(1));
+    }
+
+    @Test
+    public void test_blocking_acquire_timeout()
+            throws Exception {
+
+        OutboundPolicy policy = new OutboundPolicy(1, 0, OutboundPolicy.Overflow.BlockWithTimeout, 50);
+        OutboundBudget budget = new OutboundBudget(policy, (w) -> {
+        });
+
+        assertTrue(budget.tryAcquire(1, 10));
+        assertFalse(budget.acquire(1, 10, 50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void test_blocking_acquire_released()
+            throws Exception {
+
+        OutboundPolicy policy = new OutboundPolicy(1, 0, OutboundPolicy.Overflow.BlockWithTimeout, 5000);
+        OutboundBudget budget = new OutboundBudget(policy, (w) -> {
+        });
+
+        assertTrue(budget.tryAcquire(1, 10));
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                latch.await();
+                Thread.sleep(50);
+                budget.release(1, 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+
+        latch.countDown();
+        assertTrue(budget.acquire(1, 10, 5, TimeUnit.SECONDS));
+        thread.join();
+        assertEquals(1, budget.getPendingMessages());
+    }
+
+}
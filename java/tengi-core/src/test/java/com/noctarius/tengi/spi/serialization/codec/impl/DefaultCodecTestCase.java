@@ -571,6 +571,9 @@ public class DefaultCodecTestCase
 
         doAnswer((invocation) -> ByteOrderUtils.getShort(memoryBuffer)).when(decoder).readShort(anyString());
 
+        // ASCII-only content is read directly from the memory buffer
+        doAnswer((invocation) -> memoryBuffer).when(decoder).getReadableMemoryBuffer();
+
         String result = UTF8Codec.readUTF(decoder, new byte[1024]);
         assertEquals("some-simple-string", result);
     }
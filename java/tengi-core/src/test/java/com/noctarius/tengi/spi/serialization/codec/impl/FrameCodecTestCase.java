@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.codec.impl;
+
+import com.noctarius.tengi.testing.AbstractTestCase;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class FrameCodecTestCase
+        extends AbstractTestCase {
+
+    @Test
+    public void test_round_trip()
+            throws Exception {
+
+        ByteBuf frame = FrameCodec.encodeFrame(payload(300), ByteBufAllocator.DEFAULT);
+        assertEquals(302, frame.readableBytes());
+
+        ByteBuf payload = FrameCodec.decodeFrame(frame, FrameCodec.DEFAULT_MAX_FRAME_LENGTH);
+        assertNotNull(payload);
+        assertPayload(300, payload);
+        assertEquals(0, frame.readableBytes());
+
+        payload.release();
+        frame.release();
+    }
+
+    @Test
+    public void test_multiple_frames_in_one_buffer()
+            throws Exception {
+
+        ByteBuf cumulation = Unpooled.buffer();
+        for (int i = 1; i <= 3; i++) {
+            ByteBuf frame = FrameCodec.encodeFrame(payload(i * 100), ByteBufAllocator.DEFAULT);
+            cumulation.writeBytes(frame);
+            frame.release();
+        }
+
+        for (int i = 1; i <= 3; i++) {
+            ByteBuf payload = FrameCodec.decodeFrame(cumulation, FrameCodec.DEFAULT_MAX_FRAME_LENGTH);
+            assertNotNull(payload);
+            assertPayload(i * 100, payload);
+            payload.release();
+        }
+        assertNull(FrameCodec.decodeFrame(cumulation, FrameCodec.DEFAULT_MAX_FRAME_LENGTH));
+    }
+
+    @Test
+    public void test_split_frame()
+            throws Exception {
+
+        ByteBuf frame = FrameCodec.encodeFrame(payload(300), ByteBufAllocator.DEFAULT);
+        ByteBuf cumulation = Unpooled.buffer();
+
+        // Incomplete length prefix
+        cumulation.writeBytes(frame, 1);
+        assertNull(FrameCodec.decodeFrame(cumulation, FrameCodec.DEFAULT_MAX_FRAME_LENGTH));
+        assertEquals(0, cumulation.readerIndex());
+
+        // Complete length prefix but incomplete payload
+        cumulation.writeBytes(frame, 100);
+        assertNull(FrameCodec.decodeFrame(cumulation, FrameCodec.DEFAULT_MAX_FRAME_LENGTH));
+        assertEquals(0, cumulation.readerIndex());
+
+        cumulation.writeBytes(frame);
+        ByteBuf payload = FrameCodec.decodeFrame(cumulation, FrameCodec.DEFAULT_MAX_FRAME_LENGTH);
+        assertNotNull(payload);
+        assertPayload(300, payload);
+
+        payload.release();
+        frame.release();
+    }
+
+    @Test
+    public void test_payload_is_sliced()
+            throws Exception {
+
+        ByteBuf cumulation = Unpooled.buffer();
+        ByteBuf frame = FrameCodec.encodeFrame(payload(10), ByteBufAllocator.DEFAULT);
+        cumulation.writeBytes(frame);
+        frame.release();
+
+        ByteBuf payload = FrameCodec.decodeFrame(cumulation, FrameCodec.DEFAULT_MAX_FRAME_LENGTH);
+        assertNotNull(payload);
+        assertEquals(2, cumulation.refCnt());
+
+        payload.setByte(payload.readerIndex(), 42);
+        assertEquals(42, cumulation.getByte(1));
+        payload.release();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_frame_too_long()
+            throws Exception {
+
+        ByteBuf frame = FrameCodec.encodeFrame(payload(300), ByteBufAllocator.DEFAULT);
+        FrameCodec.decodeFrame(frame, 299);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_malformed_length_prefix()
+            throws Exception {
+
+        ByteBuf cumulation = Unpooled.buffer();
+        for (int i = 0; i < FrameCodec.MAX_LENGTH_FIELD_SIZE; i++) {
+            cumulation.writeByte(0x01);
+        }
+        FrameCodec.decodeFrame(cumulation, FrameCodec.DEFAULT_MAX_FRAME_LENGTH);
+    }
+
+    private static ByteBuf payload(int length) {
+        ByteBuf payload = Unpooled.buffer(length);
+        for (int i = 0; i < length; i++) {
+            payload.writeByte(i);
+        }
+        return payload;
+    }
+
+    private static void assertPayload(int length, ByteBuf payload) {
+        assertEquals(length, payload.readableBytes());
+        for (int i = 0; i < length; i++) {
+            assertEquals((byte) i, payload.readByte());
+        }
+    }
+
+}
@@ -21,8 +21,10 @@ import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
 import com.noctarius.tengi.testing.AbstractTestCase;
+import io.netty.buffer.Unpooled;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class Int32CompressorTestCase
@@ -134,6 +136,37 @@ public class Int32CompressorTestCase
         assertEquals(value, result);
     }
 
+    @Test
+    public void test_wire_format()
+            throws Exception {
+
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+        Int32Compressor.writeInt32(0b1100_1001, memoryBuffer);
+        Int32Compressor.writeInt32(0b1100_0001_0000_0000_0100_0000_1100_0000, memoryBuffer);
+
+        byte[] expected = {0x03, (byte) 0x92, (byte) 0xC7, (byte) 0xEF, (byte) 0xFD, (byte) 0xFD, 0x7E};
+        byte[] data = new byte[memoryBuffer.writerIndex()];
+        memoryBuffer.readBytes(data);
+        assertArrayEquals(expected, data);
+    }
+
+    @Test
+    public void test_encode_allocation_free()
+            throws Exception {
+
+        int[] values = {0b1001, 0b1100_1001, 0b1010_0101_0101_0101_0101_0101_0101_0101, 0b1100_0001_0000_0000_0100_0000_1100_0000};
+        MemoryBuffer memoryBuffer = createMemoryBuffer(Unpooled.buffer(16));
+
+        int operations = 100000;
+        long allocated = measureAllocatedBytes(operations, () -> {
+            for (int value : values) {
+                memoryBuffer.writerIndex(0);
+                Int32Compressor.writeInt32(value, memoryBuffer);
+            }
+        });
+        assertEquals(0, allocated / operations);
+    }
+
     private static int encodeAndDecode(int value, int expectedSize)
             throws Exception {
 
@@ -21,8 +21,10 @@ import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
 import com.noctarius.tengi.testing.AbstractTestCase;
+import io.netty.buffer.Unpooled;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class Int64CompressorTestCase
@@ -143,6 +145,37 @@ public class Int64CompressorTestCase
         assertEquals(value, result);
     }
 
+    @Test
+    public void test_wire_format()
+            throws Exception {
+
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+        Int64Compressor.writeInt64(0b1100_1001L, memoryBuffer);
+        Int64Compressor.writeInt64(-12345678901L, memoryBuffer);
+
+        byte[] expected = {0x03, (byte) 0x92, (byte) 0xC1, 0x5B, (byte) 0xFD, (byte) 0xE1, 0x71, 0x68};
+        byte[] data = new byte[memoryBuffer.writerIndex()];
+        memoryBuffer.readBytes(data);
+        assertArrayEquals(expected, data);
+    }
+
+    @Test
+    public void test_encode_allocation_free()
+            throws Exception {
+
+        long[] values = {0b1001L, 0b1100_1001L, Long.MAX_VALUE, -12345678901L};
+        MemoryBuffer memoryBuffer = createMemoryBuffer(Unpooled.buffer(16));
+
+        int operations = 100000;
+        long allocated = measureAllocatedBytes(operations, () -> {
+            for (long value : values) {
+                memoryBuffer.writerIndex(0);
+                Int64Compressor.writeInt64(value, memoryBuffer);
+            }
+        });
+        assertEquals(0, allocated / operations);
+    }
+
     private static long encodeAndDecode(long value, int expectedSize)
             throws Exception {
 
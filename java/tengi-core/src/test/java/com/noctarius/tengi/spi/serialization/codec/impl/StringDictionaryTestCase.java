@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.spi.serialization.codec.impl;
+
+import com.noctarius.tengi.core.model.Packet;
+import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.serialization.Serializer;
+import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
+import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
+import com.noctarius.tengi.testing.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class StringDictionaryTestCase
+        extends AbstractTestCase {
+
+    @Test
+    public void test_reference_after_publish()
+            throws Exception {
+
+        Serializer serializer = createSerializer();
+        StringDictionary outbound = new StringDictionary(StringDictionary.DEFAULT_SIZE);
+        StringDictionary inbound = new StringDictionary(0);
+
+        StringDictionary.Writer writer1 = outbound.newWriter();
+        MemoryBuffer memoryBuffer1 = writeString(serializer, writer1, "username");
+        int definitionLength = memoryBuffer1.readableBytes();
+        assertEquals("username", readString(serializer, inbound, memoryBuffer1));
+
+        // Not yet published, the definition is repeated
+        StringDictionary.Writer writer2 = outbound.newWriter();
+        MemoryBuffer memoryBuffer2 = writeString(serializer, writer2, "username");
+        assertEquals(definitionLength, memoryBuffer2.readableBytes());
+        assertEquals("username", readString(serializer, inbound, memoryBuffer2));
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        writer1.publishOnCompletion(future);
+        future.complete(null);
+
+        StringDictionary.Writer writer3 = outbound.newWriter();
+        MemoryBuffer memoryBuffer3 = writeString(serializer, writer3, "username");
+        assertEquals(1, memoryBuffer3.readableBytes());
+        assertEquals("username", readString(serializer, inbound, memoryBuffer3));
+    }
+
+    @Test
+    public void test_reference_within_write_operation()
+            throws Exception {
+
+        Serializer serializer = createSerializer();
+        StringDictionary outbound = new StringDictionary(StringDictionary.DEFAULT_SIZE);
+        StringDictionary inbound = new StringDictionary(0);
+
+        StringDictionary.Writer writer = outbound.newWriter();
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer, writer)) {
+            encoder.writeInternedString("value", "counter");
+            int definitionLength = memoryBuffer.readableBytes();
+            encoder.writeInternedString("value", "counter");
+            assertEquals(definitionLength + 1, memoryBuffer.readableBytes());
+        }
+
+        try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer, inbound)) {
+            assertEquals("counter", decoder.readInternedString());
+            assertEquals("counter", decoder.readInternedString());
+        }
+    }
+
+    @Test
+    public void test_failed_write_not_published()
+            throws Exception {
+
+        Serializer serializer = createSerializer();
+        StringDictionary outbound = new StringDictionary(StringDictionary.DEFAULT_SIZE);
+
+        StringDictionary.Writer writer1 = outbound.newWriter();
+        int definitionLength = writeString(serializer, writer1, "username").readableBytes();
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        writer1.publishOnCompletion(future);
+        future.completeExceptionally(new Exception());
+
+        StringDictionary.Writer writer2 = outbound.newWriter();
+        assertEquals(definitionLength, writeString(serializer, writer2, "username").readableBytes());
+    }
+
+    @Test
+    public void test_size_exceeded_written_in_full()
+            throws Exception {
+
+        Serializer serializer = createSerializer();
+        StringDictionary outbound = new StringDictionary(1);
+        StringDictionary inbound = new StringDictionary(0);
+
+        StringDictionary.Writer writer = outbound.newWriter();
+        writeString(serializer, writer, "username");
+        MemoryBuffer memoryBuffer = writeString(serializer, writer, "password");
+        assertEquals(0, memoryBuffer.readByte());
+        memoryBuffer.readerIndex(0);
+        assertEquals("password", readString(serializer, inbound, memoryBuffer));
+    }
+
+    @Test
+    public void test_disabled_dictionary()
+            throws Exception {
+
+        Serializer serializer = createSerializer();
+        assertNull(new StringDictionary(0).newWriter());
+
+        MemoryBuffer memoryBuffer = writeString(serializer, null, "username");
+        assertEquals("username", readString(serializer, null, memoryBuffer));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_unknown_reference()
+            throws Exception {
+
+        Serializer serializer = createSerializer();
+        StringDictionary outbound = new StringDictionary(StringDictionary.DEFAULT_SIZE);
+
+        StringDictionary.Writer writer = outbound.newWriter();
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer, writer)) {
+            encoder.writeInternedString("value", "counter");
+            memoryBuffer.writerIndex(0);
+            encoder.writeInternedString("value", "counter");
+        }
+        readString(serializer, new StringDictionary(0), memoryBuffer);
+    }
+
+    @Test
+    public void test_packet_keys()
+            throws Exception {
+
+        Serializer serializer = createSerializer();
+        StringDictionary outbound = new StringDictionary(StringDictionary.DEFAULT_SIZE);
+        StringDictionary inbound = new StringDictionary(0);
+
+        Packet packet = new Packet("login");
+        packet.setValue("username", "Stan");
+
+        StringDictionary.Writer writer = outbound.newWriter();
+        MemoryBuffer memoryBuffer1 = createMemoryBuffer();
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer1, writer)) {
+            encoder.writeObject("packet", packet);
+        }
+
+        MemoryBuffer memoryBuffer2 = createMemoryBuffer();
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer2, writer)) {
+            encoder.writeObject("packet", packet);
+        }
+        // Only the tag is written for the reference
+        int stringLength = writeString(serializer, null, "username").readableBytes() - 1;
+        assertEquals(memoryBuffer1.readableBytes() - stringLength, memoryBuffer2.readableBytes());
+
+        try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer1, inbound)) {
+            Packet result = decoder.readObject();
+            assertEquals("Stan", result.getValue("username"));
+        }
+        try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer2, inbound)) {
+            Packet result = decoder.readObject();
+            assertEquals("Stan", result.getValue("username"));
+        }
+    }
+
+    private static MemoryBuffer writeString(Serializer serializer, StringDictionary.Writer writer, String value)
+            throws Exception {
+
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer, writer)) {
+            encoder.writeInternedString("value", value);
+        }
+        return memoryBuffer;
+    }
+
+    private static String readString(Serializer serializer, StringDictionary dictionary, MemoryBuffer memoryBuffer)
+            throws Exception {
+
+        try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer, dictionary)) {
+            return decoder.readInternedString();
+        }
+    }
+
+}
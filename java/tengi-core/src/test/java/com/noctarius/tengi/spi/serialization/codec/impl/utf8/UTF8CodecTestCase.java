@@ -21,6 +21,7 @@ import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
 import com.noctarius.tengi.testing.AbstractTestCase;
+import io.netty.buffer.Unpooled;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -310,6 +311,70 @@ public class UTF8CodecTestCase
         }
     }
 
+    @Test
+    public void test_ascii_text_direct_buffer()
+            throws Exception {
+
+        UTF8Codec utf8Codec = newUTF8Codec(fastStringEnabled, utfWriterType);
+        if (utf8Codec == null) {
+            System.err.println("Ignoring test... " + utfWriterType + " is not available!");
+            return;
+        }
+
+        Serializer serializer = createSerializer();
+        MemoryBuffer memoryBuffer = createMemoryBuffer(Unpooled.directBuffer());
+
+        byte[] buffer = new byte[1024];
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
+            utf8Codec.writeUTF0(encoder, "some ascii value", buffer);
+            utf8Codec.writeUTF0(encoder, "some other value", buffer);
+        }
+
+        try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer)) {
+            assertEquals("some ascii value", utf8Codec.readUTF0(decoder, buffer));
+            assertEquals("some other value", utf8Codec.readUTF0(decoder, buffer));
+            assertEquals(0, memoryBuffer.readableBytes());
+        }
+        memoryBuffer.release();
+    }
+
+    @Test
+    public void test_reused_char_buffer()
+            throws Exception {
+
+        UTF8Codec utf8Codec = newUTF8Codec(fastStringEnabled, utfWriterType);
+        if (utf8Codec == null) {
+            System.err.println("Ignoring test... " + utfWriterType + " is not available!");
+            return;
+        }
+
+        Serializer serializer = createSerializer();
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+
+        String value1 = "\u00e4\u00f6\u00fc some longer value \u20ac";
+        String value2 = "short \u00df";
+        String value3 = createString(20000);
+
+        byte[] buffer = new byte[1024];
+        char[] charBuffer = new char[1024];
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
+            utf8Codec.writeUTF0(encoder, value1, buffer);
+            utf8Codec.writeUTF0(encoder, value2, buffer);
+            utf8Codec.writeUTF0(encoder, value3, buffer);
+        }
+
+        try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer)) {
+            String result1 = utf8Codec.readUTF0(decoder, buffer, charBuffer);
+            String result2 = utf8Codec.readUTF0(decoder, buffer, charBuffer);
+            String result3 = utf8Codec.readUTF0(decoder, buffer, charBuffer);
+
+            // Reusing the char buffer must not corrupt already created strings
+            assertEquals(value1, result1);
+            assertEquals(value2, result2);
+            assertEquals(value3, result3);
+        }
+    }
+
     private static UTF8Codec newUTF8Codec(boolean fastStringEnabled, UtfWriterType utfWriterType) {
         UtfWriter utfWriter;
         switch (utfWriterType) {
@@ -17,6 +17,7 @@
 package com.noctarius.tengi.spi.serialization.impl;
 
 import com.noctarius.tengi.core.config.MarshallerConfiguration;
+import com.noctarius.tengi.core.exception.NoSuchMarshallerException;
 import com.noctarius.tengi.core.exception.SystemException;
 import com.noctarius.tengi.core.serialization.Identifiable;
 import com.noctarius.tengi.core.serialization.Marshallable;
@@ -35,13 +36,17 @@ import com.noctarius.tengi.testing.AbstractTestCase;
 import org.junit.Test;
 
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class DefaultProtocolTestCase
         extends AbstractTestCase {
@@ -96,6 +101,126 @@ public class DefaultProtocolTestCase
         }
     }
 
+    @Test
+    public void test_resolution_cache_accepted_and_cache()
+            throws Exception {
+
+        AtomicInteger evaluations = new AtomicInteger();
+        Collection<MarshallerConfiguration> marshallerConfigurations = Collections.singletonList(
+                new MarshallerConfiguration((v) -> {
+                    evaluations.incrementAndGet();
+                    return MarshallerFilter.Result.AcceptedAndCache;
+                }, new TestIdentifiableMarshaller()));
+
+        DefaultProtocol protocol = (DefaultProtocol) createProtocol(marshallerConfigurations);
+        Serializer serializer = createSerializer(protocol);
+
+        for (int i = 0; i < 10; i++) {
+            try (AutoClosableEncoder encoder = serializer.retrieveEncoder(createMemoryBuffer())) {
+                encoder.writeObject("test", new TestClass3());
+            }
+        }
+
+        assertEquals(1, evaluations.get());
+        assertEquals(1, protocol.getResolutionCacheMisses());
+        assertEquals(9, protocol.getResolutionCacheHits());
+    }
+
+    @Test
+    public void test_resolution_cache_accepted_is_not_cached()
+            throws Exception {
+
+        AtomicInteger evaluations = new AtomicInteger();
+        Collection<MarshallerConfiguration> marshallerConfigurations = Collections.singletonList(
+                new MarshallerConfiguration((v) -> {
+                    evaluations.incrementAndGet();
+                    return MarshallerFilter.Result.Accepted;
+                }, new TestIdentifiableMarshaller()));
+
+        DefaultProtocol protocol = (DefaultProtocol) createProtocol(marshallerConfigurations);
+        Serializer serializer = createSerializer(protocol);
+
+        for (int i = 0; i < 10; i++) {
+            try (AutoClosableEncoder encoder = serializer.retrieveEncoder(createMemoryBuffer())) {
+                encoder.writeObject("test", new TestClass3());
+            }
+        }
+
+        assertEquals(10, evaluations.get());
+        assertEquals(10, protocol.getResolutionCacheMisses());
+        assertEquals(0, protocol.getResolutionCacheHits());
+    }
+
+    @Test
+    public void test_resolution_cache_unsupported_type()
+            throws Exception {
+
+        DefaultProtocol protocol = (DefaultProtocol) createProtocol();
+        Serializer serializer = createSerializer(protocol);
+
+        for (int i = 0; i < 10; i++) {
+            try (AutoClosableEncoder encoder = serializer.retrieveEncoder(createMemoryBuffer())) {
+                encoder.writeObject("test", new TestClass3());
+                fail("TestClass3 must not be serializable");
+            } catch (NoSuchMarshallerException e) {
+                // expected
+            }
+        }
+
+        assertEquals(1, protocol.getResolutionCacheMisses());
+        assertEquals(9, protocol.getResolutionCacheHits());
+    }
+
+    @Test
+    public void test_resolution_cache_state_dependent_filter_is_not_negative_cached()
+            throws Exception {
+
+        AtomicBoolean accepting = new AtomicBoolean();
+        Collection<MarshallerConfiguration> marshallerConfigurations = Collections.singletonList(
+                new MarshallerConfiguration((v) -> accepting.get() ? MarshallerFilter.Result.Accepted //
+                        : MarshallerFilter.Result.Next, new TestIdentifiableMarshaller()));
+
+        DefaultProtocol protocol = (DefaultProtocol) createProtocol(marshallerConfigurations);
+        Serializer serializer = createSerializer(protocol);
+
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(createMemoryBuffer())) {
+            encoder.writeObject("test", new TestClass3());
+            fail("TestClass3 must not be serializable while the filter rejects it");
+        } catch (NoSuchMarshallerException e) {
+            // expected
+        }
+
+        accepting.set(true);
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(createMemoryBuffer())) {
+            encoder.writeObject("test", new TestClass3());
+        }
+
+        assertEquals(2, protocol.getResolutionCacheMisses());
+        assertEquals(0, protocol.getResolutionCacheHits());
+    }
+
+    @Test
+    public void test_resolution_filter_priority_is_registration_order()
+            throws Exception {
+
+        Collection<MarshallerConfiguration> marshallerConfigurations = Arrays.asList(
+                new MarshallerConfiguration((v) -> MarshallerFilter.Result.AcceptedAndCache, new TestIdentifiableMarshaller()),
+                new MarshallerConfiguration((v) -> MarshallerFilter.Result.AcceptedAndCache, new TestIdentifiableMarshaller2()));
+
+        DebuggableProtocol protocol = (DebuggableProtocol) createProtocol(marshallerConfigurations);
+        Serializer serializer = createSerializer(protocol);
+
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
+            encoder.writeObject("test", new TestClass3());
+        }
+
+        try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer)) {
+            Class<?> type = protocol.findType(decoder);
+            assertSame(TestIdentifiableMarshaller.class, type);
+        }
+    }
+
     @Test(expected = SystemException.class)
     public void test_creation_with_custom_marshaller_without_id()
             throws Exception {
@@ -173,6 +298,29 @@ public class DefaultProtocolTestCase
         }
     }
 
+    @Test
+    public void test_read_type_id_allocation_free()
+            throws Exception {
+
+        InputStream testClassStream = DefaultProtocolTestCase.class.getResourceAsStream("DefaultProtocolTestCase");
+        Protocol protocol = createProtocol(testClassStream);
+        Serializer serializer = createSerializer(protocol);
+
+        MemoryBuffer memoryBuffer = createMemoryBuffer();
+        try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
+            protocol.writeTypeId(new TestClass(), encoder);
+        }
+
+        try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer)) {
+            int operations = 100000;
+            long allocated = measureAllocatedBytes(operations, () -> {
+                memoryBuffer.readerIndex(0);
+                protocol.readTypeId(decoder);
+            });
+            assertEquals(0, allocated / operations);
+        }
+    }
+
     @Test
     public void test_read_type_Object()
             throws Exception {
@@ -284,6 +432,15 @@ public class DefaultProtocolTestCase
         }
     }
 
+    public static class TestIdentifiableMarshaller2
+            extends TestIdentifiableMarshaller {
+
+        @Override
+        public Short identifier() {
+            return 9997;
+        }
+    }
+
     public static class TestNonIdentifiableMarshaller
             implements Marshaller<TestClass3> {
 
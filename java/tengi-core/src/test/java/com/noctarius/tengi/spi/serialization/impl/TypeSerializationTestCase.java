@@ -19,12 +19,19 @@ package com.noctarius.tengi.spi.serialization.impl;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
+import com.noctarius.tengi.spi.connection.packets.PollingResponse;
+import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.testing.AbstractTestCase;
+import io.netty.buffer.PooledByteBufAllocator;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class TypeSerializationTestCase
         extends AbstractTestCase {
@@ -185,8 +192,30 @@ public class TypeSerializationTestCase
             throws Exception {
 
         Message value = Message.create("test");
-        Message response = encodeAndDecode(value, 36);
+        Message response = encodeAndDecode(value, 35);
+        assertEquals(value, response);
+    }
+
+    @Test
+    public void test_message_sequence_id_round_trip()
+            throws Exception {
+
+        Message value = Message.create(5, "test");
+        Message response = encodeAndDecode(value, 20);
         assertEquals(value, response);
+        assertEquals(5, response.getSequenceId());
+        assertNull(response.getMessageId());
+    }
+
+    @Test
+    public void test_message_without_id_round_trip()
+            throws Exception {
+
+        Message value = Message.createWithoutId("test");
+        Message response = encodeAndDecode(value, 19);
+        assertEquals(value, response);
+        assertEquals(Message.NO_SEQUENCE_ID, response.getSequenceId());
+        assertNull(response.getMessageId());
     }
 
     @Test
@@ -194,11 +223,11 @@ public class TypeSerializationTestCase
             throws Exception {
 
         SerializationClasses.TestEnum value1 = SerializationClasses.TestEnum.Value1;
-        SerializationClasses.TestEnum response1 = encodeAndDecode(value1, 20);
+        SerializationClasses.TestEnum response1 = encodeAndDecode(value1, 21);
         assertEquals(value1, response1);
 
         SerializationClasses.TestEnum value2 = SerializationClasses.TestEnum.Value2;
-        SerializationClasses.TestEnum response2 = encodeAndDecode(value2, 20);
+        SerializationClasses.TestEnum response2 = encodeAndDecode(value2, 21);
         assertEquals(value2, response2);
     }
 
@@ -240,4 +269,48 @@ public class TypeSerializationTestCase
         assertNull(response);
     }
 
+    @Test
+    public void test_pooled_direct_buffer_round_trip()
+            throws Exception {
+
+        Serializer serializer = createSerializer();
+        MemoryBuffer memoryBuffer = serializer.writeObject("test", "tengi", PooledByteBufAllocator.DEFAULT);
+        try {
+            assertTrue(MemoryBufferFactory.unwrap(memoryBuffer).isDirect());
+            String response = decode(memoryBuffer);
+            assertEquals("tengi", response);
+        } finally {
+            memoryBuffer.release();
+        }
+        assertTrue(memoryBuffer.isReleased());
+    }
+
+    @Test
+    public void test_polling_response_from_encoded_round_trip()
+            throws Exception {
+
+        Serializer serializer = createSerializer();
+        Message message1 = Message.create("first");
+        Message message2 = Message.create("second");
+
+        MemoryBuffer encoded1 = serializer.writeObject("message", message1);
+        MemoryBuffer encoded2 = serializer.writeObject("message", message2);
+
+        PollingResponse original = new PollingResponse(Arrays.asList(message1, message2));
+        PollingResponse fromEncoded = PollingResponse.fromEncoded(Arrays.asList(encoded1, encoded2));
+
+        MemoryBuffer expected = serializer.writeObject("response", original);
+        MemoryBuffer actual = serializer.writeObject("response", fromEncoded);
+
+        byte[] expectedData = new byte[expected.readableBytes()];
+        expected.readBytes(expectedData);
+        byte[] actualData = new byte[actual.readableBytes()];
+        actual.readBytes(actualData);
+        assertArrayEquals(expectedData, actualData);
+
+        actual.readerIndex(0);
+        PollingResponse response = decode(actual);
+        assertEquals(Arrays.asList(message1, message2), response.getMessages());
+    }
+
 }
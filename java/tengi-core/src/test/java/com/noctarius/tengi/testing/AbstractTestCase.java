@@ -31,10 +31,12 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
 import java.util.Collection;
 import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
 
 public abstract class AbstractTestCase {
 
@@ -131,6 +133,33 @@ public abstract class AbstractTestCase {
         return decodeNullable(memoryBuffer);
     }
 
+    public static long measureAllocatedBytes(int operations, Operation operation)
+            throws Exception {
+
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean mxBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeTrue(mxBean.isThreadAllocatedMemorySupported() && mxBean.isThreadAllocatedMemoryEnabled());
+
+        // Warmup to get rid of class loading and interpreter allocations
+        for (int i = 0; i < operations; i++) {
+            operation.execute();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = mxBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < operations; i++) {
+            operation.execute();
+        }
+        return mxBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    protected interface Operation {
+        void execute()
+                throws Exception;
+    }
+
     protected interface SerializationConsumer<C> {
         void consume(C codec, Protocol protocol)
                 throws Exception;
@@ -17,6 +17,7 @@
 package com.noctarius.tengi.server;
 
 import com.noctarius.tengi.core.config.Configuration;
+import com.noctarius.tengi.core.connection.DispatchMetrics;
 import com.noctarius.tengi.core.listener.ConnectedListener;
 import io.netty.channel.Channel;
 
@@ -55,6 +56,14 @@ public interface Server {
      */
     CompletableFuture<Server> stop();
 
+    /**
+     * Returns a snapshot of the queue depths and latencies of the message dispatching lanes as
+     * configured by the {@link com.noctarius.tengi.core.config.DispatchPolicy}.
+     *
+     * @return the current <tt>DispatchMetrics</tt>
+     */
+    DispatchMetrics getDispatchMetrics();
+
     /**
      * This factory method is used to create new <tt>Server</tt> instances. It will use the given configuration
      * to setup internals and to register necessary transports.
@@ -17,6 +17,7 @@
 package com.noctarius.tengi.server;
 
 import com.noctarius.tengi.core.config.Configuration;
+import com.noctarius.tengi.core.connection.DispatchMetrics;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
 import com.noctarius.tengi.core.connection.Transport;
 import com.noctarius.tengi.core.impl.FutureUtil;
@@ -24,7 +25,7 @@ import com.noctarius.tengi.core.impl.Validate;
 import com.noctarius.tengi.core.impl.VersionUtil;
 import com.noctarius.tengi.core.listener.ConnectedListener;
 import com.noctarius.tengi.server.impl.ConnectionManager;
-import com.noctarius.tengi.server.impl.EventManager;
+import com.noctarius.tengi.server.impl.EventLoopGroupManager;
 import com.noctarius.tengi.server.spi.transport.Endpoint;
 import com.noctarius.tengi.server.spi.transport.ServerChannel;
 import com.noctarius.tengi.server.spi.transport.ServerChannelFactory;
@@ -43,8 +44,6 @@ import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -59,9 +58,7 @@ class ServerImpl
 
     private final ConnectionManager connectionManager;
 
-    private final EventManager eventManager;
-
-    private final ExecutorService executor;
+    private final EventLoopGroupManager eventLoopGroupManager;
 
     private final Configuration configuration;
     private final Serializer serializer;
@@ -75,11 +72,10 @@ class ServerImpl
                 VersionUtil.VERSION, VersionUtil.BUILD_DATE);
 
         this.configuration = configuration;
-        this.executor = Executors.newFixedThreadPool(16);
         this.serializer = createSerializer(configuration);
         HandshakeHandler handshakeHandler = createHandshakeHandler(configuration);
         this.connectionManager = new ConnectionManager(configuration, createSslContext(), serializer, handshakeHandler);
-        this.eventManager = new EventManager();
+        this.eventLoopGroupManager = new EventLoopGroupManager(configuration);
     }
 
     @Override
@@ -88,11 +84,12 @@ class ServerImpl
 
         return FutureUtil.executeAsync(() -> {
             if (serverState.transit(ServerState.Started)) {
-                bindChannels();
-
+                // Services need to be ready before the first connection is accepted
                 connectionManager.registerConnectedListener(connectedListener);
                 connectionManager.start();
-                eventManager.start();
+                eventLoopGroupManager.start();
+
+                bindChannels();
             }
             return ServerImpl.this;
         });
@@ -106,10 +103,8 @@ class ServerImpl
                     channel.shutdown();
                 }
 
-                executor.shutdown();
-
+                eventLoopGroupManager.stop();
                 connectionManager.stop();
-                eventManager.stop();
 
                 serverState.transit(ServerState.Stopped);
             }
@@ -117,6 +112,11 @@ class ServerImpl
         });
     }
 
+    @Override
+    public DispatchMetrics getDispatchMetrics() {
+        return connectionManager.getDispatchMetrics();
+    }
+
     private void bindChannels()
             throws Throwable {
 
@@ -164,7 +164,8 @@ class ServerImpl
             throws Throwable {
 
         ServerChannelFactory channelFactory = endpoint.getTransportLayer().serverChannelFactory();
-        ServerChannel channel = channelFactory.newServerChannel(endpoint, executor, connectionManager, serializer);
+        ServerChannel channel = channelFactory.newServerChannel( //
+                endpoint, eventLoopGroupManager, connectionManager, serializer);
         channelEngpoints.put(endpoint, channel);
         return channel;
     }
@@ -45,7 +45,10 @@ public enum ServerTransports
     HTTP_TRANSPORT(new HttpTransport()),
 
     /**
-     * Reserved for later implementation
+     * <p>This constant defines a HTTP/2 based {@link com.noctarius.tengi.core.connection.Transport}
+     * implementation. Every connection is bound to a single long-lived bidirectional HTTP/2 stream,
+     * therefore multiple connections can be multiplexed over the same socket connection while
+     * honoring HTTP/2 flow-control.</p>
      */
     HTTP2_TRANSPORT(new Http2Transport()),
 
@@ -16,20 +16,28 @@
  */
 package com.noctarius.tengi.server.impl;
 
+import com.noctarius.tengi.core.config.MessageIdPolicy;
+import com.noctarius.tengi.core.config.OutboundPolicy;
 import com.noctarius.tengi.core.connection.Transport;
+import com.noctarius.tengi.core.listener.ConnectedListener;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
 import com.noctarius.tengi.spi.connection.AbstractConnection;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
 import com.noctarius.tengi.spi.serialization.Serializer;
 
+import java.util.Collection;
+
 public class ClientConnection
         extends AbstractConnection {
 
     ClientConnection(ConnectionContext connectionContext, Identifier connectionId, //
-                     Transport transport, Serializer serializer) {
+                     Transport transport, Serializer serializer, OutboundPolicy outboundPolicy, //
+                     MessageDispatcher messageDispatcher, MessageIdPolicy messageIdPolicy) {
 
-        super(connectionContext, connectionId, transport, serializer);
+        super(connectionContext, connectionId, transport, serializer, //
+                outboundPolicy, messageDispatcher, messageIdPolicy);
     }
 
     public ConnectionContext getConnectionContext() {
@@ -37,7 +45,12 @@ public class ClientConnection
     }
 
     void publishMessage(Message message) {
-        getMessageListeners().forEach((listener) -> listener.onMessage(this, message));
+        // Listeners are called in order per connection but might run outside of the event loop
+        dispatch(() -> getMessageListeners().forEach((listener) -> listener.onMessage(this, message)));
+    }
+
+    void publishConnected(Collection<ConnectedListener> connectedListeners) {
+        dispatch(() -> connectedListeners.forEach((listener) -> listener.onConnection(this)));
     }
 
     @Override
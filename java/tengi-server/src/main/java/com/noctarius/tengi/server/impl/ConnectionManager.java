@@ -17,7 +17,9 @@
 package com.noctarius.tengi.server.impl;
 
 import com.noctarius.tengi.core.config.Configuration;
-import com.noctarius.tengi.core.connection.Connection;
+import com.noctarius.tengi.core.config.MessageIdPolicy;
+import com.noctarius.tengi.core.config.OutboundPolicy;
+import com.noctarius.tengi.core.connection.DispatchMetrics;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
 import com.noctarius.tengi.core.connection.Transport;
 import com.noctarius.tengi.core.connection.TransportLayer;
@@ -31,16 +33,21 @@ import com.noctarius.tengi.server.impl.transport.negotiation.SnappyNegotiator;
 import com.noctarius.tengi.server.spi.negotiation.NegotiableTransport;
 import com.noctarius.tengi.server.spi.negotiation.Negotiator;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
 import com.noctarius.tengi.spi.connection.packets.PollingRequest;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import io.netty.channel.Channel;
 import io.netty.handler.ssl.SslContext;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import io.netty.util.internal.ConcurrentSet;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,9 +61,15 @@ public class ConnectionManager
     private final SslContext sslContext;
     private final Serializer serializer;
     private final HandshakeHandler handshakeHandler;
+    private final MessageDispatcher messageDispatcher;
 
     private final Transport[] negotiatableTransports;
 
+    // A single wheel serves all connection timeouts, e.g. parked long-polling requests. It is created
+    // eagerly since handshakes might be accepted as soon as channels are bound, the worker thread starts
+    // lazily with the first scheduled timeout
+    private final Timer timer;
+
     public ConnectionManager(Configuration configuration, SslContext sslContext, //
                              Serializer serializer, HandshakeHandler handshakeHandler) {
 
@@ -64,8 +77,10 @@ public class ConnectionManager
         this.sslContext = sslContext;
         this.serializer = serializer;
         this.handshakeHandler = handshakeHandler;
+        this.messageDispatcher = new MessageDispatcher(configuration.getDispatchPolicy(), "tengi-dispatcher-");
 
         this.negotiatableTransports = buildNegotiableTransports(configuration);
+        this.timer = new HashedWheelTimer(new DefaultThreadFactory("tengi-timer", true), 100, TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -74,6 +89,8 @@ public class ConnectionManager
 
     @Override
     public void stop() {
+        timer.stop();
+        messageDispatcher.shutdown();
     }
 
     public boolean acceptTransport(Transport transport, int port) {
@@ -85,6 +102,14 @@ public class ConnectionManager
         return false;
     }
 
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    public Timer getTimer() {
+        return timer;
+    }
+
     public SslContext getSslContext() {
         return sslContext;
     }
@@ -97,11 +122,20 @@ public class ConnectionManager
         return handshakeHandler;
     }
 
-    public Connection assignConnection(Identifier connectionId, ConnectionContext connectionContext, Transport transport) {
-        Connection connection = connections.computeIfAbsent(connectionId,
-                (key) -> new ClientConnection(connectionContext, connectionId, transport, serializer));
+    public DispatchMetrics getDispatchMetrics() {
+        return messageDispatcher.getMetrics();
+    }
+
+    public ClientConnection assignConnection(Identifier connectionId, ConnectionContext connectionContext,
+                                             Transport transport) {
+        OutboundPolicy outboundPolicy = configuration.getOutboundPolicy();
+        MessageIdPolicy messageIdPolicy = configuration.getMessageIdPolicy();
+        ClientConnection connection = connections.computeIfAbsent(connectionId,
+                (key) -> new ClientConnection(connectionContext, connectionId, transport, //
+                        serializer, outboundPolicy, messageDispatcher, messageIdPolicy));
 
-        connectedListeners.forEach((listener) -> listener.onConnection(connection));
+        // Runs on the connection's lane, before any message of the connection is dispatched
+        connection.publishConnected(connectedListeners);
         return connection;
     }
 
@@ -110,7 +144,10 @@ public class ConnectionManager
         if (connection == null) {
             throw new NoSuchConnectionException("ConnectionId '" + connectionId.toString() + "' is not registered");
         }
+        publishMessage(channel, connection, message);
+    }
 
+    public void publishMessage(Channel channel, ClientConnection connection, Message message) {
         if (!connection.getTransport().isStreaming() && message.getBody() instanceof PollingRequest) {
             PollingRequest request = message.getBody();
             connection.getConnectionContext().processPollingRequest(channel, connection, request);
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.server.impl;
+
+import com.noctarius.tengi.core.config.Configuration;
+import com.noctarius.tengi.core.config.ThreadingPolicy;
+import com.noctarius.tengi.server.impl.transport.ChannelBackend;
+import com.noctarius.tengi.server.spi.transport.Endpoint;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.nio.channels.spi.SelectorProvider;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The <tt>EventLoopGroupManager</tt> creates the event loop groups of all endpoints according to
+ * their {@link com.noctarius.tengi.core.config.ThreadingPolicy} and shuts them down when the server
+ * is stopped. Groups without a special selector implementation are created by the
+ * {@link com.noctarius.tengi.server.impl.transport.ChannelBackend} selected for the server.
+ */
+public class EventLoopGroupManager
+        implements Service {
+
+    private final List<EventLoopGroup> eventLoopGroups = new CopyOnWriteArrayList<>();
+
+    private final Configuration configuration;
+    private final ChannelBackend channelBackend;
+
+    private EventLoopGroup sharedWorkerGroup;
+
+    public EventLoopGroupManager(Configuration configuration) {
+        this.configuration = configuration;
+        this.channelBackend = ChannelBackend.select(configuration);
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        for (EventLoopGroup eventLoopGroup : eventLoopGroups) {
+            eventLoopGroup.shutdownGracefully().syncUninterruptibly();
+        }
+        eventLoopGroups.clear();
+    }
+
+    public ChannelBackend channelBackend() {
+        return channelBackend;
+    }
+
+    public int bossThreads(Endpoint endpoint) {
+        return configuration.getThreadingPolicy(endpoint.getPort()).getBossThreads();
+    }
+
+    public EventLoopGroup bossGroup(Endpoint endpoint) {
+        ThreadingPolicy threadingPolicy = configuration.getThreadingPolicy(endpoint.getPort());
+        return newEventLoopGroup(threadName("boss", endpoint), threadingPolicy.getBossThreads());
+    }
+
+    public EventLoopGroup bossGroup(Endpoint endpoint, SelectorProvider selectorProvider) {
+        ThreadingPolicy threadingPolicy = configuration.getThreadingPolicy(endpoint.getPort());
+        return newEventLoopGroup(threadName("boss", endpoint), threadingPolicy.getBossThreads(), selectorProvider);
+    }
+
+    public EventLoopGroup workerGroup(Endpoint endpoint) {
+        ThreadingPolicy threadingPolicy = configuration.getThreadingPolicy(endpoint.getPort());
+        if (threadingPolicy.isSharedWorkerGroup()) {
+            return sharedWorkerGroup();
+        }
+        return newEventLoopGroup(threadName("worker", endpoint), threadingPolicy.getWorkerThreads());
+    }
+
+    public EventLoopGroup workerGroup(Endpoint endpoint, SelectorProvider selectorProvider) {
+        // Groups using a special selector implementation can't be shared with other endpoints
+        ThreadingPolicy threadingPolicy = configuration.getThreadingPolicy(endpoint.getPort());
+        return newEventLoopGroup(threadName("worker", endpoint), threadingPolicy.getWorkerThreads(), selectorProvider);
+    }
+
+    private synchronized EventLoopGroup sharedWorkerGroup() {
+        if (sharedWorkerGroup == null || sharedWorkerGroup.isShuttingDown()) {
+            int workerThreads = configuration.getThreadingPolicy().getWorkerThreads();
+            sharedWorkerGroup = newEventLoopGroup("tengi-worker-shared", workerThreads);
+        }
+        return sharedWorkerGroup;
+    }
+
+    private EventLoopGroup newEventLoopGroup(String threadName, int threads) {
+        DefaultThreadFactory threadFactory = new DefaultThreadFactory(threadName);
+        EventLoopGroup eventLoopGroup = channelBackend.newEventLoopGroup(threads, threadFactory);
+        eventLoopGroups.add(eventLoopGroup);
+        return eventLoopGroup;
+    }
+
+    private EventLoopGroup newEventLoopGroup(String threadName, int threads, SelectorProvider selectorProvider) {
+        DefaultThreadFactory threadFactory = new DefaultThreadFactory(threadName);
+        EventLoopGroup eventLoopGroup = new NioEventLoopGroup(threads, threadFactory, selectorProvider);
+        eventLoopGroups.add(eventLoopGroup);
+        return eventLoopGroup;
+    }
+
+    private String threadName(String purpose, Endpoint endpoint) {
+        String transportLayer = endpoint.getTransportLayer().name().toLowerCase();
+        return "tengi-" + purpose + "-" + transportLayer + "-" + endpoint.getPort();
+    }
+
+}
@@ -17,13 +17,21 @@
 package com.noctarius.tengi.server.impl;
 
 import com.noctarius.tengi.core.model.Identifier;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
 
+import java.util.concurrent.CompletableFuture;
+
 public class ServerUtil {
 
     public static final AttributeKey<Identifier> CONNECTION_ID = AttributeKey.newInstance("CONNECTION_ID");
+    public static final AttributeKey<ClientConnection> CONNECTION = AttributeKey.newInstance("CONNECTION");
+    public static final AttributeKey<Boolean> KEEP_ALIVE = AttributeKey.newInstance("KEEP_ALIVE");
 
     public static <T> T connectionAttribute(ChannelHandlerContext ctx, AttributeKey<T> key) {
         return connectionAttribute(ctx, key, false);
@@ -42,6 +50,49 @@ public class ServerUtil {
         attribute.set(value);
     }
 
+    public static <T> T connectionAttribute(Channel channel, AttributeKey<T> key) {
+        Attribute<T> attribute = channel.attr(key);
+        if (attribute != null) {
+            return attribute.get();
+        }
+        return null;
+    }
+
+    public static <T> void connectionAttribute(Channel channel, AttributeKey<T> key, T value) {
+        Attribute<T> attribute = channel.attr(key);
+        attribute.set(value);
+    }
+
+    public static <T> CompletableFuture<T> completableFuture(ChannelFuture channelFuture, T value) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        channelFuture.addListener((ChannelFutureListener) (f) -> {
+            if (f.isSuccess()) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(f.cause());
+            }
+        });
+        return future;
+    }
+
+    public static ChannelFutureListener aggregatingListener(ChannelPromise promise, int count) {
+        // Listeners are always notified from inside the channel's event loop, no synchronization necessary
+        return new ChannelFutureListener() {
+            private int remaining = count;
+
+            @Override
+            public void operationComplete(ChannelFuture future)
+                    throws Exception {
+
+                if (!future.isSuccess()) {
+                    promise.tryFailure(future.cause());
+                } else if (--remaining == 0) {
+                    promise.trySuccess();
+                }
+            }
+        };
+    }
+
     private ServerUtil() {
     }
 
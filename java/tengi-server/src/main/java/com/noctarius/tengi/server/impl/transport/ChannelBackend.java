@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.server.impl.transport;
+
+import com.noctarius.tengi.core.config.Configuration;
+import com.noctarius.tengi.spi.logging.Logger;
+import com.noctarius.tengi.spi.logging.LoggerManager;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>The <tt>ChannelBackend</tt> abstracts the socket implementation used by the stream based
+ * server channels. The native epoll backend is selected if it is enabled in the
+ * {@link com.noctarius.tengi.core.config.Configuration} and the native library is available
+ * on the current platform, otherwise the Java NIO backend is used.</p>
+ * <p>Native classes are only referenced from the epoll backend itself, therefore the native
+ * library is an optional dependency.</p>
+ */
+public abstract class ChannelBackend {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(ChannelBackend.class);
+
+    private static final boolean EPOLL_AVAILABLE = isEpollAvailable();
+
+    public static ChannelBackend select(Configuration configuration) {
+        if (configuration.isNativeTransportEnabled() && EPOLL_AVAILABLE) {
+            return EpollChannelBackend.INSTANCE;
+        }
+        return NioChannelBackend.INSTANCE;
+    }
+
+    public abstract String name();
+
+    public abstract EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory);
+
+    public abstract Class<? extends ServerSocketChannel> serverSocketChannelType();
+
+    /**
+     * Returns if multiple server channels can be bound to the same port, to let the kernel
+     * distribute accepted connections over all of them.
+     *
+     * @return true if the backend supports <tt>SO_REUSEPORT</tt>, otherwise false
+     */
+    public abstract boolean isReusePortSupported();
+
+    public abstract void configure(ServerBootstrap bootstrap);
+
+    private static boolean isEpollAvailable() {
+        try {
+            Class.forName("io.netty.channel.epoll.Epoll", false, ChannelBackend.class.getClassLoader());
+            boolean available = EpollChannelBackend.isAvailable();
+            if (!available) {
+                LOGGER.info("Native epoll transport is not available on this platform, using NIO instead");
+            }
+            return available;
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Native transport is an optional dependency
+            return false;
+        }
+    }
+
+}
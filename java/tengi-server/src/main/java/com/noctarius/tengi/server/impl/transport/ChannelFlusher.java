@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.server.impl.transport;
+
+import com.noctarius.tengi.core.config.FlushPolicy;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static com.noctarius.tengi.server.impl.ServerUtil.aggregatingListener;
+
+/**
+ * The <tt>ChannelFlusher</tt> coalesces writes to a {@link io.netty.channel.Channel} based
+ * on a configured {@link com.noctarius.tengi.core.config.FlushPolicy}. Writes are submitted
+ * directly to the channel's {@link io.netty.channel.EventLoop}, enqueued without flushing and
+ * the flush is triggered whenever one of the policy's limits is reached. All internal state is
+ * only ever touched from inside the event loop. The returned {@link io.netty.channel.ChannelFuture}s
+ * complete as soon as the written data was handed to the socket, or fail with the write's cause.
+ */
+public final class ChannelFlusher {
+
+    private final Runnable delayedFlushTask = this::delayedFlush;
+
+    private final Channel channel;
+    private final FlushPolicy flushPolicy;
+
+    private int pendingMessages;
+    private long pendingBytes;
+    private boolean flushScheduled;
+
+    public ChannelFlusher(Channel channel, FlushPolicy flushPolicy) {
+        this.channel = channel;
+        this.flushPolicy = flushPolicy;
+    }
+
+    public ChannelFuture write(Object message, int bytes) {
+        if (flushPolicy.isImmediate()) {
+            return channel.writeAndFlush(message);
+        }
+
+        ChannelPromise promise = channel.newPromise();
+        EventLoop eventLoop = channel.eventLoop();
+        if (eventLoop.inEventLoop()) {
+            write0(message, bytes, promise);
+        } else {
+            eventLoop.execute(() -> write0(message, bytes, promise));
+        }
+        return promise;
+    }
+
+    public ChannelFuture writeAll(Collection<?> messages, int bytes) {
+        ChannelPromise promise = channel.newPromise();
+        EventLoop eventLoop = channel.eventLoop();
+        if (eventLoop.inEventLoop()) {
+            writeAll0(messages, bytes, promise);
+        } else {
+            eventLoop.execute(() -> writeAll0(messages, bytes, promise));
+        }
+        return promise;
+    }
+
+    private void write0(Object message, int bytes, ChannelPromise promise) {
+        channel.write(message, promise);
+        pendingMessages++;
+        pendingBytes += bytes;
+
+        int maxMessages = flushPolicy.getMaxMessages();
+        int maxBytes = flushPolicy.getMaxBytes();
+        if ((maxMessages > 0 && pendingMessages >= maxMessages) || (maxBytes > 0 && pendingBytes >= maxBytes)) {
+            flush0();
+            return;
+        }
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            EventLoop eventLoop = channel.eventLoop();
+            long maxDelayMicros = flushPolicy.getMaxDelayMicros();
+            if (maxDelayMicros > 0 && !flushPolicy.isFlushOnIdle()) {
+                eventLoop.schedule(delayedFlushTask, maxDelayMicros, TimeUnit.MICROSECONDS);
+            } else {
+                // Queued behind all currently pending tasks, executed when the event loop runs out of work.
+                // Also used without a configured delay to never leave writes below the limits unflushed
+                eventLoop.execute(delayedFlushTask);
+            }
+        }
+    }
+
+    private void writeAll0(Collection<?> messages, int bytes, ChannelPromise promise) {
+        if (messages.isEmpty()) {
+            promise.trySuccess();
+            return;
+        }
+
+        ChannelFutureListener listener = aggregatingListener(promise, messages.size());
+        for (Object message : messages) {
+            channel.write(message).addListener(listener);
+        }
+        pendingMessages += messages.size();
+        pendingBytes += bytes;
+        flush0();
+    }
+
+    private void delayedFlush() {
+        flushScheduled = false;
+        flush0();
+    }
+
+    private void flush0() {
+        if (pendingMessages > 0) {
+            pendingMessages = 0;
+            pendingBytes = 0;
+            channel.flush();
+        }
+    }
+
+}
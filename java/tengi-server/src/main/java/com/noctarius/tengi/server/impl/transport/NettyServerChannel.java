@@ -21,10 +21,13 @@ import com.noctarius.tengi.server.spi.transport.ServerChannel;
 import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
 
+import java.util.Collections;
+import java.util.List;
+
 public class NettyServerChannel
         implements ServerChannel<Channel> {
 
-    protected final Channel channel;
+    protected final List<Channel> channels;
     protected final EventLoopGroup bossGroup;
     protected final EventLoopGroup workerGroup;
     protected final int port;
@@ -33,7 +36,13 @@ public class NettyServerChannel
     public NettyServerChannel(Channel channel, EventLoopGroup bossGroup, EventLoopGroup workerGroup, int port,
                               TransportLayer transportLayer) {
 
-        this.channel = channel;
+        this(Collections.singletonList(channel), bossGroup, workerGroup, port, transportLayer);
+    }
+
+    public NettyServerChannel(List<Channel> channels, EventLoopGroup bossGroup, EventLoopGroup workerGroup, int port,
+                              TransportLayer transportLayer) {
+
+        this.channels = channels;
         this.bossGroup = bossGroup;
         this.workerGroup = workerGroup;
         this.port = port;
@@ -42,7 +51,7 @@ public class NettyServerChannel
 
     @Override
     public Channel socket() {
-        return channel;
+        return channels.get(0);
     }
 
     @Override
@@ -53,9 +62,10 @@ public class NettyServerChannel
     public void shutdown()
             throws Exception {
 
-        channel.close().sync().get();
-        bossGroup.shutdownGracefully().sync().get();
-        workerGroup.shutdownGracefully().sync().get();
+        // Event loop groups might be shared and are shut down by the EventLoopGroupManager
+        for (Channel channel : channels) {
+            channel.close().sync().get();
+        }
     }
 
     @Override
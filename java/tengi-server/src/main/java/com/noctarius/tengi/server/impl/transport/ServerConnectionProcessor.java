@@ -16,25 +16,32 @@
  */
 package com.noctarius.tengi.server.impl.transport;
 
-import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.HandshakeHandler;
 import com.noctarius.tengi.core.connection.Transport;
+import com.noctarius.tengi.core.exception.NoSuchConnectionException;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
+import com.noctarius.tengi.server.impl.ClientConnection;
 import com.noctarius.tengi.server.impl.ConnectionManager;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
+import com.noctarius.tengi.spi.buffer.ReadableMemoryBuffer;
 import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.connection.packets.Handshake;
+import com.noctarius.tengi.spi.connection.packets.PollingRequest;
 import com.noctarius.tengi.spi.serialization.Serializer;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 
+import static com.noctarius.tengi.server.impl.ServerUtil.CONNECTION;
 import static com.noctarius.tengi.server.impl.ServerUtil.CONNECTION_ID;
 import static com.noctarius.tengi.server.impl.ServerUtil.connectionAttribute;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_HANDSHAKE;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_SESSION;
 
 public abstract class ServerConnectionProcessor<T>
         extends SimpleChannelInboundHandler<T> {
@@ -68,17 +75,43 @@ public abstract class ServerConnectionProcessor<T>
                 return;
             }
 
-            boolean loggedIn = decoder.readBoolean();
+            byte header = decoder.readByte();
 
-            if (!loggedIn) {
+            if (header == PACKET_HEADER_HANDSHAKE) {
                 handleHandshakeRequest(ctx, decoder);
                 return;
             }
 
-            Identifier connectionId = decoder.readObject();
-            connectionAttribute(ctx, CONNECTION_ID, connectionId);
-            Message message = decoder.readObject();
-            connectionManager.publishMessage(ctx.channel(), connectionId, message);
+            // Batched writes might deliver multiple packets in a single buffer
+            ReadableMemoryBuffer memoryBuffer = decoder.getReadableMemoryBuffer();
+            boolean pollingRequest = false;
+            while (true) {
+                Message message;
+                if (header == PACKET_HEADER_SESSION) {
+                    // Session-bound packets omit the connectionId, the channel knows the connection since handshake
+                    ClientConnection connection = connectionAttribute(ctx, CONNECTION);
+                    if (connection == null) {
+                        throw new NoSuchConnectionException("Session-bound packet received before handshake");
+                    }
+                    message = decoder.readObject();
+                    connectionManager.publishMessage(ctx.channel(), connection, message);
+
+                } else {
+                    Identifier connectionId = decoder.readObject();
+                    connectionAttribute(ctx, CONNECTION_ID, connectionId);
+                    message = decoder.readObject();
+                    connectionManager.publishMessage(ctx.channel(), connectionId, message);
+                }
+                pollingRequest |= message.getBody() instanceof PollingRequest;
+
+                if (memoryBuffer.readableBytes() == 0) {
+                    break;
+                }
+                header = readBatchedHeader(decoder);
+            }
+
+            // Some transports might need to answer the request (like HTTP upstream requests)
+            handleMessages(ctx, msg, pollingRequest);
         }
     }
 
@@ -89,6 +122,15 @@ public abstract class ServerConnectionProcessor<T>
         ctx.flush();
     }
 
+    private static byte readBatchedHeader(AutoClosableDecoder decoder) {
+        byte header = decoder.readByte();
+        if (header == PACKET_HEADER_HANDSHAKE) {
+            // A handshake is always sent on its own, the buffer is corrupt or the client misbehaves
+            throw new IllegalStateException("Handshake packet received inside of a batched buffer");
+        }
+        return header;
+    }
+
     protected Serializer getSerializer() {
         return serializer;
     }
@@ -101,6 +143,15 @@ public abstract class ServerConnectionProcessor<T>
         return connectionManager;
     }
 
+    protected void handleMessages(ChannelHandlerContext ctx, T msg, boolean pollingRequest) {
+    }
+
+    protected StringDictionary stringDictionary(ChannelHandlerContext ctx) {
+        // Before the handshake no connection is assigned and no dictionary references are expected
+        ClientConnection connection = connectionAttribute(ctx, CONNECTION);
+        return connection == null ? null : connection.getConnectionContext().getStringDictionary();
+    }
+
     protected abstract AutoClosableDecoder decode(ChannelHandlerContext ctx, T msg)
             throws Exception;
 
@@ -129,7 +180,8 @@ public abstract class ServerConnectionProcessor<T>
 
         connectionAttribute(ctx, CONNECTION_ID, connectionId);
         ConnectionContext connectionContext = createConnectionContext(ctx, connectionId);
-        Connection connection = connectionManager.assignConnection(connectionId, connectionContext, transport);
+        ClientConnection connection = connectionManager.assignConnection(connectionId, connectionContext, transport);
+        connectionAttribute(ctx, CONNECTION, connection);
         connectionContext.writeSocket(ctx.channel(), connection, createHandshakeResponse(ctx, handshakeResponse));
     }
 
@@ -16,6 +16,8 @@
  */
 package com.noctarius.tengi.server.impl.transport.base;
 
+import com.noctarius.tengi.core.config.Configuration;
+import com.noctarius.tengi.core.config.FlushPolicy;
 import com.noctarius.tengi.core.connection.Transport;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.server.impl.ConnectionManager;
@@ -25,6 +27,7 @@ import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -42,12 +45,16 @@ public abstract class AbstractBaseConnectionProcessor
             throws Exception {
 
         MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
-        return getSerializer().retrieveDecoder(memoryBuffer);
+        return getSerializer().retrieveDecoder(memoryBuffer, stringDictionary(ctx));
     }
 
     @Override
     protected ConnectionContext createConnectionContext(ChannelHandlerContext ctx, Identifier connectionId) {
-        return new BaseConnectionContext(ctx.channel(), connectionId, getSerializer(), getTransport());
+        Configuration configuration = getConnectionManager().getConfiguration();
+        FlushPolicy flushPolicy = configuration.getFlushPolicy();
+        StringDictionary stringDictionary = new StringDictionary(configuration.getStringDictionarySize());
+        return new BaseConnectionContext(ctx.channel(), connectionId, getSerializer(), getTransport(), flushPolicy, //
+                                         stringDictionary);
     }
 
 }
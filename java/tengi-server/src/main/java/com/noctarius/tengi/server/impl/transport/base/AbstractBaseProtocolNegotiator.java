@@ -50,7 +50,10 @@ public abstract class AbstractBaseProtocolNegotiator
             Serializer serializer = context.getSerializer();
             ConnectionManager connectionManager = context.getConnectionManager();
 
+            // Everything following the magic header is length-prefixed
             ChannelPipeline pipeline = ctx.pipeline();
+            pipeline.addLast("frame-decoder", new LengthFrameDecoder());
+            pipeline.addLast("frame-encoder", LengthFrameEncoder.INSTANCE);
             pipeline.addLast("tcp-connection-processor", getConnectionProcessor(connectionManager, serializer));
             return NegotiationResult.Successful;
         }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.server.impl.transport.base;
+
+import com.noctarius.tengi.spi.serialization.codec.impl.FrameCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.util.List;
+
+public class LengthFrameDecoder
+        extends ByteToMessageDecoder {
+
+    private final int maxFrameLength;
+
+    public LengthFrameDecoder() {
+        this(FrameCodec.DEFAULT_MAX_FRAME_LENGTH);
+    }
+
+    public LengthFrameDecoder(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out)
+            throws Exception {
+
+        ByteBuf frame;
+        while ((frame = FrameCodec.decodeFrame(in, maxFrameLength)) != null) {
+            out.add(frame);
+        }
+    }
+
+}
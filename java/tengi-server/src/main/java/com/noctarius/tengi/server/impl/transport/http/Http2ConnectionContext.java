@@ -18,32 +18,44 @@ package com.noctarius.tengi.server.impl.transport.http;
 
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.Transport;
-import com.noctarius.tengi.core.impl.FutureUtil;
+import com.noctarius.tengi.core.exception.ConnectionDestroyedException;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
 import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.serialization.Serializer;
+import com.noctarius.tengi.spi.serialization.codec.impl.FrameCodec;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http2.DefaultHttp2Headers;
 import io.netty.handler.codec.http2.Http2ConnectionEncoder;
 import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.util.concurrent.EventExecutor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.noctarius.tengi.server.impl.ServerUtil.completableFuture;
 
 class Http2ConnectionContext
         extends ConnectionContext<Http2ConnectionEncoder> {
 
-    private final AtomicInteger pushStreamId = new AtomicInteger();
-
     private final Http2ConnectionEncoder encoder;
     private final ChannelHandlerContext ctx;
     private final int streamId;
 
+    // Only accessed from inside the channel's event loop
+    private boolean headersSent;
+    private boolean closed;
+
     Http2ConnectionContext(Identifier connectionId, Serializer serializer, Transport transport, Http2ConnectionEncoder encoder,
                            int streamId, ChannelHandlerContext ctx) {
 
@@ -57,11 +69,29 @@ class Http2ConnectionContext
     public CompletableFuture<Message> writeMemoryBuffer(MemoryBuffer memoryBuffer, Message message)
             throws Exception {
 
-        ByteBuf bb = ctx.alloc().directBuffer();
-        MemoryBuffer buffer = preparePacket(MemoryBufferFactory.create(bb));
-        buffer.writeBuffer(memoryBuffer);
+        ByteBuf bb = MemoryBufferFactory.unwrap(memoryBuffer);
+        ChannelPromise promise = ctx.newPromise();
+        inEventLoop(() -> writeToStream(Collections.singletonList(bb), promise));
+        return completableFuture(promise, message);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Message>> writeMemoryBuffers(List<MemoryBuffer> memoryBuffers,
+                                                                     List<Message> messages)
+            throws Exception {
+
+        ChannelPromise promise = ctx.newPromise();
+        if (memoryBuffers.isEmpty()) {
+            promise.setSuccess();
+            return completableFuture(promise, messages);
+        }
 
-        return FutureUtil.executeAsync(() -> writeToStream(bb, message));
+        List<ByteBuf> packets = new ArrayList<>(memoryBuffers.size());
+        for (MemoryBuffer memoryBuffer : memoryBuffers) {
+            packets.add(MemoryBufferFactory.unwrap(memoryBuffer));
+        }
+        inEventLoop(() -> writeToStream(packets, promise));
+        return completableFuture(promise, messages);
     }
 
     @Override
@@ -73,23 +103,76 @@ class Http2ConnectionContext
         MemoryBuffer buffer = preparePacket(MemoryBufferFactory.create(bb));
         buffer.writeBuffer(memoryBuffer);
 
-        return FutureUtil.executeAsync(() -> writeToStream(bb, connection));
+        ChannelPromise promise = ctx.newPromise();
+        inEventLoop(() -> writeToStream(Collections.singletonList(bb), promise));
+        return completableFuture(promise, connection);
+    }
+
+    @Override
+    protected ByteBufAllocator getAllocator() {
+        return ctx.alloc();
     }
 
     @Override
     public CompletableFuture<Connection> close(Connection connection) {
-        return FutureUtil.executeAsync(() -> {
-            encoder.close();
-            ctx.close();
-            return connection;
+        ChannelPromise promise = ctx.newPromise();
+        inEventLoop(() -> {
+            if (closed) {
+                promise.setSuccess();
+                return;
+            }
+            closed = true;
+
+            // Only end this connection's stream, other streams share the same channel
+            if (!headersSent) {
+                headersSent = true;
+                encoder.writeHeaders(ctx, streamId, responseHeaders(), 0, true, promise);
+            } else {
+                encoder.writeData(ctx, streamId, Unpooled.EMPTY_BUFFER, 0, true, promise);
+            }
+            ctx.flush();
         });
+        return completableFuture(promise, connection);
     }
 
-    private <R> R writeToStream(ByteBuf buffer, R returnObject) {
-        Http2Headers headers = new DefaultHttp2Headers().status(HttpResponseStatus.OK.codeAsText());
-        encoder.writeHeaders(ctx, streamId, headers, 0, false, ctx.newPromise());
-        encoder.writeData(ctx, streamId, buffer, 0, false, ctx.newPromise());
+    void streamClosed() {
+        // Stream was reset by the client, nothing can be written anymore
+        closed = true;
+    }
+
+    private void writeToStream(List<ByteBuf> packets, ChannelPromise promise) {
+        if (closed) {
+            packets.forEach(ByteBuf::release);
+            promise.setFailure(new ConnectionDestroyedException("Stream already closed"));
+            return;
+        }
+
+        // The stream stays open, response headers are only sent once
+        if (!headersSent) {
+            headersSent = true;
+            encoder.writeHeaders(ctx, streamId, responseHeaders(), 0, false, ctx.newPromise());
+        }
+
+        // Packets are length-framed, the flow controller is free to split the data into multiple DATA frames
+        ByteBuf[] frames = new ByteBuf[packets.size()];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = FrameCodec.encodeFrame(packets.get(i), ctx.alloc());
+        }
+        encoder.writeData(ctx, streamId, Unpooled.wrappedBuffer(frames), 0, false, promise);
         ctx.flush();
-        return returnObject;
+    }
+
+    private Http2Headers responseHeaders() {
+        return new DefaultHttp2Headers().status(HttpResponseStatus.OK.codeAsText());
+    }
+
+    private void inEventLoop(Runnable task) {
+        // The encoder is not thread-safe, all stream writes must happen on the channel's event loop
+        EventExecutor executor = ctx.executor();
+        if (executor.inEventLoop()) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
     }
 }
@@ -25,11 +25,11 @@ import com.noctarius.tengi.server.ServerTransports;
 import com.noctarius.tengi.server.impl.ConnectionManager;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
 import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
-import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.connection.packets.Handshake;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
+import com.noctarius.tengi.spi.serialization.codec.impl.FrameCodec;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http2.DefaultHttp2Connection;
@@ -38,15 +38,23 @@ import io.netty.handler.codec.http2.Http2ConnectionHandler;
 import io.netty.handler.codec.http2.Http2Error;
 import io.netty.handler.codec.http2.Http2Exception;
 import io.netty.handler.codec.http2.Http2FrameAdapter;
-import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
 
-import static com.noctarius.tengi.server.impl.ServerUtil.CONNECTION_ID;
-import static com.noctarius.tengi.server.impl.ServerUtil.connectionAttribute;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_HANDSHAKE;
 
+/**
+ * The <tt>Http2ConnectionProcessor</tt> multiplexes tengi connections over a single HTTP/2
+ * connection. Every tengi connection is bound to one long-lived bidirectional stream, opened
+ * by the client and kept open in both directions until the connection is closed. Packets are
+ * length-framed inside the DATA frames of the stream, a single packet might therefore span
+ * multiple DATA frames and a single DATA frame might carry multiple packets.
+ */
 class Http2ConnectionProcessor
         extends Http2ConnectionHandler {
 
     private final ConnectionManager connectionManager;
+    private final InternalFrameAdapter adapter;
 
     Http2ConnectionProcessor(ConnectionManager connectionManager, Serializer serializer) {
         super(new DefaultHttp2Connection(true), new InternalFrameAdapter());
@@ -56,6 +64,7 @@ class Http2ConnectionProcessor
         adapter.connectionManager(connectionManager);
         adapter.transport(ServerTransports.HTTP2_TRANSPORT);
         this.connectionManager = connectionManager;
+        this.adapter = adapter;
     }
 
     @Override
@@ -63,15 +72,31 @@ class Http2ConnectionProcessor
             throws Exception {
 
         ctx.channel().close();
-        Identifier connectionId = connectionAttribute(ctx, CONNECTION_ID);
-        connectionManager.exceptionally(connectionId, cause);
+
+        // All streams share the channel, every multiplexed connection is affected
+        for (StreamSession session : adapter.sessions()) {
+            if (session.connectionId != null) {
+                connectionManager.exceptionally(session.connectionId, cause);
+            }
+        }
 
         super.exceptionCaught(ctx, cause);
     }
 
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx)
+            throws Exception {
+
+        adapter.closeAll();
+        super.channelInactive(ctx);
+    }
+
     private static class InternalFrameAdapter
             extends Http2FrameAdapter {
 
+        // Only accessed from inside the channel's event loop
+        private final IntObjectMap<StreamSession> streams = new IntObjectHashMap<>();
+
         private Http2ConnectionEncoder encoder;
         private ConnectionManager connectionManager;
         private Serializer serializer;
@@ -93,66 +118,136 @@ class Http2ConnectionProcessor
             this.transport = transport;
         }
 
+        private Iterable<StreamSession> sessions() {
+            return streams.values();
+        }
+
         @Override
-        public void onHeadersRead(ChannelHandlerContext ctx, int streamId, Http2Headers headers, int padding, boolean endStream)
+        public int onDataRead(ChannelHandlerContext ctx, int streamId, ByteBuf data, int padding, boolean endOfStream)
                 throws Http2Exception {
 
-            super.onHeadersRead(ctx, streamId, headers, padding, endStream);
+            // All data is consumed right away, incomplete packets are cumulated, return it to the flow controller
+            int processed = data.readableBytes() + padding;
+
+            StreamSession session = streams.get(streamId);
+            if (session == null) {
+                session = new StreamSession(streamId);
+                streams.put(streamId, session);
+            }
+
+            try {
+                ByteBuf buffer = session.cumulate(data);
+                ByteBuf frame;
+                while ((frame = FrameCodec.decodeFrame(buffer, FrameCodec.DEFAULT_MAX_FRAME_LENGTH)) != null) {
+                    try {
+                        handlePacket(ctx, session, frame);
+                    } finally {
+                        frame.release();
+                    }
+                }
+                session.retainRemaining(ctx, buffer);
+
+            } catch (Http2Exception e) {
+                failStream(streamId, e);
+                throw e;
+
+            } catch (Exception e) {
+                // Streams share the channel, a connection error would tear down all multiplexed connections
+                failStream(streamId, e);
+                throw Http2Exception.streamError(streamId, Http2Error.INTERNAL_ERROR, e, "Internal Server Error");
+            }
+
+            if (endOfStream) {
+                // Client closed its side of the stream, the connection is gone
+                closeStream(streamId, false);
+            }
+            return processed;
         }
 
         @Override
-        public int onDataRead(ChannelHandlerContext ctx, int streamId, ByteBuf data, int padding, boolean endOfStream)
+        public void onRstStreamRead(ChannelHandlerContext ctx, int streamId, long errorCode)
                 throws Http2Exception {
 
-            MemoryBuffer memoryBuffer = MemoryBufferFactory.create(data);
-            try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer)) {
-                if (decoder == null) {
-                    ctx.close();
-                    return 0;
+            closeStream(streamId, true);
+        }
+
+        private void closeAll() {
+            for (int streamId : streams.keys()) {
+                closeStream(streamId, true);
+            }
+        }
+
+        private void failStream(int streamId, Throwable cause) {
+            // The stream is reset (RST_STREAM) by the connection handler when the stream error is thrown
+            StreamSession session = streams.get(streamId);
+            if (session != null && session.connectionId != null) {
+                connectionManager.exceptionally(session.connectionId, cause);
+            }
+            closeStream(streamId, true);
+        }
+
+        private void closeStream(int streamId, boolean reset) {
+            StreamSession session = streams.remove(streamId);
+            if (session == null) {
+                return;
+            }
+
+            session.release();
+            if (session.connection != null) {
+                if (reset) {
+                    session.connectionContext.streamClosed();
                 }
+                session.connection.disconnect();
+            }
+        }
 
-                boolean loggedIn = decoder.readBoolean();
+        private void handlePacket(ChannelHandlerContext ctx, StreamSession session, ByteBuf frame)
+                throws Exception {
+
+            MemoryBuffer memoryBuffer = MemoryBufferFactory.create(frame);
+            try (AutoClosableDecoder decoder = serializer.retrieveDecoder(memoryBuffer)) {
+                byte header = decoder.readByte();
 
-                if (!loggedIn) {
-                    handleHandshakeRequest(ctx, decoder, streamId, encoder);
-                    return 0;
+                if (header == PACKET_HEADER_HANDSHAKE) {
+                    handleHandshakeRequest(ctx, decoder, session);
+                    return;
                 }
 
                 Identifier connectionId = decoder.readObject();
-                connectionAttribute(ctx, CONNECTION_ID, connectionId);
+                if (!connectionId.equals(session.connectionId)) {
+                    throw new IllegalStateException("ConnectionId '" + connectionId + "' is not bound to stream");
+                }
                 Message message = decoder.readObject();
                 connectionManager.publishMessage(ctx.channel(), connectionId, message);
-            } catch (Exception e) {
-                throw new Http2Exception(Http2Error.INTERNAL_ERROR, "Internal Server Error", e);
             }
-            return data.writerIndex();
         }
 
-        private void handleHandshakeRequest(ChannelHandlerContext ctx, AutoClosableDecoder decoder, int streamId,
-                                            Http2ConnectionEncoder encoder)
+        private void handleHandshakeRequest(ChannelHandlerContext ctx, AutoClosableDecoder decoder, StreamSession session)
                 throws Exception {
 
+            // Only the stream of the handshake is reset, other streams of the channel are unaffected
+            int streamId = session.streamId;
             Object request = decoder.readObject();
-            if (!(request instanceof Handshake)) {
-                ctx.close();
-                return;
+            if (!(request instanceof Handshake) || session.connectionId != null) {
+                throw Http2Exception.streamError(streamId, Http2Error.PROTOCOL_ERROR, "Illegal handshake request");
             }
 
             Identifier connectionId = Identifier.randomIdentifier();
             HandshakeHandler handshakeHandler = connectionManager.getHandshakeHandler();
             Handshake handshakeResponse = handshakeHandler.handleHandshake(connectionId, (Handshake) request);
             if (handshakeResponse == null) {
-                ctx.close();
-                return;
+                throw Http2Exception.streamError(streamId, Http2Error.REFUSED_STREAM, "Handshake denied");
             }
             if (handshakeResponse == request) {
-                ctx.close();
-                throw new IllegalStateException("Handshake could not be accepted, illegal verification");
+                throw Http2Exception.streamError(streamId, Http2Error.INTERNAL_ERROR, //
+                        "Handshake could not be accepted, illegal verification");
             }
 
-            connectionAttribute(ctx, CONNECTION_ID, connectionId);
-            ConnectionContext connectionContext = createConnectionContext(ctx, connectionId, streamId, encoder);
+            Http2ConnectionContext connectionContext = createConnectionContext(ctx, connectionId, session.streamId);
             Connection connection = connectionManager.assignConnection(connectionId, connectionContext, transport);
+            session.connectionId = connectionId;
+            session.connectionContext = connectionContext;
+            session.connection = connection;
             connectionContext.writeSocket(encoder, connection, createHandshakeResponse(ctx, handshakeResponse));
         }
 
@@ -167,12 +262,54 @@ class Http2ConnectionProcessor
             return memoryBuffer;
         }
 
-        private ConnectionContext<Http2ConnectionEncoder> createConnectionContext(ChannelHandlerContext ctx,
-                                                                                  Identifier connectionId, int streamId,
-                                                                                  Http2ConnectionEncoder encoder) {
+        private Http2ConnectionContext createConnectionContext(ChannelHandlerContext ctx, Identifier connectionId,
+                                                               int streamId) {
 
             return new Http2ConnectionContext(connectionId, serializer, transport, encoder, streamId, ctx);
         }
     }
 
+    private static final class StreamSession {
+        private final int streamId;
+
+        private ByteBuf cumulation;
+        private Identifier connectionId;
+        private Http2ConnectionContext connectionContext;
+        private Connection connection;
+
+        private StreamSession(int streamId) {
+            this.streamId = streamId;
+        }
+
+        private ByteBuf cumulate(ByteBuf data) {
+            if (cumulation == null) {
+                // Nothing pending, decode directly from the received data
+                return data;
+            }
+            cumulation.writeBytes(data);
+            return cumulation;
+        }
+
+        private void retainRemaining(ChannelHandlerContext ctx, ByteBuf buffer) {
+            if (buffer != cumulation) {
+                // Received data is released after reading, copy an incomplete packet
+                if (buffer.isReadable()) {
+                    cumulation = ctx.alloc().buffer(buffer.readableBytes());
+                    cumulation.writeBytes(buffer);
+                }
+            } else if (!cumulation.isReadable()) {
+                release();
+            } else {
+                cumulation.discardSomeReadBytes();
+            }
+        }
+
+        private void release() {
+            if (cumulation != null) {
+                cumulation.release();
+                cumulation = null;
+            }
+        }
+    }
+
 }
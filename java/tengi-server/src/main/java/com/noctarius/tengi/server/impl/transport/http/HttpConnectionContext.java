@@ -18,8 +18,9 @@ package com.noctarius.tengi.server.impl.transport.http;
 
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.Transport;
+import com.noctarius.tengi.core.exception.ConnectionDestroyedException;
+import com.noctarius.tengi.core.exception.OutboundOverflowException;
 import com.noctarius.tengi.core.impl.ExceptionUtil;
-import com.noctarius.tengi.core.impl.FutureUtil;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
@@ -30,53 +31,78 @@ import com.noctarius.tengi.spi.connection.packets.PollingResponse;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderUtil;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
 
-import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.noctarius.tengi.server.impl.ServerUtil.KEEP_ALIVE;
+import static com.noctarius.tengi.server.impl.ServerUtil.completableFuture;
+import static com.noctarius.tengi.server.impl.ServerUtil.connectionAttribute;
 
 class HttpConnectionContext
         extends ConnectionContext<Channel> {
 
+    private static final long LONG_POLLING_TIMEOUT_SECONDS = 5;
+
     private final Queue<QueueEntry> messageQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<ParkedRequest> parkedRequest = new AtomicReference<>();
 
-    private final Lock longPollingLock = new ReentrantLock();
-    private final Condition longPollingWaitCondition = longPollingLock.newCondition();
+    private final Timer timer;
+    private final int packetHeaderLength;
 
-    HttpConnectionContext(Identifier connectionId, Serializer serializer, Transport transport) {
+    HttpConnectionContext(Identifier connectionId, Serializer serializer, Transport transport, Timer timer) {
         super(connectionId, serializer, transport);
+        this.timer = timer;
+        this.packetHeaderLength = packetHeaderLength();
     }
 
     @Override
     public CompletableFuture<Message> writeMemoryBuffer(MemoryBuffer memoryBuffer, Message message) {
-        CompletableFuture<Message> future = new CompletableFuture<>();
-        messageQueue.add(new QueueEntry(memoryBuffer, message, future));
+        QueueEntry queueEntry = new QueueEntry(Collections.singletonList(memoryBuffer));
+        messageQueue.add(queueEntry);
+        signalLongPolling();
+        return queueEntry.future.thenApply((v) -> message);
+    }
 
-        longPollingLock.lock();
-        try {
-            longPollingWaitCondition.signal();
-        } finally {
-            longPollingLock.unlock();
+    @Override
+    public CompletableFuture<Collection<Message>> writeMemoryBuffers(List<MemoryBuffer> memoryBuffers,
+                                                                     List<Message> messages) {
+
+        // A batch is queued as a single entry, its outbound budget is released (or dropped) as a whole
+        QueueEntry queueEntry = new QueueEntry(memoryBuffers);
+        messageQueue.add(queueEntry);
+        signalLongPolling();
+        return queueEntry.future.thenApply((v) -> messages);
+    }
+
+    @Override
+    public boolean dropOldest() {
+        QueueEntry queueEntry = messageQueue.poll();
+        if (queueEntry == null) {
+            return false;
         }
-        return future;
+        queueEntry.release();
+        queueEntry.future.completeExceptionally(new OutboundOverflowException("Message dropped by outbound policy"));
+        return true;
     }
 
     @Override
@@ -86,14 +112,18 @@ class HttpConnectionContext
         ByteBuf bb = channel.alloc().directBuffer();
         MemoryBuffer buffer = preparePacket(MemoryBufferFactory.create(bb));
         buffer.writeBuffer(memoryBuffer);
-        return FutureUtil.executeAsync(() -> {
-            sendHttpResponse(channel, bb);
-            return connection;
-        });
+        return completableFuture(sendHttpResponse(channel, bb), connection);
     }
 
     @Override
     public CompletableFuture<Connection> close(Connection connection) {
+        ParkedRequest parked = parkedRequest.getAndSet(null);
+        if (parked != null) {
+            parked.cancel();
+        }
+        Collection<QueueEntry> queueEntries = drainMessageQueue();
+        failQueueEntries(queueEntries, new ConnectionDestroyedException("Connection closed before delivery"));
+        releaseQueueEntries(queueEntries);
         return CompletableFuture.completedFuture(connection);
     }
 
@@ -101,149 +131,199 @@ class HttpConnectionContext
     public void processPollingRequest(Channel channel, Connection connection, PollingRequest request) {
         try {
             if (!getConnectionId().equals(connection.getConnectionId())) {
-                channel.close().sync();
+                channel.close();
                 return;
             }
 
             Collection<QueueEntry> messages = drainMessageQueue();
-            if (messages.size() == 0) {
-                longPollingLock.lock();
-                try {
-                    longPollingWaitCondition.await(5, TimeUnit.SECONDS);
-                    messages = drainMessageQueue();
-                } catch (InterruptedException e) {
-                    // ignore and just return an empty response
-                } finally {
-                    longPollingLock.unlock();
-                }
+            if (messages.size() > 0) {
+                sendPollingResponse(channel, messages);
+                return;
             }
 
-            PollingResponse pollingResponse = new PollingResponse(new QueueEntryMessageList(messages));
+            // Nothing to deliver, park the request without blocking the event loop. Timeout and close
+            // listener are fully set up before publishing, a concurrent unpark always finds both to cancel
+            ParkedRequest parked = new ParkedRequest(channel);
+            parked.timeout = timer.newTimeout((t) -> unpark(parked), LONG_POLLING_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            parked.closeListener = (f) -> discard(parked);
+            channel.closeFuture().addListener(parked.closeListener);
 
-            ByteBuf buffer = channel.alloc().directBuffer();
-            MemoryBuffer memoryBuffer = preparePacket(MemoryBufferFactory.create(buffer));
-            try (AutoClosableEncoder encoder = getSerializer().retrieveEncoder(memoryBuffer)) {
-                encoder.writeObject("pollingResponse", Message.create(pollingResponse));
+            ParkedRequest previous = parkedRequest.getAndSet(parked);
+            if (previous != null) {
+                unpark(previous);
             }
 
-            sendHttpResponse(channel, buffer);
+            // Callbacks fired before publishing were ignored, re-check their conditions
+            if (!channel.isActive()) {
+                discard(parked);
+            } else if (!messageQueue.isEmpty() || parked.timeout.isExpired()) {
+                // Messages might have been queued between draining and parking
+                unpark(parked);
+            }
 
         } catch (Exception e) {
             throw ExceptionUtil.rethrow(e);
         }
     }
 
-    private void sendHttpResponse(Channel channel, ByteBuf buffer) {
-        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, buffer);
-        response.headers().set(HttpHeaderNames.CONTENT_TYPE, getProtocol().getMimeType());
-        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, buffer.writerIndex());
-        response.headers().set(HttpHeaderNames.CONNECTION, "close");
-        ChannelFuture channelFuture = channel.writeAndFlush(response);
-        channelFuture.addListener(ChannelFutureListener.CLOSE);
-    }
-
-    private Collection<QueueEntry> drainMessageQueue() {
-        Collection<QueueEntry> queueEntries = new ArrayList<>();
+    private void sendPollingResponse(Channel channel, Collection<QueueEntry> messages)
+            throws Exception {
 
-        QueueEntry queueEntry;
-        while ((queueEntry = messageQueue.poll()) != null) {
-            queueEntries.add(queueEntry);
+        // Queued buffers contain full packets, skip the header to embed the already encoded messages
+        List<MemoryBuffer> encodedMessages = new ArrayList<>(messages.size());
+        for (QueueEntry queueEntry : messages) {
+            for (MemoryBuffer memoryBuffer : queueEntry.memoryBuffers) {
+                memoryBuffer.readerIndex(packetHeaderLength);
+                encodedMessages.add(memoryBuffer);
+            }
         }
-        return queueEntries;
-    }
-
-    private static final class QueueEntry {
-        final MemoryBuffer memoryBuffer;
-        final Message message;
-        final CompletableFuture<Message> future;
+        PollingResponse pollingResponse = PollingResponse.fromEncoded(encodedMessages);
 
-        private QueueEntry(MemoryBuffer memoryBuffer, Message message, CompletableFuture<Message> future) {
-            this.memoryBuffer = memoryBuffer;
-            this.message = message;
-            this.future = future;
+        ByteBuf buffer = channel.alloc().directBuffer();
+        try {
+            MemoryBuffer memoryBuffer = preparePacket(MemoryBufferFactory.create(buffer));
+            try (AutoClosableEncoder encoder = getSerializer().retrieveEncoder(memoryBuffer)) {
+                encoder.writeObject("pollingResponse", Message.create(pollingResponse));
+            }
+        } catch (Exception e) {
+            buffer.release();
+            failQueueEntries(messages, e);
+            throw e;
+        } finally {
+            releaseQueueEntries(messages);
         }
+
+        sendHttpResponse(channel, buffer).addListener((ChannelFutureListener) (f) -> {
+            if (f.isSuccess()) {
+                completeQueueEntries(messages);
+            } else {
+                failQueueEntries(messages, f.cause());
+            }
+        });
     }
 
-    private static final class QueueEntryMessageList
-            extends AbstractCollection<Message>
-            implements List<Message> {
+    private void unpark(ParkedRequest parked) {
+        if (!parkedRequest.compareAndSet(parked, null)) {
+            // Already answered, timed out or superseded
+            return;
+        }
 
-        private final Collection<QueueEntry> messages;
+        parked.cancel();
+        Channel channel = parked.channel;
+        channel.eventLoop().execute(() -> {
+            try {
+                sendPollingResponse(channel, drainMessageQueue());
+            } catch (Exception e) {
+                channel.pipeline().fireExceptionCaught(e);
+            }
+        });
+    }
 
-        private QueueEntryMessageList(Collection<QueueEntry> messages) {
-            this.messages = messages;
+    private void discard(ParkedRequest parked) {
+        if (parkedRequest.compareAndSet(parked, null)) {
+            parked.cancel();
         }
+    }
 
-        @Override
-        public Iterator<Message> iterator() {
-            final Iterator<QueueEntry> iterator = messages.iterator();
-            return new Iterator<Message>() {
+    private ChannelFuture sendHttpResponse(Channel channel, ByteBuf buffer) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, buffer);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, getProtocol().getMimeType());
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, buffer.writerIndex());
 
-                @Override
-                public boolean hasNext() {
-                    return iterator.hasNext();
-                }
+        // Keep the connection open if the client asked for it, saving the reconnect of the next request
+        boolean keepAlive = Boolean.TRUE.equals(connectionAttribute(channel, KEEP_ALIVE));
+        HttpHeaderUtil.setKeepAlive(response, keepAlive);
 
-                @Override
-                public Message next() {
-                    return iterator.next().message;
-                }
-            };
+        ChannelFuture channelFuture = channel.writeAndFlush(response);
+        if (!keepAlive) {
+            channelFuture.addListener(ChannelFutureListener.CLOSE);
         }
+        return channelFuture;
+    }
 
-        @Override
-        public boolean addAll(int index, Collection<? extends Message> c) {
-            throw new UnsupportedOperationException();
+    private void signalLongPolling() {
+        ParkedRequest parked = parkedRequest.get();
+        if (parked != null) {
+            unpark(parked);
         }
+    }
 
-        @Override
-        public Message get(int index) {
-            throw new UnsupportedOperationException();
+    private void completeQueueEntries(Collection<QueueEntry> queueEntries) {
+        for (QueueEntry queueEntry : queueEntries) {
+            queueEntry.future.complete(null);
         }
+    }
 
-        @Override
-        public Message set(int index, Message element) {
-            throw new UnsupportedOperationException();
+    private void failQueueEntries(Collection<QueueEntry> queueEntries, Throwable throwable) {
+        for (QueueEntry queueEntry : queueEntries) {
+            queueEntry.future.completeExceptionally(throwable);
         }
+    }
 
-        @Override
-        public void add(int index, Message element) {
-            throw new UnsupportedOperationException();
+    private void releaseQueueEntries(Collection<QueueEntry> queueEntries) {
+        for (QueueEntry queueEntry : queueEntries) {
+            queueEntry.release();
         }
+    }
 
-        @Override
-        public Message remove(int index) {
-            throw new UnsupportedOperationException();
+    private int packetHeaderLength() {
+        // The header only consists of the login state and connectionId, its length never changes
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            return preparePacket(MemoryBufferFactory.create(buffer)).writerIndex();
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        } finally {
+            buffer.release();
         }
+    }
 
-        @Override
-        public int indexOf(Object o) {
-            throw new UnsupportedOperationException();
-        }
+    private Collection<QueueEntry> drainMessageQueue() {
+        Collection<QueueEntry> queueEntries = new ArrayList<>();
 
-        @Override
-        public int lastIndexOf(Object o) {
-            throw new UnsupportedOperationException();
+        QueueEntry queueEntry;
+        while ((queueEntry = messageQueue.poll()) != null) {
+            queueEntries.add(queueEntry);
         }
+        return queueEntries;
+    }
 
-        @Override
-        public ListIterator<Message> listIterator() {
-            throw new UnsupportedOperationException();
+    private static final class QueueEntry {
+        final List<MemoryBuffer> memoryBuffers;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private QueueEntry(List<MemoryBuffer> memoryBuffers) {
+            this.memoryBuffers = memoryBuffers;
         }
 
-        @Override
-        public ListIterator<Message> listIterator(int index) {
-            throw new UnsupportedOperationException();
+        void release() {
+            for (MemoryBuffer memoryBuffer : memoryBuffers) {
+                if (!memoryBuffer.isReleased()) {
+                    memoryBuffer.release();
+                }
+            }
         }
+    }
+
+    private static final class ParkedRequest {
+        final Channel channel;
+        volatile Timeout timeout;
+        volatile ChannelFutureListener closeListener;
 
-        @Override
-        public List<Message> subList(int fromIndex, int toIndex) {
-            throw new UnsupportedOperationException();
+        private ParkedRequest(Channel channel) {
+            this.channel = channel;
         }
 
-        @Override
-        public int size() {
-            return messages.size();
+        void cancel() {
+            Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            // Keep-alive channels serve many polling requests, don't pile up close listeners
+            ChannelFutureListener closeListener = this.closeListener;
+            if (closeListener != null) {
+                channel.closeFuture().removeListener(closeListener);
+            }
         }
     }
 
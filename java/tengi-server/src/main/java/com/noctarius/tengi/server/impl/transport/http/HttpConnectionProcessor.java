@@ -40,6 +40,10 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.util.CharsetUtil;
+import io.netty.util.Timer;
+
+import static com.noctarius.tengi.server.impl.ServerUtil.KEEP_ALIVE;
+import static com.noctarius.tengi.server.impl.ServerUtil.connectionAttribute;
 
 @ChannelHandler.Sharable
 class HttpConnectionProcessor
@@ -75,6 +79,9 @@ class HttpConnectionProcessor
             return null;
         }
 
+        // Remember if the client wants to reuse the connection for further requests
+        connectionAttribute(ctx, KEEP_ALIVE, HttpHeaderUtil.isKeepAlive(request));
+
         // TODO: Pool MemoryBuffers
         MemoryBuffer memoryBuffer = MemoryBufferFactory.create(request.content());
         return getSerializer().retrieveDecoder(memoryBuffer);
@@ -82,7 +89,16 @@ class HttpConnectionProcessor
 
     @Override
     protected ConnectionContext createConnectionContext(ChannelHandlerContext ctx, Identifier connectionId) {
-        return new HttpConnectionContext(connectionId, getSerializer(), getTransport());
+        Timer timer = getConnectionManager().getTimer();
+        return new HttpConnectionContext(connectionId, getSerializer(), getTransport(), timer);
+    }
+
+    @Override
+    protected void handleMessages(ChannelHandlerContext ctx, FullHttpRequest request, boolean pollingRequest) {
+        // Polling requests are answered by the ConnectionContext, upstream requests are just acknowledged
+        if (!pollingRequest) {
+            sendHttpResponse(ctx, request, new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+        }
     }
 
     static void sendHttpResponse(ChannelHandlerContext ctx, FullHttpRequest request, FullHttpResponse response) {
@@ -91,12 +107,14 @@ class HttpConnectionProcessor
             ByteBuf buffer = Unpooled.copiedBuffer(response.status().toString(), CharsetUtil.UTF_8);
             response.content().writeBytes(buffer);
             buffer.release();
-            HttpHeaderUtil.setContentLength(response, response.content().readableBytes());
         }
+        HttpHeaderUtil.setContentLength(response, response.content().readableBytes());
 
         // Send the response and close the connection if necessary.
+        boolean keepAlive = HttpHeaderUtil.isKeepAlive(request) && response.status().code() == 200;
+        HttpHeaderUtil.setKeepAlive(response, keepAlive);
         ChannelFuture future = ctx.writeAndFlush(response);
-        if (!HttpHeaderUtil.isKeepAlive(request) || response.status().code() != 200) {
+        if (!keepAlive) {
             future.addListener(ChannelFutureListener.CLOSE);
         }
     }
@@ -16,43 +16,65 @@
  */
 package com.noctarius.tengi.server.impl.transport.http;
 
+import com.noctarius.tengi.core.config.FlushPolicy;
 import com.noctarius.tengi.core.connection.Connection;
 import com.noctarius.tengi.core.connection.Transport;
-import com.noctarius.tengi.core.impl.FutureUtil;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.core.model.Message;
+import com.noctarius.tengi.server.impl.transport.ChannelFlusher;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
 import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.serialization.Serializer;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import static com.noctarius.tengi.server.impl.ServerUtil.completableFuture;
+
 class WebsocketConnectionContext
         extends ConnectionContext<Channel> {
 
     private final Channel channel;
+    private final ChannelFlusher channelFlusher;
+
+    WebsocketConnectionContext(Channel channel, Identifier connectionId, Serializer serializer, Transport transport,
+                               FlushPolicy flushPolicy, StringDictionary stringDictionary) {
 
-    WebsocketConnectionContext(Channel channel, Identifier connectionId, Serializer serializer, Transport transport) {
-        super(connectionId, serializer, transport);
+        super(connectionId, serializer, transport, stringDictionary);
         this.channel = channel;
+        this.channelFlusher = new ChannelFlusher(channel, flushPolicy);
     }
 
     @Override
     public CompletableFuture<Message> writeMemoryBuffer(MemoryBuffer memoryBuffer, Message message)
             throws Exception {
 
-        ByteBuf response = channel.alloc().directBuffer();
-        MemoryBuffer buffer = preparePacket(MemoryBufferFactory.create(response));
-        buffer.writeBuffer(memoryBuffer);
+        ByteBuf response = MemoryBufferFactory.unwrap(memoryBuffer);
+        return completableFuture(channelFlusher.write(new BinaryWebSocketFrame(response), response.readableBytes()), message);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Message>> writeMemoryBuffers(List<MemoryBuffer> memoryBuffers,
+                                                                     List<Message> messages)
+            throws Exception {
+
+        List<BinaryWebSocketFrame> frames = new ArrayList<>(memoryBuffers.size());
+        int bytes = 0;
+        for (MemoryBuffer memoryBuffer : memoryBuffers) {
+            ByteBuf response = MemoryBufferFactory.unwrap(memoryBuffer);
+            bytes += response.readableBytes();
+            frames.add(new BinaryWebSocketFrame(response));
+        }
 
-        return FutureUtil.executeAsync(() -> {
-            channel.writeAndFlush(new BinaryWebSocketFrame(response), channel.voidPromise());
-            return message;
-        });
+        return completableFuture(channelFlusher.writeAll(frames, bytes), messages);
     }
 
     @Override
@@ -62,18 +84,22 @@ class WebsocketConnectionContext
         ByteBuf response = channel.alloc().directBuffer();
         MemoryBuffer buffer = preparePacket(MemoryBufferFactory.create(response));
         buffer.writeBuffer(memoryBuffer);
-        return FutureUtil.executeAsync(() -> {
-            channel.writeAndFlush(new BinaryWebSocketFrame(response), channel.voidPromise());
-            return connection;
-        });
+        return completableFuture(channel.writeAndFlush(new BinaryWebSocketFrame(response)), connection);
+    }
+
+    @Override
+    protected boolean isSessionBound() {
+        return true;
+    }
+
+    @Override
+    protected ByteBufAllocator getAllocator() {
+        return channel.alloc();
     }
 
     @Override
     public CompletableFuture<Connection> close(Connection connection) {
-        return FutureUtil.executeAsync(() -> {
-            channel.close().sync();
-            return connection;
-        });
+        return completableFuture(channel.close(), connection);
     }
 
 }
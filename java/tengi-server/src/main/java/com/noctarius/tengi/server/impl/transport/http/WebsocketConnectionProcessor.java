@@ -16,6 +16,8 @@
  */
 package com.noctarius.tengi.server.impl.transport.http;
 
+import com.noctarius.tengi.core.config.Configuration;
+import com.noctarius.tengi.core.config.FlushPolicy;
 import com.noctarius.tengi.core.model.Identifier;
 import com.noctarius.tengi.server.ServerTransports;
 import com.noctarius.tengi.server.impl.ConnectionManager;
@@ -25,6 +27,7 @@ import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.ConnectionContext;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableDecoder;
+import com.noctarius.tengi.spi.serialization.codec.impl.StringDictionary;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
@@ -63,14 +66,18 @@ public class WebsocketConnectionProcessor
             BinaryWebSocketFrame binaryFrame = (BinaryWebSocketFrame) frame;
             ByteBuf copy = binaryFrame.content().copy();
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(copy);
-            return getSerializer().retrieveDecoder(memoryBuffer);
+            return getSerializer().retrieveDecoder(memoryBuffer, stringDictionary(ctx));
         }
         return null;
     }
 
     @Override
     protected ConnectionContext createConnectionContext(ChannelHandlerContext ctx, Identifier connectionId) {
-        return new WebsocketConnectionContext(ctx.channel(), connectionId, getSerializer(), getTransport());
+        Configuration configuration = getConnectionManager().getConfiguration();
+        FlushPolicy flushPolicy = configuration.getFlushPolicy();
+        StringDictionary stringDictionary = new StringDictionary(configuration.getStringDictionarySize());
+        return new WebsocketConnectionContext(ctx.channel(), connectionId, getSerializer(), getTransport(), //
+                                              flushPolicy, stringDictionary);
     }
 
 }
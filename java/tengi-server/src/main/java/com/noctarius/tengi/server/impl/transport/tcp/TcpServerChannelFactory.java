@@ -18,6 +18,8 @@ package com.noctarius.tengi.server.impl.transport.tcp;
 
 import com.noctarius.tengi.core.connection.TransportLayer;
 import com.noctarius.tengi.server.impl.ConnectionManager;
+import com.noctarius.tengi.server.impl.EventLoopGroupManager;
+import com.noctarius.tengi.server.impl.transport.ChannelBackend;
 import com.noctarius.tengi.server.impl.transport.NettyServerChannel;
 import com.noctarius.tengi.server.impl.transport.negotiation.NegotiationChannelHandler;
 import com.noctarius.tengi.server.spi.transport.Endpoint;
@@ -25,39 +27,56 @@ import com.noctarius.tengi.server.spi.transport.ServerChannel;
 import com.noctarius.tengi.server.spi.transport.ServerChannelFactory;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 
-import java.util.concurrent.Executor;
+import java.util.ArrayList;
+import java.util.List;
 
 public class TcpServerChannelFactory
         implements ServerChannelFactory {
 
     @Override
-    public ServerChannel newServerChannel(Endpoint endpoint, Executor executor, ConnectionManager connectionManager,
-                                          Serializer serializer)
+    public ServerChannel newServerChannel(Endpoint endpoint, EventLoopGroupManager eventLoopGroupManager,
+                                          ConnectionManager connectionManager, Serializer serializer)
             throws Throwable {
 
         int port = endpoint.getPort();
         TransportLayer transportLayer = endpoint.getTransportLayer();
 
-        NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(8, executor);
+        ChannelBackend channelBackend = eventLoopGroupManager.channelBackend();
+        EventLoopGroup bossGroup = eventLoopGroupManager.bossGroup(endpoint);
+        EventLoopGroup workerGroup = eventLoopGroupManager.workerGroup(endpoint);
         ServerBootstrap bootstrap = new ServerBootstrap();
         bootstrap.option(ChannelOption.SO_BACKLOG, 1024) //
-                 .group(eventLoopGroup, eventLoopGroup) //
-                 .channel(NioServerSocketChannel.class) //
+                 .group(bossGroup, workerGroup) //
+                 .channel(channelBackend.serverSocketChannelType()) //
                  .childHandler(new TcpChannelInitializer(connectionManager, serializer, transportLayer, port));
 
-        ChannelFuture future = bootstrap.bind(port).sync();
-        if (future.cause() != null) {
-            throw future.cause();
+        channelBackend.configure(bootstrap);
+
+        // With SO_REUSEPORT every boss thread gets its own listening socket and the kernel
+        // balances incoming connections over them instead of funneling all accepts through one
+        int bindings = channelBackend.isReusePortSupported() ? eventLoopGroupManager.bossThreads(endpoint) : 1;
+
+        List<Channel> channels = new ArrayList<>(bindings);
+        for (int i = 0; i < bindings; i++) {
+            // Don't use sync() here, it throws and would leak the sockets already bound
+            ChannelFuture future = bootstrap.bind(port).awaitUninterruptibly();
+            if (future.cause() != null) {
+                for (Channel channel : channels) {
+                    channel.close().awaitUninterruptibly();
+                }
+                throw future.cause();
+            }
+            channels.add(future.channel());
         }
-        return new NettyServerChannel(future.channel(), eventLoopGroup, eventLoopGroup, port, transportLayer);
+        return new NettyServerChannel(channels, bossGroup, workerGroup, port, transportLayer);
     }
 
     private static class TcpChannelInitializer
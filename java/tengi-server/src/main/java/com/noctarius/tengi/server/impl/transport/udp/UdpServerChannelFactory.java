@@ -18,6 +18,7 @@ package com.noctarius.tengi.server.impl.transport.udp;
 
 import com.noctarius.tengi.core.connection.TransportLayer;
 import com.noctarius.tengi.server.impl.ConnectionManager;
+import com.noctarius.tengi.server.impl.EventLoopGroupManager;
 import com.noctarius.tengi.server.impl.transport.NettyServerChannel;
 import com.noctarius.tengi.server.impl.transport.negotiation.UdpBinaryNegotiator;
 import com.noctarius.tengi.server.spi.transport.Endpoint;
@@ -29,23 +30,23 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 
-import java.util.concurrent.Executor;
 
 public class UdpServerChannelFactory
         implements ServerChannelFactory<Channel> {
 
     @Override
-    public ServerChannel newServerChannel(Endpoint endpoint, Executor executor, ConnectionManager connectionManager,
-                                          Serializer serializer)
+    public ServerChannel newServerChannel(Endpoint endpoint, EventLoopGroupManager eventLoopGroupManager,
+                                          ConnectionManager connectionManager, Serializer serializer)
             throws Throwable {
 
         int port = endpoint.getPort();
         TransportLayer transportLayer = endpoint.getTransportLayer();
 
-        NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(8, executor);
+        // Datagram channels don't accept connections and therefore only use a worker group
+        EventLoopGroup eventLoopGroup = eventLoopGroupManager.workerGroup(endpoint);
         Bootstrap bootstrap = new Bootstrap();
         bootstrap.option(ChannelOption.SO_BROADCAST, false).group(eventLoopGroup) //
                  .handler(new UdpProtocolNegotiator(connectionManager, serializer, port));
@@ -36,6 +36,7 @@ class UdtServerChannel
     public void shutdown()
             throws Exception {
 
+        Channel channel = socket();
         SocketUDT socket = NioUdtProvider.channelUDT(channel).socketUDT();
         channel.close().sync().get();
 
@@ -45,8 +46,5 @@ class UdtServerChannel
             }
             Thread.yield();
         }
-
-        bossGroup.shutdownGracefully().sync().get();
-        workerGroup.shutdownGracefully().sync().get();
     }
 }
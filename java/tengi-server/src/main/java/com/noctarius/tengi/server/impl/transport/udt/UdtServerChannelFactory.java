@@ -18,6 +18,9 @@ package com.noctarius.tengi.server.impl.transport.udt;
 
 import com.noctarius.tengi.core.connection.TransportLayer;
 import com.noctarius.tengi.server.impl.ConnectionManager;
+import com.noctarius.tengi.server.impl.EventLoopGroupManager;
+import com.noctarius.tengi.server.impl.transport.base.LengthFrameDecoder;
+import com.noctarius.tengi.server.impl.transport.base.LengthFrameEncoder;
 import com.noctarius.tengi.server.spi.transport.Endpoint;
 import com.noctarius.tengi.server.spi.transport.ServerChannel;
 import com.noctarius.tengi.server.spi.transport.ServerChannelFactory;
@@ -27,29 +30,29 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.udt.UdtChannel;
 import io.netty.channel.udt.nio.NioUdtProvider;
 
-import java.util.concurrent.Executor;
 
 public class UdtServerChannelFactory
         implements ServerChannelFactory {
 
     @Override
-    public ServerChannel newServerChannel(Endpoint endpoint, Executor executor, ConnectionManager connectionManager,
-                                          Serializer serializer)
+    public ServerChannel newServerChannel(Endpoint endpoint, EventLoopGroupManager eventLoopGroupManager,
+                                          ConnectionManager connectionManager, Serializer serializer)
             throws Throwable {
 
         int port = endpoint.getPort();
         TransportLayer transportLayer = endpoint.getTransportLayer();
 
-        NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(8, executor, NioUdtProvider.BYTE_PROVIDER);
+        EventLoopGroup bossGroup = eventLoopGroupManager.bossGroup(endpoint, NioUdtProvider.BYTE_PROVIDER);
+        EventLoopGroup workerGroup = eventLoopGroupManager.workerGroup(endpoint, NioUdtProvider.BYTE_PROVIDER);
         ServerBootstrap bootstrap = new ServerBootstrap();
         bootstrap.option(ChannelOption.SO_BACKLOG, 1024) //
                  .option(ChannelOption.SO_LINGER, 0) //
                  .childOption(ChannelOption.SO_LINGER, 0) //
-                 .group(eventLoopGroup, eventLoopGroup) //
+                 .group(bossGroup, workerGroup) //
                  .channelFactory(NioUdtProvider.BYTE_ACCEPTOR) //
                  .childHandler(new UdtChannelInitializer(connectionManager, serializer));
 
@@ -57,7 +60,7 @@ public class UdtServerChannelFactory
         if (future.cause() != null) {
             throw future.cause();
         }
-        return new UdtServerChannel(future.channel(), eventLoopGroup, eventLoopGroup, port, transportLayer);
+        return new UdtServerChannel(future.channel(), bossGroup, workerGroup, port, transportLayer);
     }
 
     private static class UdtChannelInitializer
@@ -76,6 +79,8 @@ public class UdtServerChannelFactory
                 throws Exception {
 
             ChannelPipeline pipeline = channel.pipeline();
+            pipeline.addLast("frame-decoder", new LengthFrameDecoder());
+            pipeline.addLast("frame-encoder", LengthFrameEncoder.INSTANCE);
             pipeline.addLast("udt-connection-processor", new UdtConnectionProcessor(connectionManager, serializer));
         }
     }
@@ -17,13 +17,12 @@
 package com.noctarius.tengi.server.spi.transport;
 
 import com.noctarius.tengi.server.impl.ConnectionManager;
+import com.noctarius.tengi.server.impl.EventLoopGroupManager;
 import com.noctarius.tengi.spi.serialization.Serializer;
 
-import java.util.concurrent.Executor;
-
 public interface ServerChannelFactory<S> {
 
-    ServerChannel<S> newServerChannel(Endpoint endpoint, Executor executor, ConnectionManager connectionManager,
-                                      Serializer serializer)
+    ServerChannel<S> newServerChannel(Endpoint endpoint, EventLoopGroupManager eventLoopGroupManager,
+                                      ConnectionManager connectionManager, Serializer serializer)
             throws Throwable;
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2015-2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.tengi.server.impl.transport.http;
+
+import com.noctarius.tengi.core.config.MessageIdPolicy;
+import com.noctarius.tengi.core.config.OutboundPolicy;
+import com.noctarius.tengi.core.connection.Connection;
+import com.noctarius.tengi.core.exception.OutboundOverflowException;
+import com.noctarius.tengi.core.model.Identifier;
+import com.noctarius.tengi.core.model.Message;
+import com.noctarius.tengi.server.ServerTransports;
+import com.noctarius.tengi.spi.connection.AbstractConnection;
+import com.noctarius.tengi.spi.connection.impl.MessageDispatcher;
+import com.noctarius.tengi.spi.serialization.Serializer;
+import com.noctarius.tengi.spi.serialization.impl.DefaultProtocol;
+import io.netty.util.HashedWheelTimer;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HttpConnectionContextTestCase {
+
+    @Test
+    public void test_drop_oldest_drops_single_message()
+            throws Exception {
+
+        HashedWheelTimer timer = new HashedWheelTimer();
+        try {
+            Connection connection = connection(timer, 2);
+
+            CompletableFuture<Message> first = connection.writeObject("first");
+            CompletableFuture<Message> second = connection.writeObject("second");
+            CompletableFuture<Message> third = connection.writeObject("third");
+
+            assertDropped(first);
+            assertFalse(second.isDone());
+            assertFalse(third.isDone());
+
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void test_drop_oldest_drops_whole_batch_and_releases_its_budget()
+            throws Exception {
+
+        HashedWheelTimer timer = new HashedWheelTimer();
+        try {
+            Connection connection = connection(timer, 4);
+
+            CompletableFuture<Collection<Message>> batch = connection.writeObjects(Arrays.asList("a", "b", "c"));
+            CompletableFuture<Message> first = connection.writeObject("first");
+
+            // Budget is exhausted, the batch is the oldest entry and is dropped as a whole
+            CompletableFuture<Message> second = connection.writeObject("second");
+            assertDropped(batch);
+            assertFalse(first.isDone());
+            assertFalse(second.isDone());
+
+            // The dropped batch returned all of its budget, two more messages fit without dropping
+            CompletableFuture<Message> third = connection.writeObject("third");
+            CompletableFuture<Message> fourth = connection.writeObject("fourth");
+            assertFalse(first.isDone());
+            assertFalse(second.isDone());
+            assertFalse(third.isDone());
+            assertFalse(fourth.isDone());
+
+            // The next write drops the oldest single message only
+            CompletableFuture<Message> fifth = connection.writeObject("fifth");
+            assertDropped(first);
+            assertFalse(second.isDone());
+            assertFalse(fifth.isDone());
+
+        } finally {
+            timer.stop();
+        }
+    }
+
+    private static Connection connection(HashedWheelTimer timer, int maxMessages) {
+        Serializer serializer = Serializer.create(new DefaultProtocol(Collections.emptyList()));
+        Identifier connectionId = Identifier.randomIdentifier();
+        HttpConnectionContext connectionContext = new HttpConnectionContext(connectionId, serializer, //
+                ServerTransports.HTTP_TRANSPORT, timer);
+
+        OutboundPolicy outboundPolicy = new OutboundPolicy(maxMessages, 0, OutboundPolicy.Overflow.DropOldest, 0);
+        return new AbstractConnection(connectionContext, connectionId, ServerTransports.HTTP_TRANSPORT, //
+                serializer, outboundPolicy, MessageDispatcher.EVENT_LOOP, MessageIdPolicy.Random) {
+        };
+    }
+
+    private static void assertDropped(CompletableFuture<?> future)
+            throws Exception {
+
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail("Dropped write completed successfully");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof OutboundOverflowException);
+        }
+    }
+
+}
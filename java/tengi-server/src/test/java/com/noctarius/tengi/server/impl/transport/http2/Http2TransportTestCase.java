@@ -27,10 +27,12 @@ import com.noctarius.tengi.spi.connection.packets.Handshake;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
 import com.noctarius.tengi.spi.serialization.codec.impl.DefaultCodec;
+import com.noctarius.tengi.spi.serialization.codec.impl.FrameCodec;
 import com.noctarius.tengi.spi.serialization.impl.DefaultProtocol;
 import com.noctarius.tengi.spi.serialization.impl.DefaultProtocolConstants;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpURI;
@@ -47,7 +49,11 @@ import org.junit.Test;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -164,9 +170,147 @@ public class Http2TransportTestCase
         assertEquals(4, (int) response.getValue("counter"));
     }
 
+    @Test(timeout = 120000)
+    public void test_http2_multiplexed_connections()
+            throws Exception {
+
+        Serializer serializer = Serializer.create(new DefaultProtocol(Collections.emptyList()));
+
+        int connections = 4;
+
+        Runner<Set<Identifier>, Http2TestClient> runner = (client) -> {
+            List<CompletableFuture<Identifier>> futures = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                int index = i;
+                CompletableFuture<Identifier> future = new CompletableFuture<>();
+                futures.add(future);
+
+                // Every stream of the shared HTTP/2 connection is an independent tengi connection
+                ChannelReader<Stream, ByteBuf> channelReader = (stream, buffer) -> {
+                    MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
+                    DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
+
+                    codec.readBoolean();
+                    Identifier connectionId = codec.readObject();
+                    Object object = codec.readObject();
+                    if (object instanceof Handshake) {
+                        Packet packet = new Packet("stream");
+                        packet.setValue("index", index);
+                        writeStream(serializer, stream, connectionId, Message.create(packet));
+                        return;
+                    }
+
+                    Packet packet = ((Message) object).getBody();
+                    if (index == (int) packet.getValue("index")) {
+                        future.complete(connectionId);
+                    } else {
+                        future.completeExceptionally(new AssertionError("Message delivered to the wrong stream"));
+                    }
+                };
+
+                Stream clientStream = client.openStream(channelReader);
+                Http2TestClient.sendMessage(clientStream, handshake(serializer));
+            }
+
+            Set<Identifier> connectionIds = new HashSet<>();
+            for (CompletableFuture<Identifier> future : futures) {
+                connectionIds.add(future.get(120, TimeUnit.SECONDS));
+            }
+            client.close();
+            return connectionIds;
+        };
+
+        Set<Identifier> connectionIds = practice(runner, clientFactory(null), false, ServerTransports.HTTP2_TRANSPORT);
+        assertEquals(connections, connectionIds.size());
+    }
+
+    @Test(timeout = 120000)
+    public void test_http2_failing_stream_keeps_sibling_streams()
+            throws Exception {
+
+        Serializer serializer = Serializer.create(new DefaultProtocol(Collections.emptyList()));
+
+        Runner<Packet, Http2TestClient> runner = (client) -> {
+            CompletableFuture<Identifier> handshakeFuture = new CompletableFuture<>();
+            CompletableFuture<Packet> future = new CompletableFuture<>();
+
+            ChannelReader<Stream, ByteBuf> channelReader = (stream, buffer) -> {
+                MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
+                DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
+
+                codec.readBoolean();
+                Identifier connectionId = codec.readObject();
+                Object object = codec.readObject();
+                if (object instanceof Handshake) {
+                    handshakeFuture.complete(connectionId);
+                } else {
+                    future.complete(((Message) object).getBody());
+                }
+            };
+
+            Stream sibling = client.openStream(channelReader);
+            Http2TestClient.sendMessage(sibling, handshake(serializer));
+            Identifier connectionId = handshakeFuture.get(120, TimeUnit.SECONDS);
+
+            // An undecodable packet must only reset its own stream, not the shared HTTP/2 connection
+            Stream failing = client.openStream((stream, buffer) -> {
+            });
+            Http2TestClient.sendMessage(failing, malformedPacket());
+
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+            while (!failing.isReset()) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new AssertionError("Failing stream was not reset");
+                }
+                Thread.sleep(10);
+            }
+
+            Packet packet = new Packet("sibling");
+            packet.setValue("counter", 1);
+            writeStream(serializer, sibling, connectionId, Message.create(packet));
+
+            Packet result = future.get(120, TimeUnit.SECONDS);
+            client.close();
+            return result;
+        };
+
+        Packet response = practice(runner, clientFactory(null), false, ServerTransports.HTTP2_TRANSPORT);
+        assertEquals(1, (int) response.getValue("counter"));
+    }
+
+    private static ByteBuf malformedPacket() {
+        // A packet header followed by an unregistered marshaller id
+        ByteBuf buffer = Unpooled.buffer();
+        buffer.writeBoolean(true);
+        buffer.writeShort(Short.MAX_VALUE);
+        return buffer;
+    }
+
+    private static ByteBuf handshake(Serializer serializer) {
+        ByteBuf buffer = Unpooled.buffer();
+        MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
+        DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
+
+        codec.writeBoolean("loggedIn", false);
+        codec.writeObject("handshake", new Handshake());
+        return buffer;
+    }
+
     private static void writeChannel(Serializer serializer, Http2TestClient client, Identifier connectionId, Object value)
             throws Exception {
 
+        client.sendMessage(encodePacket(serializer, connectionId, value));
+    }
+
+    private static void writeStream(Serializer serializer, Stream stream, Identifier connectionId, Object value)
+            throws Exception {
+
+        Http2TestClient.sendMessage(stream, encodePacket(serializer, connectionId, value));
+    }
+
+    private static ByteBuf encodePacket(Serializer serializer, Identifier connectionId, Object value)
+            throws Exception {
+
         ByteBuf buffer = Unpooled.directBuffer();
         MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
         try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
@@ -174,7 +318,7 @@ public class Http2TransportTestCase
             encoder.writeObject("connectionId", connectionId);
             serializer.writeObject("value", value, encoder);
         }
-        client.sendMessage(buffer);
+        return buffer;
     }
 
     private static ClientFactory<Http2TestClient> clientFactory(ChannelReader<Http2TestClient, ByteBuf> channelReader) {
@@ -188,6 +332,8 @@ public class Http2TransportTestCase
         private final ChannelReader<Http2TestClient, ByteBuf> channelReader;
         private final HttpURI httpURI;
 
+        private volatile Stream stream;
+
         private Http2TestClient(String host, int port, boolean ssl, ChannelReader<Http2TestClient, ByteBuf> channelReader)
                 throws Exception {
 
@@ -208,10 +354,15 @@ public class Http2TransportTestCase
         private void sendMessage(ByteBuf buffer)
                 throws Exception {
 
-            ByteBuffer nioBuffer = buffer.nioBuffer();
-            if (buffer.isDirect()) {
-                nioBuffer = Unpooled.copiedBuffer(buffer).nioBuffer();
+            // All packets of this client are sent through a single long-lived stream
+            if (stream == null) {
+                stream = openStream((s, b) -> channelReader.channelRead(this, b));
             }
+            sendMessage(stream, buffer);
+        }
+
+        private Stream openStream(ChannelReader<Stream, ByteBuf> streamReader)
+                throws Exception {
 
             HttpFields requestFields = new HttpFields();
             requestFields.put(HttpHeader.CONTENT_TYPE, DefaultProtocolConstants.PROTOCOL_MIME_TYPE);
@@ -219,12 +370,22 @@ public class Http2TransportTestCase
             MetaData.Request request = new MetaData.Request("PUT", httpURI, HttpVersion.HTTP_2, requestFields);
             HeadersFrame headersFrame = new HeadersFrame(0, request, null, false);
 
+            ByteBuf cumulation = Unpooled.buffer();
             Stream.Listener listener = new Stream.Listener.Adapter() {
                 @Override
                 public void onData(Stream stream, DataFrame frame, org.eclipse.jetty.util.Callback callback) {
-                    ByteBuf buf = Unpooled.wrappedBuffer(frame.getData());
+                    // Packets are length-framed and might span multiple DATA frames
+                    cumulation.writeBytes(frame.getData());
                     try {
-                        channelReader.channelRead(Http2TestClient.this, buf);
+                        ByteBuf packet;
+                        while ((packet = FrameCodec.decodeFrame(cumulation, FrameCodec.DEFAULT_MAX_FRAME_LENGTH)) != null) {
+                            try {
+                                streamReader.channelRead(stream, packet);
+                            } finally {
+                                packet.release();
+                            }
+                        }
+                        cumulation.discardReadBytes();
                         callback.succeeded();
                     } catch (Exception e) {
                         callback.failed(e);
@@ -234,9 +395,15 @@ public class Http2TransportTestCase
 
             FuturePromise<Stream> promise = new FuturePromise<>();
             session.newStream(headersFrame, promise, listener);
+            return promise.get();
+        }
+
+        private static void sendMessage(Stream stream, ByteBuf buffer) {
+            ByteBuf frame = FrameCodec.encodeFrame(buffer, UnpooledByteBufAllocator.DEFAULT);
+            ByteBuffer nioBuffer = Unpooled.copiedBuffer(frame).nioBuffer();
+            frame.release();
 
-            Stream stream = promise.get();
-            DataFrame requestContent = new DataFrame(stream.getId(), nioBuffer, true);
+            DataFrame requestContent = new DataFrame(stream.getId(), nioBuffer, false);
             stream.data(requestContent, org.eclipse.jetty.util.Callback.Adapter.INSTANCE);
         }
 
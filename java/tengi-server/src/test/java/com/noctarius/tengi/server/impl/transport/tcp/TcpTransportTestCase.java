@@ -21,6 +21,8 @@ import com.noctarius.tengi.core.model.Message;
 import com.noctarius.tengi.core.model.Packet;
 import com.noctarius.tengi.server.ServerTransports;
 import com.noctarius.tengi.server.impl.transport.AbstractStreamingTransportTestCase;
+import com.noctarius.tengi.server.impl.transport.base.LengthFrameDecoder;
+import com.noctarius.tengi.server.impl.transport.base.LengthFrameEncoder;
 import com.noctarius.tengi.spi.buffer.MemoryBuffer;
 import com.noctarius.tengi.spi.buffer.impl.MemoryBufferFactory;
 import com.noctarius.tengi.spi.connection.packets.Handshake;
@@ -50,11 +52,16 @@ import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_CONNECTION_ID;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_HANDSHAKE;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_SESSION;
 import static org.junit.Assert.assertEquals;
 
 public class TcpTransportTestCase
         extends AbstractStreamingTransportTestCase {
 
+    private static final String FRAME_ENCODER = "frame-encoder";
+
     @Test(timeout = 120000)
     public void test_tcp_transport()
             throws Exception {
@@ -70,10 +77,10 @@ public class TcpTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            boolean loggedIn = codec.readBoolean();
-            Identifier connectionId = codec.readObject();
+            byte header = codec.readByte();
+            Identifier connectionId = header == PACKET_HEADER_SESSION ? null : codec.readObject();
             Object object = codec.readObject();
-            if (loggedIn && object instanceof Handshake) {
+            if (header != PACKET_HEADER_HANDSHAKE && object instanceof Handshake) {
                 writeChannel(serializer, ctx, connectionId, message);
                 return;
             }
@@ -88,8 +95,10 @@ public class TcpTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            codec.writeBytes("magic", DefaultProtocolConstants.PROTOCOL_MAGIC_HEADER);
-            codec.writeBoolean("loggedIn", false);
+            ByteBuf magic = Unpooled.copiedBuffer(DefaultProtocolConstants.PROTOCOL_MAGIC_HEADER);
+            channel.pipeline().context(FRAME_ENCODER).write(magic);
+
+            codec.writeByte("header", PACKET_HEADER_HANDSHAKE);
             codec.writeObject("handshake", new Handshake());
             channel.writeAndFlush(buffer);
             channel.closeFuture().addListener((ChannelFutureListener) (f) -> future.complete(null));
@@ -115,8 +124,8 @@ public class TcpTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            boolean loggedIn = codec.readBoolean();
-            Identifier connectionId = codec.readObject();
+            byte header = codec.readByte();
+            Identifier connectionId = header == PACKET_HEADER_SESSION ? null : codec.readObject();
 
             Object object = codec.readObject();
             if (object instanceof Handshake) {
@@ -141,8 +150,7 @@ public class TcpTransportTestCase
                 MemoryBuffer memoryBuffer2 = MemoryBufferFactory.create(buffer2);
                 DefaultCodec codec2 = new DefaultCodec(serializer.getProtocol(), memoryBuffer2);
 
-                codec2.writeBoolean("loggedIn", loggedIn);
-                codec2.writeObject("connectionId", connectionId);
+                codec2.writeByte("header", PACKET_HEADER_SESSION);
                 serializer.writeObject("message", message, codec2);
 
                 ctx.channel().writeAndFlush(buffer2);
@@ -156,8 +164,10 @@ public class TcpTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            codec.writeBytes("magic", DefaultProtocolConstants.PROTOCOL_MAGIC_HEADER);
-            codec.writeBoolean("loggedIn", false);
+            ByteBuf magic = Unpooled.copiedBuffer(DefaultProtocolConstants.PROTOCOL_MAGIC_HEADER);
+            channel.pipeline().context(FRAME_ENCODER).write(magic);
+
+            codec.writeByte("header", PACKET_HEADER_HANDSHAKE);
             codec.writeObject("handshake", new Handshake());
             channel.writeAndFlush(buffer);
             channel.closeFuture().addListener((ChannelFutureListener) (f) -> future.complete(null));
@@ -188,7 +198,7 @@ public class TcpTransportTestCase
         ByteBuf buffer = ctx.alloc().directBuffer();
         MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
         try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
-            encoder.writeBoolean("loggedIn", true);
+            encoder.writeByte("header", PACKET_HEADER_CONNECTION_ID);
             encoder.writeObject("connectionId", connectionId);
             serializer.writeObject("value", value, encoder);
         }
@@ -212,6 +222,8 @@ public class TcpTransportTestCase
                                 pipeline.addLast(sslContext.newHandler(channel.alloc(), "localhost", 8080));
                             }
 
+                            pipeline.addLast("frame-decoder", new LengthFrameDecoder());
+                            pipeline.addLast(FRAME_ENCODER, LengthFrameEncoder.INSTANCE);
                             initializer.initChannel(pipeline);
                         }
                     });
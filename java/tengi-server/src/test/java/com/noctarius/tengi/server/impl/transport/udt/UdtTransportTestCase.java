@@ -29,9 +29,11 @@ import com.noctarius.tengi.spi.connection.packets.Handshake;
 import com.noctarius.tengi.spi.serialization.Serializer;
 import com.noctarius.tengi.spi.serialization.codec.AutoClosableEncoder;
 import com.noctarius.tengi.spi.serialization.codec.impl.DefaultCodec;
+import com.noctarius.tengi.spi.serialization.codec.impl.FrameCodec;
 import com.noctarius.tengi.spi.serialization.impl.DefaultProtocol;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import org.junit.Test;
 
 import java.net.InetSocketAddress;
@@ -41,6 +43,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_CONNECTION_ID;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_HANDSHAKE;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_SESSION;
 import static org.junit.Assert.assertEquals;
 
 public class UdtTransportTestCase
@@ -61,10 +66,10 @@ public class UdtTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            boolean loggedIn = codec.readBoolean();
-            Identifier connectionId = codec.readObject();
+            byte header = codec.readByte();
+            Identifier connectionId = header == PACKET_HEADER_SESSION ? null : codec.readObject();
             Object object = codec.readObject();
-            if (loggedIn && object instanceof Handshake) {
+            if (header != PACKET_HEADER_HANDSHAKE && object instanceof Handshake) {
                 writeChannel(serializer, client, connectionId, message);
                 return;
             }
@@ -77,7 +82,7 @@ public class UdtTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            codec.writeBoolean("loggedIn", false);
+            codec.writeByte("header", PACKET_HEADER_HANDSHAKE);
             codec.writeObject("handshake", new Handshake());
             client.sendMessage(buffer);
 
@@ -104,8 +109,8 @@ public class UdtTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            boolean loggedIn = codec.readBoolean();
-            Identifier connectionId = codec.readObject();
+            byte header = codec.readByte();
+            Identifier connectionId = header == PACKET_HEADER_SESSION ? null : codec.readObject();
 
             Object object = codec.readObject();
             if (object instanceof Handshake) {
@@ -130,8 +135,7 @@ public class UdtTransportTestCase
                 MemoryBuffer memoryBuffer2 = MemoryBufferFactory.create(buffer2);
                 DefaultCodec codec2 = new DefaultCodec(serializer.getProtocol(), memoryBuffer2);
 
-                codec2.writeBoolean("loggedIn", loggedIn);
-                codec2.writeObject("connectionId", connectionId);
+                codec2.writeByte("header", PACKET_HEADER_SESSION);
                 serializer.writeObject("message", message, codec2);
 
                 client.sendMessage(buffer2);
@@ -143,7 +147,7 @@ public class UdtTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            codec.writeBoolean("loggedIn", false);
+            codec.writeByte("header", PACKET_HEADER_HANDSHAKE);
             codec.writeObject("handshake", new Handshake());
             client.sendMessage(buffer);
 
@@ -162,7 +166,7 @@ public class UdtTransportTestCase
         ByteBuf buffer = Unpooled.directBuffer();
         MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
         try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
-            encoder.writeBoolean("loggedIn", true);
+            encoder.writeByte("header", PACKET_HEADER_CONNECTION_ID);
             encoder.writeObject("connectionId", connectionId);
             serializer.writeObject("value", value, encoder);
         }
@@ -175,6 +179,8 @@ public class UdtTransportTestCase
 
     public static class UdtTestClient {
 
+        private static final int MAX_FRAME_LENGTH = FrameCodec.DEFAULT_MAX_FRAME_LENGTH;
+
         private final SocketUDT socket;
         private final ChannelReader<UdtTestClient, ByteBuf> channelReader;
         private final AtomicBoolean stop = new AtomicBoolean(false);
@@ -197,7 +203,9 @@ public class UdtTransportTestCase
         private void sendMessage(ByteBuf buffer)
                 throws Exception {
 
-            ByteBuffer nioBuffer = Unpooled.directBuffer(buffer.writerIndex()).writeBytes(buffer).nioBuffer();
+            ByteBuf frame = FrameCodec.encodeFrame(buffer, UnpooledByteBufAllocator.DEFAULT);
+            ByteBuffer nioBuffer = Unpooled.directBuffer(frame.readableBytes()).writeBytes(frame).nioBuffer();
+            frame.release();
 
             socket.send(nioBuffer);
         }
@@ -215,14 +223,21 @@ public class UdtTransportTestCase
             @Override
             public void run() {
                 ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+                ByteBuf cumulation = Unpooled.buffer();
 
                 while (!stop.get()) {
                     try {
                         if (socket.isConnected() && socket.receive(buffer) > 0) {
                             buffer.flip();
-                            ByteBuf buf = Unpooled.copiedBuffer(buffer);
-                            channelReader.channelRead(UdtTestClient.this, buf);
+                            cumulation.writeBytes(buffer);
                             buffer.clear();
+
+                            ByteBuf frame;
+                            while ((frame = FrameCodec.decodeFrame(cumulation, MAX_FRAME_LENGTH)) != null) {
+                                channelReader.channelRead(UdtTestClient.this, frame);
+                                frame.release();
+                            }
+                            cumulation.discardReadBytes();
                         }
                     } catch (Exception e) {
                         e.printStackTrace();
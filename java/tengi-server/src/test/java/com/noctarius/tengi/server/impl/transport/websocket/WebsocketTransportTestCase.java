@@ -47,6 +47,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_CONNECTION_ID;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_HANDSHAKE;
+import static com.noctarius.tengi.spi.connection.impl.TransportConstants.PACKET_HEADER_SESSION;
 import static org.junit.Assert.assertEquals;
 
 public class WebsocketTransportTestCase
@@ -67,10 +70,10 @@ public class WebsocketTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            boolean loggedIn = codec.readBoolean();
-            Identifier connectionId = codec.readObject();
+            byte header = codec.readByte();
+            Identifier connectionId = header == PACKET_HEADER_SESSION ? null : codec.readObject();
             Object object = codec.readObject();
-            if (loggedIn && object instanceof Handshake) {
+            if (header != PACKET_HEADER_HANDSHAKE && object instanceof Handshake) {
                 writeChannel(serializer, client, connectionId, message);
                 return;
             }
@@ -83,7 +86,7 @@ public class WebsocketTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            codec.writeBoolean("loggedIn", false);
+            codec.writeByte("header", PACKET_HEADER_HANDSHAKE);
             codec.writeObject("handshake", new Handshake());
             client.sendMessage(buffer);
 
@@ -109,8 +112,8 @@ public class WebsocketTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            boolean loggedIn = codec.readBoolean();
-            Identifier connectionId = codec.readObject();
+            byte header = codec.readByte();
+            Identifier connectionId = header == PACKET_HEADER_SESSION ? null : codec.readObject();
 
             Object object = codec.readObject();
             if (object instanceof Handshake) {
@@ -135,8 +138,7 @@ public class WebsocketTransportTestCase
                 MemoryBuffer memoryBuffer2 = MemoryBufferFactory.create(buffer2);
                 DefaultCodec codec2 = new DefaultCodec(serializer.getProtocol(), memoryBuffer2);
 
-                codec2.writeBoolean("loggedIn", loggedIn);
-                codec2.writeObject("connectionId", connectionId);
+                codec2.writeByte("header", PACKET_HEADER_SESSION);
                 serializer.writeObject("message", message, codec2);
 
                 client.sendMessage(buffer2);
@@ -148,7 +150,7 @@ public class WebsocketTransportTestCase
             MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
             DefaultCodec codec = new DefaultCodec(serializer.getProtocol(), memoryBuffer);
 
-            codec.writeBoolean("loggedIn", false);
+            codec.writeByte("header", PACKET_HEADER_HANDSHAKE);
             codec.writeObject("handshake", new Handshake());
             client.sendMessage(buffer);
 
@@ -168,7 +170,7 @@ public class WebsocketTransportTestCase
         ByteBuf buffer = Unpooled.directBuffer();
         MemoryBuffer memoryBuffer = MemoryBufferFactory.create(buffer);
         try (AutoClosableEncoder encoder = serializer.retrieveEncoder(memoryBuffer)) {
-            encoder.writeBoolean("loggedIn", true);
+            encoder.writeByte("header", PACKET_HEADER_CONNECTION_ID);
             encoder.writeObject("connectionId", connectionId);
             serializer.writeObject("value", value, encoder);
         }